@@ -37,9 +37,39 @@ public class GlobalProp {
 	public static final String TYPE = "udt.type";
 	public static final String NODESIZE = "udt.nodesize";
 	public static final String PURITY = "udt.purity";
+	public static final String CONFIDENCE = "udt.confidence";
+	public static final String HBTUPLES = "udt.hbtuples";
+	public static final String HBTIE = "udt.hbtie";
+	public static final String BINS = "udt.bins";
+	public static final String BINREFINE = "udt.binrefine";
+	public static final String PARALLELSWEEP = "udt.parallelsweep";
+	public static final String FRAGWEIGHT = "udt.fragweight";
+	public static final String FRAGRATIO = "udt.fragratio";
+	public static final String COLUMNAR = "udt.columnar";
+	public static final String INTERN = "udt.intern";
+	public static final String QUANTILES = "udt.quantiles";
+	public static final String KNOTEPS = "udt.knoteps";
+	public static final String COALESCE = "udt.coalesce";
+	public static final String COMPACT = "udt.compact";
+	public static final String ARENA = "udt.arena";
+	public static final String PDFFILES = "udt.pdffiles";
+	public static final String PDFCACHE = "udt.pdfcache";
+	public static final String PDFTHREADS = "udt.pdfthreads";
+	public static final String CORESET = "udt.coreset";
+	public static final String SNAPSHOT = "udt.snapshot";
+	public static final String OOC = "udt.ooc";
+	public static final String PACKEDPDF = "udt.packedpdf";
 	public static final String TREE = "udt.tree";
 	public static final String WIDTH = "udt.width";
 	public static final String SEED = "udt.seed";
 	public static final String TRIAL = "udt.trial";
 	public static final String SAVE = "udt.save";
+	public static final String INMEMORY = "udt.inmemory";
+	public static final String TUPLES = "udt.tuples";
+	public static final String TESTTUPLES = "udt.testtuples";
+	public static final String ATTRIBUTES = "udt.attributes";
+	public static final String CLASSES = "udt.classes";
+	public static final String SEPARATION = "udt.separation";
+	public static final String OVERLAP = "udt.overlap";
+	public static final String PDF = "udt.pdf";
 }
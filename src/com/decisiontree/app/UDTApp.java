@@ -20,6 +20,7 @@
  */
 package com.decisiontree.app;
 
+import com.decisiontree.datagen.SyntheticDataGen;
 import com.decisiontree.function.DecisionTree;
 import com.decisiontree.operation.SplitSearch;
 import com.decisiontree.param.GlobalParam;
@@ -49,6 +50,7 @@ class UDTApp {
 	private static final String CLEAN = "CLEAN";
 	private static final String TESTING = "TESTING";
 	private static final String CLASSIFY = "CLASSIFY";
+	private static final String SYNTH = "SYNTH";
 	private static final int NOTRIALS = 1;
 	private static Logger log = Logger.getLogger(UDTApp.class);
 	// default values
@@ -77,6 +79,15 @@ class UDTApp {
 	private static boolean saveToFile = false;
 	private static String resultFileName = GlobalParam.RESULT_FILE;
 
+	// for synthetic mode only
+	private static int noTuples = 1000;
+	private static int noTestTuples = -1;
+	private static int noAttr = 4;
+	private static int noCls = 2;
+	private static double separation = SyntheticDataGen.DEFAULT_SEPARATION;
+	private static double overlap = 0;
+	private static String pdf = SyntheticDataGen.GAUSSIAN;
+
 
 	/**
 	 * Loading parameter from command line arguments
@@ -107,6 +118,8 @@ class UDTApp {
 						mode = CLASSIFY;
 					else if (value.equalsIgnoreCase(CLEAN))
 						mode = CLEAN;
+					else if (value.equalsIgnoreCase(SYNTH))
+						mode = SYNTH;
 				} else if (param.equals("-dataset") || param.equals("-d")) {
 					training = value;
 					continue;
@@ -129,10 +142,16 @@ class UDTApp {
 						algorithm = SplitSearch.UDTGP;
 					else if (value.equalsIgnoreCase("udtes"))
 						algorithm = SplitSearch.UDTES;
+					else if (value.equalsIgnoreCase("udthb"))
+						algorithm = SplitSearch.UDTHB;
+					else if (value.equalsIgnoreCase("udtbin"))
+						algorithm = SplitSearch.UDTBIN;
 					else if (value.equalsIgnoreCase("avg"))
 						algorithm = SplitSearch.AVG;
 					else if (value.equalsIgnoreCase("udtud"))
 						algorithm = SplitSearch.UDTUD;
+					else if (value.equalsIgnoreCase("udtudes"))
+						algorithm = SplitSearch.UDTUDES;
 					else if (value.equalsIgnoreCase("avgud"))
 						algorithm = SplitSearch.AVGUD;
 					else if (value.equalsIgnoreCase("point"))
@@ -166,15 +185,87 @@ class UDTApp {
 						purityThreshold = Double.parseDouble(value);
 						if (purityThreshold > GlobalParam.DEFAULT_PURITY_THRESHOLD)
 							purityThreshold = GlobalParam.DEFAULT_PURITY_THRESHOLD;
+					} else if (param.equals("-confidence")) {
+						double confidence = Double.parseDouble(value);
+						if (confidence > 0 && confidence < 1)
+							GlobalParam.setHoeffdingConfidence(confidence);
+					} else if (param.equals("-hbtuples")) {
+						GlobalParam.setHoeffdingMinTuples(Integer.parseInt(value));
+					} else if (param.equals("-hbtie")) {
+						GlobalParam.setHoeffdingTie(Double.parseDouble(value));
+					} else if (param.equals("-seed") || param.equals("-e")) {
+						GlobalParam.setSeed(Long.parseLong(value));
+					} else if (param.equals("-bins")) {
+						int noBins = Integer.parseInt(value);
+						if (noBins > 1)
+							GlobalParam.setNoBins(noBins);
+					} else if (param.equals("-binrefine")) {
+						GlobalParam.setBinRefine(Boolean.parseBoolean(value));
+					} else if (param.equals("-parallelsweep")) {
+						GlobalParam.setParallelSweepSegments(Integer.parseInt(value));
+					} else if (param.equals("-fragweight")) {
+						GlobalParam.setMinFragWeight(Double.parseDouble(value));
+					} else if (param.equals("-fragratio")) {
+						GlobalParam.setMinFragRatio(Double.parseDouble(value));
+					} else if (param.equals("-columnar")) {
+						GlobalParam.setColumnar(Boolean.parseBoolean(value));
+					} else if (param.equals("-intern")) {
+						GlobalParam.setIntern(Boolean.parseBoolean(value));
+					} else if (param.equals("-quantiles")) {
+						int noQuantiles = Integer.parseInt(value);
+						if (noQuantiles > 0)
+							GlobalParam.setNoQuantiles(noQuantiles);
+					} else if (param.equals("-knoteps")) {
+						GlobalParam.setKnotEpsilon(Double.parseDouble(value));
+					} else if (param.equals("-coalesce")) {
+						GlobalParam.setCoalesce(Boolean.parseBoolean(value));
+					} else if (param.equals("-compact")) {
+						GlobalParam.setCompact(Boolean.parseBoolean(value));
+					} else if (param.equals("-arena")) {
+						GlobalParam.setArena(Boolean.parseBoolean(value));
+					} else if (param.equals("-pdffiles")) {
+						GlobalParam.setPdfFiles(Boolean.parseBoolean(value));
+					} else if (param.equals("-pdfcache")) {
+						GlobalParam.setPdfCacheSize(Integer.parseInt(value));
+					} else if (param.equals("-pdfthreads")) {
+						GlobalParam.setPdfThreads(Integer.parseInt(value));
+					} else if (param.equals("-coreset")) {
+						GlobalParam.setCoresetSize(Integer.parseInt(value));
+					} else if (param.equals("-snapshot")) {
+						GlobalParam.setSnapshot(Boolean.parseBoolean(value));
+					} else if (param.equals("-ooc")) {
+						GlobalParam.setOocBudget(Integer.parseInt(value));
 					}
 
 
 				}
-				if (mode.equals(GEN) || mode.equals(OVERALL)) {
+				if (mode.equals(GEN) || mode.equals(OVERALL) || mode.equals(SYNTH)) {
 					if (param.equals("-width") || param.equals("-p")) {
 						width = Double.parseDouble(value);
 					} else if (param.equals("-seed") || param.equals("-e")) {
-						seed = Integer.parseInt(value);
+						seed = Long.parseLong(value);
+					} else if (param.equals("-packedpdf")) {
+						GlobalParam.setPackedPdf(Boolean.parseBoolean(value));
+					}
+				}
+
+				if (mode.equals(SYNTH)) {
+					if (param.equals("-tuples")) {
+						noTuples = Integer.parseInt(value);
+					} else if (param.equals("-testtuples")) {
+						noTestTuples = Integer.parseInt(value);
+					} else if (param.equals("-attributes")) {
+						noAttr = Integer.parseInt(value);
+					} else if (param.equals("-classes")) {
+						noCls = Integer.parseInt(value);
+					} else if (param.equals("-separation")) {
+						separation = Double.parseDouble(value);
+					} else if (param.equals("-overlap")) {
+						overlap = Double.parseDouble(value);
+					} else if (param.equals("-pdf")) {
+						if (value.equalsIgnoreCase(SyntheticDataGen.UNIFORM))
+							pdf = SyntheticDataGen.UNIFORM;
+						else pdf = SyntheticDataGen.GAUSSIAN;
 					}
 				}
 
@@ -184,6 +275,8 @@ class UDTApp {
 					else if (param.equals("-save") || param.equals("-v")) {
 						saveToFile = true;
 						resultFileName = value;
+					} else if (param.equals("-inmemory")) {
+						GlobalParam.setInMemory(Boolean.parseBoolean(value));
 					}
 				}
 
@@ -245,6 +338,44 @@ class UDTApp {
 				nodeSize = GlobalParam.DEFAULT_PURITY_THRESHOLD;
 			}
 
+			try {
+				double confidence = Double.parseDouble(prop.getProperty(GlobalProp.CONFIDENCE,
+				  String.valueOf(GlobalParam.DEFAULT_HOEFFDING_CONFIDENCE)));
+				if (confidence > 0 && confidence < 1)
+					GlobalParam.setHoeffdingConfidence(confidence);
+				GlobalParam.setHoeffdingMinTuples(Integer.parseInt(prop.getProperty(GlobalProp.HBTUPLES,
+				  String.valueOf(GlobalParam.DEFAULT_HOEFFDING_MIN_TUPLES))));
+				GlobalParam.setHoeffdingTie(Double.parseDouble(prop.getProperty(GlobalProp.HBTIE,
+				  String.valueOf(GlobalParam.DEFAULT_HOEFFDING_TIE))));
+				GlobalParam.setSeed(Long.parseLong(prop.getProperty(GlobalProp.SEED, String.valueOf(GlobalParam.DEFAULT_SEED))));
+				int noBins = Integer.parseInt(prop.getProperty(GlobalProp.BINS, String.valueOf(GlobalParam.DEFAULT_NO_BINS)));
+				if (noBins > 1)
+					GlobalParam.setNoBins(noBins);
+				GlobalParam.setBinRefine(Boolean.parseBoolean(prop.getProperty(GlobalProp.BINREFINE, "true")));
+				GlobalParam.setParallelSweepSegments(Integer.parseInt(prop.getProperty(GlobalProp.PARALLELSWEEP,
+				  String.valueOf(GlobalParam.DEFAULT_PARALLEL_SWEEP))));
+				GlobalParam.setMinFragWeight(Double.parseDouble(prop.getProperty(GlobalProp.FRAGWEIGHT, "0")));
+				GlobalParam.setMinFragRatio(Double.parseDouble(prop.getProperty(GlobalProp.FRAGRATIO, "0")));
+				GlobalParam.setColumnar(Boolean.parseBoolean(prop.getProperty(GlobalProp.COLUMNAR, "false")));
+				GlobalParam.setIntern(Boolean.parseBoolean(prop.getProperty(GlobalProp.INTERN, "false")));
+				int noQuantiles = Integer.parseInt(prop.getProperty(GlobalProp.QUANTILES,
+				  String.valueOf(GlobalParam.DEFAULT_NO_QUANTILES)));
+				if (noQuantiles > 0)
+					GlobalParam.setNoQuantiles(noQuantiles);
+				GlobalParam.setKnotEpsilon(Double.parseDouble(prop.getProperty(GlobalProp.KNOTEPS, "0")));
+				GlobalParam.setCoalesce(Boolean.parseBoolean(prop.getProperty(GlobalProp.COALESCE, "false")));
+				GlobalParam.setCompact(Boolean.parseBoolean(prop.getProperty(GlobalProp.COMPACT, "false")));
+				GlobalParam.setArena(Boolean.parseBoolean(prop.getProperty(GlobalProp.ARENA, "false")));
+				GlobalParam.setPdfFiles(Boolean.parseBoolean(prop.getProperty(GlobalProp.PDFFILES, "false")));
+				GlobalParam.setPdfCacheSize(Integer.parseInt(prop.getProperty(GlobalProp.PDFCACHE, "0")));
+				GlobalParam.setPdfThreads(Integer.parseInt(prop.getProperty(GlobalProp.PDFTHREADS, "0")));
+				GlobalParam.setCoresetSize(Integer.parseInt(prop.getProperty(GlobalProp.CORESET, "0")));
+				GlobalParam.setSnapshot(Boolean.parseBoolean(prop.getProperty(GlobalProp.SNAPSHOT, "false")));
+				GlobalParam.setOocBudget(Integer.parseInt(prop.getProperty(GlobalProp.OOC, "0")));
+			} catch (NumberFormatException e) {
+				log.warn(e.getMessage(), e);
+			}
+
 		}
 		if (mode.equals(GEN) || mode.equals(OVERALL)) {
 			try {
@@ -253,6 +384,24 @@ class UDTApp {
 				log.warn(e.getMessage(), e);
 				width = GlobalParam.DEFAULT_WIDTH;
 			}
+			GlobalParam.setPackedPdf(Boolean.parseBoolean(prop.getProperty(GlobalProp.PACKEDPDF, "false")));
+		}
+
+		if (mode.equals(SYNTH)) {
+			try {
+				width = Double.parseDouble(prop.getProperty(GlobalProp.WIDTH, String.valueOf(GlobalParam.DEFAULT_WIDTH)));
+				seed = Long.parseLong(prop.getProperty(GlobalProp.SEED, String.valueOf(GlobalParam.DEFAULT_SEED)));
+				noTuples = Integer.parseInt(prop.getProperty(GlobalProp.TUPLES, String.valueOf(noTuples)));
+				noTestTuples = Integer.parseInt(prop.getProperty(GlobalProp.TESTTUPLES, String.valueOf(noTestTuples)));
+				noAttr = Integer.parseInt(prop.getProperty(GlobalProp.ATTRIBUTES, String.valueOf(noAttr)));
+				noCls = Integer.parseInt(prop.getProperty(GlobalProp.CLASSES, String.valueOf(noCls)));
+				separation = Double.parseDouble(prop.getProperty(GlobalProp.SEPARATION, String.valueOf(separation)));
+				overlap = Double.parseDouble(prop.getProperty(GlobalProp.OVERLAP, String.valueOf(overlap)));
+			} catch (NumberFormatException e) {
+				log.warn(e.getMessage(), e);
+			}
+			if (SyntheticDataGen.UNIFORM.equalsIgnoreCase(prop.getProperty(GlobalProp.PDF)))
+				pdf = SyntheticDataGen.UNIFORM;
 		}
 
 		if (mode.equals(OVERALL)) {
@@ -265,6 +414,7 @@ class UDTApp {
 
 			resultFileName = prop.getProperty(GlobalProp.SAVE, GlobalParam.RESULT_FILE);
 			if (!"".equals(resultFileName)) saveToFile = true;
+			GlobalParam.setInMemory(Boolean.parseBoolean(prop.getProperty(GlobalProp.INMEMORY, "false")));
 		}
 
 	}
@@ -318,6 +468,7 @@ class UDTApp {
 			} else if (type.equals(DecisionTree.XFOLD)) {
 				log.info("Finding Accuracy by crossfold...");
 				System.out.println("Cross-Fold Accuracy: " + splitResult[1]);
+				System.out.println("No of Absorbed Fragments: " + splitResult[2]);
 			}
 
 		} else if (mode.equals(BUILDSAVE)) {
@@ -334,6 +485,11 @@ class UDTApp {
 			String result = functions.testingMode(training, nameFile, algorithm, treeFile);
 			String[] splitResult = result.split(GlobalParam.SEPERATOR);
 			System.out.println("Testing Accuracy: " + splitResult[1]);
+		} else if (mode.equals(SYNTH)) {
+			log.info("Running Synthetic Mode.");
+			System.out.println("You are running synthetic mode.");
+			functions.synthMode(training, testing, noTuples, noTestTuples < 0 ? noTuples : noTestTuples, noAttr, noCls,
+			  noSamples, separation, width, overlap, pdf, seed);
 		} else if (mode.equals(CLASSIFY)) {
 			// TODO: to be implement in next release
 			log.info("Runing Classify Mode");
@@ -349,7 +505,10 @@ class UDTApp {
 
 		} else if (mode.equals(OVERALL)) { // OVERALL Allows multiple trials and file save for data.
 			log.info("Running Overall Mode");
-			System.out.println("You are running overall mode. Reminded that the generated data would NOT be cleaned.");
+			if (GlobalParam.isInMemory())
+				System.out.println("You are running overall mode. The uncertain data is generated in memory.");
+			else
+				System.out.println("You are running overall mode. Reminded that the generated data would NOT be cleaned.");
 			if (saveToFile) {
 				functions.overallMode(training, testing, nameFile, algorithm, type, noSamples, width, seed, varies,
 				  nodeSize, purityThreshold, noTrials, resultFileName);
@@ -453,11 +612,16 @@ class UDTApp {
 		log.debug("Mode: " + mode);
 		log.debug("Type: " + type);
 		log.debug("Algorithm: " + algorithm);
+		log.debug("Confidence: " + GlobalParam.getHoeffdingConfidence());
+		log.debug("noBins: " + GlobalParam.getNoBins());
+		log.debug("fragWeight: " + GlobalParam.getMinFragWeight() + " fragRatio: " + GlobalParam.getMinFragRatio());
 		log.debug("Width: " + width);
 		log.debug("Seed: " + seed);
 		log.debug("treeFile: " + treeFile);
 		log.debug("noTrials: " + noTrials);
 		log.debug("resultFileName: " + resultFileName);
+		log.debug("noTuples: " + noTuples + " noAttr: " + noAttr + " noCls: " + noCls + " separation: " + separation
+		  + " overlap: " + overlap + " pdf: " + pdf);
 
 //		System.out.println("Training: " +training);
 //		System.out.println("Testing: " + testing);
@@ -0,0 +1,125 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.build;
+
+/**
+ * BinFragment - A fragment of a tuple by the pdf mass of the bins of the candidate grid of each attribute.
+ * The fragment is restricted to a range of bins of each attribute, and its pdf mass is renormalized in the range.
+ * The fragments of a tuple share the pdf mass of its bins.
+ *
+ * @since 0.9
+ */
+public class BinFragment {
+
+	private int cls;
+	private double weight;
+	private int[] firstBin;
+	private double[][] mass;
+	private int[] lo;
+	private int[] hi;
+
+	/**
+	 * Constructor with the class and the pdf mass of the bins of the tuple and the range of bins of the fragment
+	 *
+	 * @param cls      the class of the tuple
+	 * @param weight   the weight of the fragment
+	 * @param firstBin the first bin with pdf mass of each attribute
+	 * @param mass     the pdf mass of the bins of each attribute from the first bin
+	 * @param lo       the first bin of the range of each attribute
+	 * @param hi       the last bin of the range of each attribute
+	 */
+	public BinFragment(int cls, double weight, int[] firstBin, double[][] mass, int[] lo, int[] hi) {
+		this.cls = cls;
+		this.weight = weight;
+		this.firstBin = firstBin;
+		this.mass = mass;
+		this.lo = lo;
+		this.hi = hi;
+	}
+
+	/**
+	 * Restricting the fragment further to a range of bins of an attribute
+	 *
+	 * @param attr   the attribute
+	 * @param from   the first bin
+	 * @param to     the last bin
+	 * @param weight the weight of the new fragment
+	 * @return the new fragment
+	 */
+	public BinFragment restrict(int attr, int from, int to, double weight) {
+		int[] newLo = lo.clone();
+		int[] newHi = hi.clone();
+		newLo[attr] = Math.max(lo[attr], from);
+		newHi[attr] = Math.min(hi[attr], to);
+		return new BinFragment(cls, weight, firstBin, mass, newLo, newHi);
+	}
+
+	/**
+	 * Finding the pdf mass of an attribute in a range of bins, inside the range of the fragment
+	 *
+	 * @param attr the attribute
+	 * @param from the first bin
+	 * @param to   the last bin
+	 * @return the pdf mass, not renormalized
+	 */
+	public double findMass(int attr, int from, int to) {
+		int start = Math.max(Math.max(from, lo[attr]), firstBin[attr]);
+		int end = Math.min(Math.min(to, hi[attr]), firstBin[attr] + mass[attr].length - 1);
+		double sum = 0.0;
+		for (int i = start; i <= end; i++)
+			sum += mass[attr][i - firstBin[attr]];
+		return sum;
+	}
+
+	/**
+	 * Adding the weighted pdf mass of the fragment to the class histogram of the bins of each attribute
+	 *
+	 * @param hist the class histogram of the bins of each attribute
+	 */
+	public void addTo(double[][][] hist) {
+		for (int i = 0; i < mass.length; i++) {
+			double total = findMass(i, lo[i], hi[i]);
+			if (total <= 0)
+				continue;
+			int start = Math.max(lo[i], firstBin[i]);
+			int end = Math.min(hi[i], firstBin[i] + mass[i].length - 1);
+			for (int j = start; j <= end; j++)
+				hist[i][j][cls] += mass[i][j - firstBin[i]] * weight / total;
+		}
+	}
+
+	public int getCls() {
+		return cls;
+	}
+
+	public double getWeight() {
+		return weight;
+	}
+
+	public int getLo(int attr) {
+		return lo[attr];
+	}
+
+	public int getHi(int attr) {
+		return hi[attr];
+	}
+
+}
@@ -22,6 +22,8 @@ package com.decisiontree.build;
 
 import com.decisiontree.data.DataSet;
 import com.decisiontree.data.Tuple;
+import com.decisiontree.data.TupleCoalescer;
+import com.decisiontree.data.TupleCoreset;
 import com.decisiontree.eval.ConfusionMatrix;
 import com.decisiontree.operation.SplitSearch;
 import com.decisiontree.param.GlobalParam;
@@ -94,7 +96,7 @@ public abstract class Classification {
 	 * @param test the testing set of tuples
 	 * @return the number of tuples that are correctly classified
 	 */
-	private int ClassifyCount(TreeNode tree, List<Tuple> test) {
+	public int ClassifyCount(TreeNode tree, List<Tuple> test) {
 
 		int count = 0;
 		Iterator<Tuple> iter = test.iterator();
@@ -138,19 +140,25 @@ public abstract class Classification {
 	}
 
 	/**
-	 * Get the training data for cross-fold validation
+	 * Get the training data for cross-fold validation, with the duplicated tuples coalesced and
+	 * reduced to a coreset if enabled
 	 *
 	 * @param data the training data for cross-fold
 	 * @param fold the fold number
 	 * @return the set of training data represented by the fold number
 	 */
 	protected List<Tuple> getTrainData(List<Tuple> data, int fold) {
-		ArrayList<Tuple> tList = new ArrayList<Tuple>();
+		List<Tuple> tList = new ArrayList<Tuple>();
 
 		for (int i = 0; i < data.size(); i++) {
 			if (i < data.size() * fold / GlobalParam.NOFOLD || i >= data.size() * (fold + 1) / GlobalParam.NOFOLD)
 				tList.add(data.get(i));
 		}
+		// the folds are assigned before coalescing, so that each duplicate stays in its own fold
+		if (GlobalParam.isCoalesce())
+			tList = TupleCoalescer.coalesce(tList);
+		if (GlobalParam.getCoresetSize() > 0)
+			tList = TupleCoreset.reduce(tList, dataSet.getNoCls(), GlobalParam.getCoresetSize(), GlobalParam.getSeed() + fold);
 		return tList;
 
 	}
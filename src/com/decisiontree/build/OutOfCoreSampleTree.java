@@ -0,0 +1,694 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.build;
+
+import com.decisiontree.data.PointAttrClass;
+import com.decisiontree.data.SampleAttribute;
+import com.decisiontree.data.SampleDataScanner;
+import com.decisiontree.data.Tuple;
+import com.decisiontree.operation.BinMass;
+import com.decisiontree.operation.Histogram;
+import com.decisiontree.operation.SplitData;
+import com.decisiontree.operation.SplitSearchBIN;
+import com.decisiontree.param.GlobalParam;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * OutOfCoreSampleTree - Builds a decision tree by interval-valued sample-distributed data larger than the memory.
+ * The tuples are read once to find the bins of the candidate grid, and once more to write the class and the
+ * pdf mass of the bins of every tuple into a column file for each attribute. The tree is then built level by level:
+ * the fragments of the tuples at the frontier nodes are stored in a file, which is read sequentially together with
+ * the columns to accumulate the class histogram of the bins of each node, and routed through the splits
+ * into the fragments of the next level. The nodes are processed in groups within the memory budget, and a node
+ * whose fragments fit the budget is loaded and its subtree is built in memory. The split points are on the bin
+ * boundaries, as SplitSearchBIN without refinement.
+ *
+ * @since 0.9
+ */
+public class OutOfCoreSampleTree extends SampleTree {
+
+	private static final Logger log = Logger.getLogger(OutOfCoreSampleTree.class);
+
+	private static final String CLS_COLUMN = "cls.col";
+	private static final String ATTR_COLUMN = "A";
+	private static final String COLUMN_EXT = ".col";
+	private static final String LEVEL_FILE = "L";
+	private static final String LEVEL_EXT = ".frag";
+
+	// the estimated heap sizes of a sample value in the reservoir, and of an object or an array without its content
+	private static final int SAMPLE_BYTES = 48;
+	private static final int OBJECT_BYTES = 16;
+
+	private SampleDataScanner scanner;
+	private long budget;
+	private String path;
+	private double[][] cutPtSet;
+	private int noCls;
+	private int noAttr;
+	private int noPasses;
+	private int noLoadedNodes;
+	private long fragmentBytes;
+	private long nodeBytes;
+
+	// the column record of the current tuple
+	private DataInputStream clsIn;
+	private DataInputStream[] attrIn;
+	private int colTuple;
+	private int colCls;
+	private int[] firstBin;
+	private double[][] mass;
+
+	// the current fragment in the fragment file
+	private int fragTuple;
+	private int fragNode;
+	private double fragWeight;
+	private int[] fragLo;
+	private int[] fragHi;
+
+	/**
+	 * Constructor with the scanner of the dataset, the split search and the memory budget
+	 *
+	 * @param scanner     the scanner reading the tuples of the dataset
+	 * @param splitSearch the split search on the bins
+	 * @param budget      the memory budget in MB
+	 */
+	public OutOfCoreSampleTree(SampleDataScanner scanner, SplitSearchBIN splitSearch, int budget) {
+		super(scanner.getDataSet(), splitSearch);
+		this.scanner = scanner;
+		this.budget = (long) budget << 20;
+		this.path = scanner.getInput() + GlobalParam.OOC_PATH;
+		this.noCls = dataSet.getNoCls();
+		this.noAttr = dataSet.getNoAttr();
+	}
+
+	@Override
+	protected SplitSearchBIN getSplitSearch() {
+		return (SplitSearchBIN) super.getSplitSearch();
+	}
+
+	/**
+	 * Contructing the decision tree on the columns written to the disk and store it in tree object
+	 */
+	@Override
+	public void constructTree() {
+		File dir = new File(path);
+		try {
+			dir.mkdirs();
+			noPasses = 0;
+			noLoadedNodes = 0;
+			findCutPts();
+			int noTuples = writeColumns();
+			setRoot(buildLevels(noTuples));
+			log.info("Built the tree out of core in " + noPasses + " passes over the data, "
+			  + noLoadedNodes + " subtrees built in memory");
+		} catch (IOException e) {
+			e.printStackTrace();
+			log.error("Out-of-core files cannot access. Please try again!");
+			System.exit(1);
+		} finally {
+			closeColumns();
+			File[] files = dir.listFiles();
+			if (files != null)
+				for (File file : files)
+					file.delete();
+			dir.delete();
+		}
+	}
+
+	/**
+	 * Finding the cut points of the bins by a uniform reservoir of the sample values of each attribute
+	 * fitting the memory budget. All sample values are used if they fit, as in SplitSearchBIN.
+	 *
+	 * @throws IOException if the data file cannot be read
+	 */
+	private void findCutPts() throws IOException {
+		int noBins = getSplitSearch().getNoBins();
+		int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(noBins, budget / noAttr / SAMPLE_BYTES));
+		List<List<PointAttrClass>> reservoirs = new ArrayList<List<PointAttrClass>>(noAttr);
+		for (int i = 0; i < noAttr; i++)
+			reservoirs.add(new ArrayList<PointAttrClass>());
+		long[] noSeen = new long[noAttr];
+		Random random = new Random(GlobalParam.getSeed());
+
+		scanner.open();
+		for (Tuple tuple = scanner.next(); tuple != null; tuple = scanner.next()) {
+			for (int i = 0; i < noAttr; i++) {
+				SampleAttribute attribute = (SampleAttribute) tuple.getAttribute(i);
+				List<PointAttrClass> reservoir = reservoirs.get(i);
+				double curFrac = attribute.getCurFrac();
+				for (int j = attribute.getStartPos() + 1; j <= attribute.getEndPos(); j++) {
+					double frac = attribute.getSampleCDist(j);
+					if (j != 0)
+						frac -= attribute.getSampleCDist(j - 1);
+					PointAttrClass attrClass = new PointAttrClass(attribute.getSampleValue(j), tuple.getCls(),
+					  tuple.getWeight() * frac / curFrac);
+					noSeen[i]++;
+					if (reservoir.size() < capacity)
+						reservoir.add(attrClass);
+					else {
+						long pos = (long) (random.nextDouble() * noSeen[i]);
+						if (pos < capacity)
+							reservoir.set((int) pos, attrClass);
+					}
+				}
+			}
+		}
+		scanner.close();
+		noPasses++;
+
+		cutPtSet = new double[noAttr][];
+		for (int i = 0; i < noAttr; i++) {
+			PointAttrClass[] attrClassSet = reservoirs.get(i).toArray(new PointAttrClass[0]);
+			reservoirs.set(i, null);
+			Arrays.sort(attrClassSet);
+			cutPtSet[i] = SplitSearchBIN.findCutPts(attrClassSet, noBins);
+			if (noSeen[i] > capacity)
+				log.info("Candidate grid of attribute " + i + " found by " + capacity + " of " + noSeen[i] + " sample values");
+			log.debug("Candidate grid of attribute " + i + ": " + (cutPtSet[i].length + 1) + " bins");
+		}
+		getSplitSearch().setCutPts(cutPtSet);
+	}
+
+	/**
+	 * Writing the class and the weight of each tuple to the class column, the pdf mass of its bins to the
+	 * column of each attribute, and a fragment of the whole tuple at the root to the file of the first level
+	 *
+	 * @return the number of tuples
+	 * @throws IOException if the files cannot be read or written
+	 */
+	private int writeColumns() throws IOException {
+		DataOutputStream clsOut = createOutput(CLS_COLUMN);
+		DataOutputStream[] attrOut = new DataOutputStream[noAttr];
+		for (int i = 0; i < noAttr; i++)
+			attrOut[i] = createOutput(ATTR_COLUMN + i + COLUMN_EXT);
+		DataOutputStream levelOut = createOutput(LEVEL_FILE + 0 + LEVEL_EXT);
+
+		int[] lo = new int[noAttr];
+		int[] hi = new int[noAttr];
+		for (int i = 0; i < noAttr; i++)
+			hi[i] = cutPtSet[i].length;
+		long noMass = 0;
+
+		scanner.open();
+		int num = 0;
+		for (Tuple tuple = scanner.next(); tuple != null; tuple = scanner.next(), num++) {
+			clsOut.writeInt(tuple.getCls());
+			clsOut.writeDouble(tuple.getWeight());
+			for (int i = 0; i < noAttr; i++) {
+				BinMass binMass = new BinMass((SampleAttribute) tuple.getAttribute(i), cutPtSet[i]);
+				attrOut[i].writeInt(binMass.getFirstBin());
+				attrOut[i].writeInt(binMass.getNoBins());
+				for (int j = 0; j < binMass.getNoBins(); j++)
+					attrOut[i].writeDouble(binMass.getMass(binMass.getFirstBin() + j));
+				noMass += binMass.getNoBins();
+			}
+			writeFragment(levelOut, num, 0, new BinFragment(tuple.getCls(), tuple.getWeight(), null, null, lo, hi));
+		}
+		scanner.close();
+		noPasses++;
+
+		clsOut.close();
+		for (DataOutputStream out : attrOut)
+			out.close();
+		levelOut.close();
+
+		// the fragments of a tuple loaded in memory, with the pdf mass of its bins, and the histograms of a node
+		fragmentBytes = 4 * OBJECT_BYTES + 24 + noAttr * (3 * 4 + 16 + OBJECT_BYTES) + 8 * noMass / Math.max(num, 1);
+		nodeBytes = 8L * noCls;
+		for (int i = 0; i < noAttr; i++)
+			nodeBytes += OBJECT_BYTES + (8L * noCls + OBJECT_BYTES) * (cutPtSet[i].length + 1);
+		log.info("Columns of " + num + " tuples written to " + path);
+		return num;
+	}
+
+	/**
+	 * Building the decision tree level by level from the fragments at the root
+	 *
+	 * @param noTuples the number of tuples, which are the fragments at the root
+	 * @return the root of the decision tree
+	 * @throws IOException if the files cannot be read or written
+	 */
+	private TreeNode buildLevels(int noTuples) throws IOException {
+		TreeNode root = null;
+		TreeNode[] parents = new TreeNode[]{null};
+		int[] noFragments = new int[]{noTuples};
+		int noNodes = 1;
+		long capacity = Math.max(1, budget / 2);
+
+		for (int height = 0; noNodes > 0; height++) {
+			TreeNode[] nodes = new TreeNode[noNodes];
+			int[] splitBins = new int[noNodes];
+			long levelFragments = 0;
+			for (int count : noFragments)
+				levelFragments += count;
+
+			// the nodes are taken in groups, each of them accumulated or loaded in a pass over the fragments
+			boolean[] loaded = new boolean[noNodes];
+			for (int start = 0; start < noNodes; ) {
+				long load = 0;
+				int end = start;
+				while (end < noNodes) {
+					long cost = noFragments[end] * fragmentBytes;
+					loaded[end] = cost <= capacity;
+					if (!loaded[end])
+						cost = nodeBytes;
+					if (end > start && load + cost > capacity)
+						break;
+					load += cost;
+					end++;
+				}
+				processGroup(height, levelFragments, start, end, loaded, nodes, splitBins);
+				for (int i = start; i < end; i++) {
+					int parent = i / NO_PARTITION;
+					if (parents[parent] == null)
+						root = nodes[i];
+					else {
+						parents[parent].addChild(nodes[i], i % NO_PARTITION);
+						nodes[i].setParent(parents[parent]);
+					}
+				}
+				start = end;
+			}
+
+			int[] childBase = new int[noNodes];
+			int noChildren = 0;
+			for (int i = 0; i < noNodes; i++) {
+				childBase[i] = noChildren;
+				if (splitBins[i] >= 0)
+					noChildren += NO_PARTITION;
+			}
+			log.debug("Level " + height + ": " + noNodes + " nodes, " + levelFragments + " fragments, " + noChildren + " children");
+
+			noFragments = new int[noChildren];
+			if (noChildren > 0)
+				route(height, levelFragments, nodes, splitBins, childBase, noFragments);
+			new File(path + LEVEL_FILE + height + LEVEL_EXT).delete();
+
+			parents = new TreeNode[noChildren / NO_PARTITION];
+			for (int i = 0; i < noNodes; i++)
+				if (splitBins[i] >= 0)
+					parents[childBase[i] / NO_PARTITION] = nodes[i];
+			noNodes = noChildren;
+		}
+
+		return root;
+	}
+
+	/**
+	 * Processing a group of nodes of a level in a pass over the fragments. The histograms of the nodes are
+	 * accumulated to split them, unless their fragments are loaded to build their subtrees in memory.
+	 *
+	 * @param height         the height of the level
+	 * @param levelFragments the number of fragments of the level
+	 * @param start          the first node of the group
+	 * @param end            the node after the last node of the group
+	 * @param loaded         true for the nodes whose fragments are loaded
+	 * @param nodes          the nodes of the level, set by the tree nodes built
+	 * @param splitBins      the bins of the split points, set to -1 for the nodes not split on the disk
+	 * @throws IOException if the files cannot be read
+	 */
+	private void processGroup(int height, long levelFragments, int start, int end, boolean[] loaded,
+							  TreeNode[] nodes, int[] splitBins) throws IOException {
+		double[][] clsDist = new double[end - start][];
+		double[][][][] hist = new double[end - start][][][];
+		List<List<BinFragment>> fragments = new ArrayList<List<BinFragment>>(end - start);
+		for (int i = start; i < end; i++) {
+			fragments.add(loaded[i] ? new ArrayList<BinFragment>() : null);
+			if (!loaded[i]) {
+				clsDist[i - start] = new double[noCls];
+				hist[i - start] = createHist();
+			}
+		}
+
+		DataInputStream levelIn = createInput(LEVEL_FILE + height + LEVEL_EXT);
+		openColumns();
+		for (long k = 0; k < levelFragments; k++) {
+			readFragment(levelIn);
+			if (fragNode < start || fragNode >= end)
+				continue;
+			BinFragment fragment = seekFragment();
+			if (loaded[fragNode])
+				fragments.get(fragNode - start).add(fragment);
+			else {
+				clsDist[fragNode - start][fragment.getCls()] += fragment.getWeight();
+				fragment.addTo(hist[fragNode - start]);
+			}
+		}
+		closeColumns();
+		levelIn.close();
+		noPasses++;
+
+		for (int i = start; i < end; i++) {
+			if (loaded[i]) {
+				splitBins[i] = -1;
+				nodes[i] = buildSubtree(fragments.get(i - start), height);
+				fragments.set(i - start, null);
+				noLoadedNodes++;
+			} else {
+				nodes[i] = buildNode(clsDist[i - start], hist[i - start], height, splitBins, i);
+				hist[i - start] = null;
+			}
+		}
+	}
+
+	/**
+	 * Building the subtree of the fragments loaded in memory
+	 *
+	 * @param fragments the fragments of the node, cleared while the subtree is built
+	 * @param height    the height of the node
+	 * @return the root of the subtree
+	 */
+	private TreeNode buildSubtree(List<BinFragment> fragments, int height) {
+		double[] clsDist = new double[noCls];
+		double[][][] hist = createHist();
+		for (BinFragment fragment : fragments) {
+			clsDist[fragment.getCls()] += fragment.getWeight();
+			fragment.addTo(hist);
+		}
+		int[] splitBin = new int[1];
+		TreeNode treeNode = buildNode(clsDist, hist, height, splitBin, 0);
+		if (splitBin[0] < 0)
+			return treeNode;
+
+		List<List<BinFragment>> partitions = new ArrayList<List<BinFragment>>(NO_PARTITION);
+		for (int i = 0; i < NO_PARTITION; i++)
+			partitions.add(new ArrayList<BinFragment>());
+		BinFragment[] children = new BinFragment[NO_PARTITION];
+		double minFragWeight = findMinFragWeight(treeNode.getWeightedNoTuples());
+		for (BinFragment fragment : fragments) {
+			route(fragment, treeNode.getAttrNum(), splitBin[0], minFragWeight, children);
+			for (int i = 0; i < NO_PARTITION; i++)
+				if (children[i] != null)
+					partitions.get(i).add(children[i]);
+		}
+		fragments.clear();
+
+		for (int i = 0; i < NO_PARTITION; i++) {
+			treeNode.addChild(buildSubtree(partitions.get(i), height + 1), i);
+			treeNode.getChild(i).setParent(treeNode);
+			partitions.set(i, null);
+		}
+		return treeNode;
+	}
+
+	/**
+	 * Building a node from its class distribution and the class histogram of its bins,
+	 * with the same criteria as Tree.buildDTree
+	 *
+	 * @param clsDist   the class distribution of the node
+	 * @param hist      the class histogram of the bins of each attribute
+	 * @param height    the height of the node
+	 * @param splitBins the bins of the split points, set to -1 for a leaf
+	 * @param pos       the position of the node in the level
+	 * @return the tree node
+	 */
+	private TreeNode buildNode(double[] clsDist, double[][][] hist, int height, int[] splitBins, int pos) {
+		splitBins[pos] = -1;
+		double weightedNoTuples = 0.0;
+		for (double weight : clsDist)
+			weightedNoTuples += weight;
+		double dispersion = splitSearch.findDispersion(clsDist, weightedNoTuples);
+		log.debug("Node info: " + weightedNoTuples + " " + dispersion + " " + height);
+
+		TreeNode treeNode = new TreeNode(clsDist, weightedNoTuples, dispersion);
+		GlobalParam.incrNoNode();
+
+		treeNode.setMajorityCls(TreeUtil.findMajorityCls(clsDist));
+		treeNode.setType(TreeNode.LEAF);
+		if (TreeUtil.isSingleCls(clsDist)) {
+			log.debug("Level " + height + ":  Same Class - " + treeNode.getMajorityCls());
+			return treeNode;
+		}
+
+		if (treeNode.getWeightedNoTuples() <= nodeSize || treeNode.getPurity() - purityThreshold > 1E-12) {
+			log.debug("Level " + height + ":  Pruned - " + treeNode.getMajorityCls());
+			return treeNode;
+		}
+
+		Histogram[][] segmentSets = new Histogram[noAttr][];
+		for (int i = 0; i < noAttr; i++)
+			segmentSets[i] = SplitSearchBIN.binSegGen(hist[i], cutPtSet[i], noCls);
+		SplitData splitData = getSplitSearch().findBestSplit(segmentSets, weightedNoTuples, noCls);
+
+		if (!splitData.isValidSplit() || treeNode.getDispersion() < splitData.getDispersion() || Math.abs(treeNode.getDispersion() - splitData.getDispersion()) < 1E-12) {
+			log.debug("Level " + height + ":  No Best Attribute - " + treeNode.getDispersion() + " " + splitData.getDispersion());
+			return treeNode;
+		}
+
+		int attrNum = splitData.getAttrNum();
+		treeNode.setType(TreeNode.INTERAL);
+		treeNode.setAttrNum(attrNum);
+		treeNode.setNoChildren(NO_PARTITION);
+		treeNode.setSplit(splitData.getSplitPt());
+		splitBins[pos] = BinMass.findBin(cutPtSet[attrNum], splitData.getSplitPt());
+		return treeNode;
+	}
+
+	/**
+	 * Routing a fragment through a split into the fragments of the partitions,
+	 * as SampleTree.genPartitions does on the bins
+	 *
+	 * @param fragment      the fragment
+	 * @param attrNum       the attribute of the split
+	 * @param splitBin      the bin of the split point, the last bin of the left partition
+	 * @param minFragWeight the minimum fragment weight
+	 * @param children      the fragments of the partitions, set to null for no fragment
+	 */
+	private void route(BinFragment fragment, int attrNum, int splitBin, double minFragWeight, BinFragment[] children) {
+		Arrays.fill(children, null);
+		double weight = fragment.getWeight();
+		double total = fragment.findMass(attrNum, 0, cutPtSet[attrNum].length);
+		double left = fragment.findMass(attrNum, 0, splitBin);
+		if (left >= total) {
+			children[0] = fragment;
+			return;
+		} else if (left <= 0) {
+			children[1] = fragment;
+			return;
+		}
+		double frac = left / total;
+
+		// The lighter fragment is absorbed: the mass is renormalized on the majority side
+		int absorbing = findAbsorbingPartition(frac, weight, minFragWeight);
+		if (absorbing == 0) {
+			children[0] = fragment.restrict(attrNum, 0, splitBin, weight);
+			return;
+		} else if (absorbing == 1) {
+			children[1] = fragment.restrict(attrNum, splitBin + 1, cutPtSet[attrNum].length, weight);
+			return;
+		}
+
+		if (frac > 1E-12)
+			children[0] = fragment.restrict(attrNum, 0, splitBin, frac * weight);
+		if (1.0 - frac > 1E-12)
+			children[1] = fragment.restrict(attrNum, splitBin + 1, cutPtSet[attrNum].length, (1.0 - frac) * weight);
+	}
+
+	/**
+	 * Routing the fragments of a level through the splits of their nodes into the fragments of the next level
+	 *
+	 * @param height         the height of the level
+	 * @param levelFragments the number of fragments of the level
+	 * @param nodes          the nodes of the level
+	 * @param splitBins      the bins of the split points of the nodes, -1 for the nodes not split on the disk
+	 * @param childBase      the position of the first child of each node in the next level
+	 * @param noFragments    the number of fragments of each node of the next level, counted by the routing
+	 * @throws IOException if the files cannot be read or written
+	 */
+	private void route(int height, long levelFragments, TreeNode[] nodes, int[] splitBins, int[] childBase,
+					   int[] noFragments) throws IOException {
+		DataInputStream levelIn = createInput(LEVEL_FILE + height + LEVEL_EXT);
+		DataOutputStream levelOut = createOutput(LEVEL_FILE + (height + 1) + LEVEL_EXT);
+		openColumns();
+
+		double[] minFragWeights = new double[nodes.length];
+		for (int i = 0; i < nodes.length; i++)
+			minFragWeights[i] = findMinFragWeight(nodes[i].getWeightedNoTuples());
+
+		BinFragment[] children = new BinFragment[NO_PARTITION];
+		for (long k = 0; k < levelFragments; k++) {
+			readFragment(levelIn);
+			int node = fragNode;
+			if (splitBins[node] < 0)
+				continue;
+			route(seekFragment(), nodes[node].getAttrNum(), splitBins[node], minFragWeights[node], children);
+			for (int i = 0; i < NO_PARTITION; i++)
+				if (children[i] != null) {
+					writeFragment(levelOut, fragTuple, childBase[node] + i, children[i]);
+					noFragments[childBase[node] + i]++;
+				}
+		}
+
+		closeColumns();
+		levelIn.close();
+		levelOut.close();
+		noPasses++;
+	}
+
+	private double[][][] createHist() {
+		double[][][] hist = new double[noAttr][][];
+		for (int i = 0; i < noAttr; i++)
+			hist[i] = new double[cutPtSet[i].length + 1][noCls];
+		return hist;
+	}
+
+	/**
+	 * Reading the next fragment: the tuple number, the node, the weight and the bins it is restricted to
+	 *
+	 * @param in the fragment file
+	 * @throws IOException if the file cannot be read
+	 */
+	private void readFragment(DataInputStream in) throws IOException {
+		fragTuple = in.readInt();
+		fragNode = in.readInt();
+		fragWeight = in.readDouble();
+		fragLo = null;
+		fragHi = null;
+		int noBounds = in.readInt();
+		for (int i = 0; i < noBounds; i++) {
+			int attr = in.readInt();
+			int lo = in.readInt();
+			int hi = in.readInt();
+			if (fragLo == null) {
+				fragLo = new int[noAttr];
+				fragHi = new int[noAttr];
+				for (int j = 0; j < noAttr; j++)
+					fragHi[j] = cutPtSet[j].length;
+			}
+			fragLo[attr] = lo;
+			fragHi[attr] = hi;
+		}
+	}
+
+	/**
+	 * Writing a fragment of a tuple with the bins it is restricted to
+	 *
+	 * @param out      the fragment file
+	 * @param tupleNum the tuple number
+	 * @param node     the position of the node in the level
+	 * @param fragment the fragment
+	 * @throws IOException if the file cannot be written
+	 */
+	private void writeFragment(DataOutputStream out, int tupleNum, int node, BinFragment fragment) throws IOException {
+		out.writeInt(tupleNum);
+		out.writeInt(node);
+		out.writeDouble(fragment.getWeight());
+		int noBounds = 0;
+		for (int i = 0; i < noAttr; i++)
+			if (fragment.getLo(i) > 0 || fragment.getHi(i) < cutPtSet[i].length)
+				noBounds++;
+		out.writeInt(noBounds);
+		for (int i = 0; i < noAttr; i++)
+			if (fragment.getLo(i) > 0 || fragment.getHi(i) < cutPtSet[i].length) {
+				out.writeInt(i);
+				out.writeInt(fragment.getLo(i));
+				out.writeInt(fragment.getHi(i));
+			}
+	}
+
+	private void openColumns() throws IOException {
+		clsIn = createInput(CLS_COLUMN);
+		attrIn = new DataInputStream[noAttr];
+		for (int i = 0; i < noAttr; i++)
+			attrIn[i] = createInput(ATTR_COLUMN + i + COLUMN_EXT);
+		colTuple = -1;
+	}
+
+	/**
+	 * Reading the columns up to the record of the tuple of the current fragment, to get the fragment with
+	 * the pdf mass of the bins of the tuple. The fragments are in the order of the tuples.
+	 *
+	 * @return the current fragment
+	 * @throws IOException if the columns cannot be read
+	 */
+	private BinFragment seekFragment() throws IOException {
+		if (colTuple > fragTuple)
+			throw new IOException("Fragments out of the order of the tuples");
+		while (colTuple < fragTuple) {
+			colTuple++;
+			colCls = clsIn.readInt();
+			clsIn.readDouble();
+			boolean skip = colTuple < fragTuple;
+			if (!skip) {
+				firstBin = new int[noAttr];
+				mass = new double[noAttr][];
+			}
+			for (int i = 0; i < noAttr; i++) {
+				int first = attrIn[i].readInt();
+				int noMass = attrIn[i].readInt();
+				if (skip) {
+					attrIn[i].skipBytes(8 * noMass);
+					continue;
+				}
+				firstBin[i] = first;
+				mass[i] = new double[noMass];
+				for (int j = 0; j < noMass; j++)
+					mass[i][j] = attrIn[i].readDouble();
+			}
+		}
+
+		int[] lo = fragLo;
+		int[] hi = fragHi;
+		if (lo == null) {
+			lo = new int[noAttr];
+			hi = new int[noAttr];
+			for (int i = 0; i < noAttr; i++)
+				hi[i] = cutPtSet[i].length;
+		}
+		return new BinFragment(colCls, fragWeight, firstBin, mass, lo, hi);
+	}
+
+	private void closeColumns() {
+		try {
+			if (clsIn != null)
+				clsIn.close();
+			if (attrIn != null)
+				for (DataInputStream in : attrIn)
+					in.close();
+		} catch (IOException e) {
+			log.warn(e.getMessage(), e);
+		}
+		clsIn = null;
+		attrIn = null;
+	}
+
+	private DataInputStream createInput(String file) throws IOException {
+		return new DataInputStream(new BufferedInputStream(new FileInputStream(path + file), 1 << 16));
+	}
+
+	private DataOutputStream createOutput(String file) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path + file), 1 << 16));
+	}
+
+}
@@ -72,12 +72,29 @@ public class RangeTree extends Tree {
 			partitions.add(new ArrayList<Tuple>(data.size()));
 		}
 
+		double minFragWeight = findMinFragWeight(data);
+
 		Iterator<Tuple> iter = data.iterator();
 		Tuple tuple = null;
 		while (iter.hasNext()) {
 			tuple = iter.next();
 
 			RangeAttribute b = ((RangeAttribute) (tuple.getAttribute(attrNum)));
+
+			// The lighter fragment is absorbed: the mass is renormalized on the majority side
+			if (minFragWeight > 0 && b.getStart() <= split && b.getEnd() > split) {
+				int absorbing = findAbsorbingPartition(b.getFrac(b.getStart(), split), tuple.getWeight(), minFragWeight);
+				if (absorbing == 0) {
+					RangeAttribute newP = RangeAttribute.cutCopy(b, b.getStart(), split);
+					partitions.get(absorbing).add(RangeTuple.copy((RangeTuple) tuple, attrNum, newP, tuple.getWeight()));
+					continue;
+				} else if (absorbing == 1) {
+					RangeAttribute newP = RangeAttribute.cutCopy(b, split, b.getEnd());
+					partitions.get(absorbing).add(RangeTuple.copy((RangeTuple) tuple, attrNum, newP, tuple.getWeight()));
+					continue;
+				}
+			}
+
 			for (int j = 0; j < NO_PARTITION; j++) {
 
 				if (j == 0) {
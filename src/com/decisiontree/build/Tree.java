@@ -22,6 +22,8 @@ package com.decisiontree.build;
 
 import com.decisiontree.data.DataSet;
 import com.decisiontree.data.Tuple;
+import com.decisiontree.data.TupleCoalescer;
+import com.decisiontree.data.TupleCoreset;
 import com.decisiontree.operation.SplitData;
 import com.decisiontree.operation.SplitSearch;
 import com.decisiontree.param.GlobalParam;
@@ -108,7 +110,12 @@ public abstract class Tree {
 	 * Contructing the decision on the dataSet stored and store it in tree object
 	 */
 	public void constructTree() {
-		tree = buildDTree(dataSet.getData(), 0);
+		List<Tuple> data = dataSet.getData();
+		if (GlobalParam.isCoalesce())
+			data = TupleCoalescer.coalesce(data);
+		if (GlobalParam.getCoresetSize() > 0)
+			data = TupleCoreset.reduce(data, dataSet.getNoCls(), GlobalParam.getCoresetSize(), GlobalParam.getSeed());
+		tree = buildDTree(data, 0);
 
 	}
 
@@ -130,6 +137,50 @@ public abstract class Tree {
 
 	}
 
+	/**
+	 * Finding the minimum weight of a fractional tuple in the partitions of the given data tuples.
+	 * It is the larger of the absolute minimum and the ratio of the node weight.
+	 *
+	 * @param data the list of data tuples to be partitioned
+	 * @return the minimum fragment weight, 0 if fragment thresholding is disabled
+	 */
+	protected double findMinFragWeight(List<Tuple> data) {
+		// the tuples are only counted for the ratio
+		return findMinFragWeight(GlobalParam.getMinFragRatio() > 0 ? Tuple.countWeightedTuples(data) : 0.0);
+	}
+
+	/**
+	 * Finding the minimum weight of a fractional tuple in the partitions of a node.
+	 * It is the larger of the absolute minimum and the ratio of the node weight.
+	 *
+	 * @param weightedNoTuples the weighted number of tuples of the node
+	 * @return the minimum fragment weight, 0 if fragment thresholding is disabled
+	 */
+	protected double findMinFragWeight(double weightedNoTuples) {
+		double minFragWeight = GlobalParam.getMinFragWeight();
+		if (GlobalParam.getMinFragRatio() > 0)
+			minFragWeight = Math.max(minFragWeight, GlobalParam.getMinFragRatio() * weightedNoTuples);
+		return minFragWeight;
+	}
+
+	/**
+	 * Finding the partition absorbing the whole mass of a tuple crossing the split point
+	 * when one of its fragments is lighter than the minimum fragment weight.
+	 *
+	 * @param leftFrac      the fraction of the tuple at the left of the split point
+	 * @param weight        the weight of the tuple
+	 * @param minFragWeight the minimum fragment weight
+	 * @return the index of the majority partition, -1 if the tuple should be fragmented
+	 */
+	protected int findAbsorbingPartition(double leftFrac, double weight, double minFragWeight) {
+		double minFrac = Math.min(leftFrac, 1.0 - leftFrac);
+		if (minFragWeight <= 0 || minFrac <= 1E-12 || minFrac * weight >= minFragWeight)
+			return -1;
+
+		GlobalParam.incrNoAbsorbedFrags();
+		return leftFrac >= 0.5 ? 0 : 1;
+	}
+
 	/**
 	 * Finding pessimistic error of a given root node of the tree
 	 *
@@ -152,6 +203,9 @@ public abstract class Tree {
 	 * @return the built decision tree at the given height
 	 */
 	public TreeNode buildDTree(List<Tuple> data, int height) {
+		if (height == 0)
+			splitSearch.prepare(data, dataSet.getNoCls(), dataSet.getNoAttr());
+
 		// root's height = 0
 		// peso de cada classe (soma dos pesos das tuplas de cada classe)
 		double[] clsDist = Tuple.computeClsDist(data, dataSet.getNoCls());
@@ -248,6 +302,15 @@ public abstract class Tree {
 		return tree;
 	}
 
+	/**
+	 * Set the root of the decision tree built out of buildDTree
+	 *
+	 * @param tree the root of the decision tree
+	 */
+	protected void setRoot(TreeNode tree) {
+		this.tree = tree;
+	}
+
 	/**
 	 * Get the SplitSearch object
 	 *
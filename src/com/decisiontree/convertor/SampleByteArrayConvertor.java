@@ -51,5 +51,38 @@ public class SampleByteArrayConvertor {
 		return Double.longBitsToDouble(accum);
 	}
 
+	public static byte[] floatToByteArray(float f) {
+
+		byte[] b = new byte[4];
+		int l = Float.floatToRawIntBits(f);
+		for (int i = 0; i < 4; i++) {
+			b[i] = (byte) l;
+			l = l >> 8;
+		}
+		return b;
+	}
+
+
+	public static float byteArrayToFloat(byte[] b) {
+
+		int accum = 0;
+		int i = 0;
+		for (int shiftBy = 0; shiftBy < 32; shiftBy += 8) {
+			accum |= (b[i] & 0xff) << shiftBy;
+			i++;
+		}
+		return Float.intBitsToFloat(accum);
+	}
+
+
+	public static byte[] charToByteArray(char c) {
+		return new byte[]{(byte) c, (byte) (c >> 8)};
+	}
+
+
+	public static char byteArrayToChar(byte[] b) {
+		return (char) ((b[0] & 0xff) | (b[1] & 0xff) << 8);
+	}
+
 
 }
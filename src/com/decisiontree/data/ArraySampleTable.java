@@ -0,0 +1,87 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * ArraySampleTable - Stores the samples in primitive arrays of values and cumulative distributions.
+ *
+ * @since 0.9
+ */
+public class ArraySampleTable extends SampleTable {
+
+	private double[] values;
+	private double[] cdist;
+
+	public ArraySampleTable(double[] values, double[] cdist) {
+		this.values = values;
+		this.cdist = cdist;
+	}
+
+	public ArraySampleTable(Sample[] samples) {
+		this(new double[samples.length], new double[samples.length]);
+		for (int i = 0; i < samples.length; i++) {
+			values[i] = samples[i].getValue();
+			cdist[i] = samples[i].getCDist();
+		}
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public double getValue(int index) {
+		return values[index];
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return cdist[index];
+	}
+
+	@Override
+	public int binarySearch(double key, int fromIndex, int toIndex) {
+		int low = fromIndex;
+		int high = toIndex - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			double value = values[mid];
+			if (value < key)
+				low = mid + 1;
+			else if (value > key)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -(low + 1);
+	}
+
+	public double[] getValues() {
+		return values;
+	}
+
+	public double[] getCDists() {
+		return cdist;
+	}
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * BernoulliAttribute - Stores an attribute taking 0 with probability 1 - p and 1 with probability p.
+ * It is the distribution of the in-memory PDFs of SampleTuple, with the same interval.
+ *
+ * @since 0.9
+ */
+public class BernoulliAttribute extends ParametricAttribute {
+
+	public static final double START = -0.01;
+	public static final double END = 1.01;
+	public static final int NO_SAMPLES = 2;
+
+	private double p;
+
+	public BernoulliAttribute(double p) {
+		this(p, null);
+	}
+
+	public BernoulliAttribute(double p, SampleTablePool pool) {
+		super(START, END, createTable(p, pool));
+		this.p = p;
+	}
+
+	private static SampleTable createTable(double p, SampleTablePool pool) {
+		double[] values = new double[NO_SAMPLES];
+		double[] cdist = new double[NO_SAMPLES];
+		createSamples(p, values, cdist);
+		return pool == null ? new ArraySampleTable(values, cdist) : pool.intern(values, cdist);
+	}
+
+	/**
+	 * Writing the samples of the PDF of a probability, which is 0 with probability 1 - p and 1 with probability p
+	 *
+	 * @param p      the probability
+	 * @param values the array of the sample values
+	 * @param cdist  the array of the cumulative distributions
+	 * @return the number of samples written
+	 */
+	public static int createSamples(double p, double[] values, double[] cdist) {
+		values[0] = 0.0;
+		cdist[0] = 1 - p;
+		values[1] = 1.0;
+		cdist[1] = 1.0;
+		return NO_SAMPLES;
+	}
+
+	public BernoulliAttribute(BernoulliAttribute b, double curStart, double curEnd) {
+		super(b, curStart, curEnd);
+		this.p = b.getP();
+	}
+
+	public double getP() {
+		return p;
+	}
+
+	@Override
+	public double findCDist(double value) {
+		if (value < 0.0) return 0.0;
+		if (value < 1.0) return 1 - p;
+		return 1.0;
+	}
+
+	@Override
+	public BernoulliAttribute cut(double curStart, double curEnd) {
+		return new BernoulliAttribute(this, curStart, curEnd);
+	}
+
+}
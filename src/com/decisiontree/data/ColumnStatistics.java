@@ -0,0 +1,237 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ColumnStatistics - The statistics of an attribute of a dataset, collected in one pass over the tuples when
+ * the dataset is loaded: the range of the values, the absolute bounds of the intervals or PDFs, the mean, the
+ * number of samples of the PDFs, and the estimated number of distinct values and quantiles of the values.
+ * The value of an interval or a PDF is the mid-point of its absolute bounds, whether the PDF is averaged or not.
+ * The sketches are dropped when the statistics are finished.
+ *
+ * @since 0.9
+ */
+public class ColumnStatistics {
+
+	public static final int NO_QUANTILES = 100;
+
+	private long count;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double absMin = Double.POSITIVE_INFINITY;
+	private double absMax = Double.NEGATIVE_INFINITY;
+	private double sum;
+	private long noSamples;
+	private long noDistinct;
+	private double[] quantiles;
+
+	private QuantileSketch quantileSketch = new QuantileSketch();
+	private DistinctSketch distinctSketch = new DistinctSketch();
+
+	/**
+	 * Creating the statistics of each attribute of a dataset, to be collected
+	 *
+	 * @param noAttr the number of attributes
+	 * @return the statistics of each attribute
+	 */
+	public static ColumnStatistics[] create(int noAttr) {
+		ColumnStatistics[] statistics = new ColumnStatistics[noAttr];
+		for (int i = 0; i < noAttr; i++)
+			statistics[i] = new ColumnStatistics();
+		return statistics;
+	}
+
+	/**
+	 * Collecting the statistics of the continuous attributes of the given tuples
+	 *
+	 * @param data    the tuples
+	 * @param dataSet the dataset of the tuples
+	 * @return the statistics of each attribute
+	 */
+	public static ColumnStatistics[] collect(List<Tuple> data, DataSet dataSet) {
+		ColumnStatistics[] statistics = create(dataSet.getNoAttr());
+		for (Tuple tuple : data)
+			addAll(statistics, tuple, dataSet);
+		finishAll(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Adding the continuous attributes of a tuple to their statistics
+	 *
+	 * @param statistics the statistics of each attribute
+	 * @param tuple      the tuple
+	 * @param dataSet    the dataset of the tuple
+	 */
+	public static void addAll(ColumnStatistics[] statistics, Tuple tuple, DataSet dataSet) {
+		for (int i = 0; i < statistics.length; i++)
+			if (dataSet.isContinuous(i))
+				statistics[i].add(tuple.getAttribute(i));
+	}
+
+	public static void finishAll(ColumnStatistics[] statistics) {
+		for (ColumnStatistics column : statistics)
+			column.finish();
+	}
+
+	/**
+	 * Adding an attribute value to the statistics
+	 *
+	 * @param attribute the attribute of a tuple
+	 */
+	public void add(Attribute attribute) {
+		if (!(attribute instanceof PointAttribute))
+			return;
+		double value = ((PointAttribute) attribute).getValue();
+		double start = value;
+		double end = value;
+		if (attribute instanceof RangeAttribute) {
+			start = ((RangeAttribute) attribute).getAbsStart();
+			end = ((RangeAttribute) attribute).getAbsEnd();
+			value = (start + end) / 2;
+		}
+		if (attribute instanceof SampleAttribute)
+			noSamples += ((SampleAttribute) attribute).getNoSample();
+
+		count++;
+		sum += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+		absMin = Math.min(absMin, start);
+		absMax = Math.max(absMax, end);
+		quantileSketch.add(value);
+		distinctSketch.add(value);
+	}
+
+	/**
+	 * Finishing the statistics by the estimates of the sketches, which are then dropped
+	 */
+	public void finish() {
+		if (quantileSketch == null)
+			return;
+		quantiles = quantileSketch.getQuantiles(NO_QUANTILES);
+		noDistinct = distinctSketch.getEstimate();
+		quantileSketch = null;
+		distinctSketch = null;
+	}
+
+	/**
+	 * Writing the finished statistics
+	 *
+	 * @param out the output
+	 * @throws IOException if the statistics cannot be written
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeLong(count);
+		out.writeDouble(min);
+		out.writeDouble(max);
+		out.writeDouble(absMin);
+		out.writeDouble(absMax);
+		out.writeDouble(sum);
+		out.writeLong(noSamples);
+		out.writeLong(noDistinct);
+		out.writeInt(quantiles.length);
+		for (double quantile : quantiles)
+			out.writeDouble(quantile);
+	}
+
+	/**
+	 * Reading the statistics written by write
+	 *
+	 * @param in the input
+	 * @return the finished statistics
+	 * @throws IOException if the statistics cannot be read
+	 */
+	public static ColumnStatistics read(DataInputStream in) throws IOException {
+		ColumnStatistics statistics = new ColumnStatistics();
+		statistics.count = in.readLong();
+		statistics.min = in.readDouble();
+		statistics.max = in.readDouble();
+		statistics.absMin = in.readDouble();
+		statistics.absMax = in.readDouble();
+		statistics.sum = in.readDouble();
+		statistics.noSamples = in.readLong();
+		statistics.noDistinct = in.readLong();
+		statistics.quantiles = new double[in.readInt()];
+		for (int i = 0; i < statistics.quantiles.length; i++)
+			statistics.quantiles[i] = in.readDouble();
+		statistics.quantileSketch = null;
+		statistics.distinctSketch = null;
+		return statistics;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getAbsMin() {
+		return absMin;
+	}
+
+	public double getAbsMax() {
+		return absMax;
+	}
+
+	public double getMean() {
+		return count == 0 ? Double.NaN : sum / count;
+	}
+
+	public long getNoSamples() {
+		return noSamples;
+	}
+
+	public long getNoDistinct() {
+		return noDistinct;
+	}
+
+	/**
+	 * Getting the estimated quantile of the values
+	 *
+	 * @param fraction the fraction of the values not larger than the quantile, from 0 to 1
+	 * @return the estimated quantile, NaN if there is no value
+	 */
+	public double getQuantile(double fraction) {
+		if (quantiles.length == 0)
+			return Double.NaN;
+		int pos = (int) Math.round(Math.min(Math.max(fraction, 0.0), 1.0) * (quantiles.length - 1));
+		return quantiles[pos];
+	}
+
+	@Override
+	public String toString() {
+		return count + " values in [" + min + ", " + max + "], bounds [" + absMin + ", " + absMax + "], mean "
+		  + getMean() + ", median " + getQuantile(0.5) + ", " + noDistinct + " distinct, " + noSamples + " samples";
+	}
+
+}
@@ -0,0 +1,310 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import com.decisiontree.param.GlobalParam;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ColumnarSampleDataSet - Stores a sample-distributed dataset column by column.
+ * The samples of an attribute of all tuples are stored contiguously in a pair of primitive arrays
+ * (values and cumulative distributions), indexed by an array of offsets per tuple.
+ * The classes and weights of the tuples are stored in primitive arrays.
+ * The tuples returned by getData() are views on the columns, sharing the sample storage.
+ *
+ * @since 0.9
+ */
+public class ColumnarSampleDataSet extends SampleDataSet {
+
+	private static final Logger log = Logger.getLogger(ColumnarSampleDataSet.class);
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int size;
+	private int[] cls;
+	private double[] weight;
+
+	// [attr][tuple]
+	private double[][] start;
+	private double[][] end;
+	// [attr][tuple], the samples of tuple i are in [offsets[i], offsets[i + 1])
+	private int[][] offsets;
+
+	// [attr][sample]
+	private double[][] values;
+	private double[][] cdist;
+	private SampleTable[] columns;
+
+	public ColumnarSampleDataSet(int noCls, int noAttr, int noSamples) {
+		this(noCls, noAttr, noSamples, DEFAULT_CAPACITY);
+	}
+
+	public ColumnarSampleDataSet(int noCls, int noAttr, int noSamples, int capacity) {
+		super(noCls, noAttr, noSamples);
+		init(capacity);
+	}
+
+	public ColumnarSampleDataSet(String input, int noCls, int noAttr, int noSamples, int capacity) {
+		super(input, noCls, noAttr, noSamples);
+		init(capacity);
+	}
+
+	/**
+	 * Copying a SampleDataSet into columns
+	 *
+	 * @param dataSet the dataset
+	 * @return the columnar dataset
+	 */
+	public static ColumnarSampleDataSet copy(SampleDataSet dataSet) {
+		int noAttr = dataSet.getNoAttr();
+		List<Tuple> data = dataSet.getData();
+		ColumnarSampleDataSet columnar = new ColumnarSampleDataSet(dataSet.getName(), dataSet.getNoCls(), noAttr,
+		  dataSet.getNoSamples(), Math.max(data.size(), 1));
+		columnar.setClsNameList(dataSet.getClsNameList());
+		columnar.setAttrNameList(dataSet.getAttrNameList());
+		for (int i = 0; i < noAttr; i++)
+			columnar.setContinous(i, dataSet.isContinuous(i));
+		for (int i = 0; i < dataSet.getNoCls(); i++)
+			columnar.setClsDistribution(i, dataSet.getClsDistribution(i));
+		columnar.setData(data);
+		return columnar;
+	}
+
+	private void init(int capacity) {
+		int noAttr = getNoAttr();
+		cls = new int[capacity];
+		weight = new double[capacity];
+		start = new double[noAttr][capacity];
+		end = new double[noAttr][capacity];
+		offsets = new int[noAttr][capacity + 1];
+		values = new double[noAttr][capacity * Math.max(getNoSamples(), 1)];
+		cdist = new double[noAttr][values[0].length];
+		size = 0;
+	}
+
+	/**
+	 * Appending a tuple without samples. The samples are appended by addSample in ascending order of value.
+	 *
+	 * @param cls    the class of the tuple
+	 * @param weight the weight of the tuple
+	 * @param start  the start of the interval of each attribute
+	 * @param end    the end of the interval of each attribute
+	 * @return the tuple id
+	 */
+	public int addTuple(int cls, double weight, double[] start, double[] end) {
+		if (size == this.cls.length) {
+			int capacity = Math.max(size * 2, DEFAULT_CAPACITY);
+			this.cls = Arrays.copyOf(this.cls, capacity);
+			this.weight = Arrays.copyOf(this.weight, capacity);
+			for (int j = 0; j < getNoAttr(); j++) {
+				this.start[j] = Arrays.copyOf(this.start[j], capacity);
+				this.end[j] = Arrays.copyOf(this.end[j], capacity);
+				offsets[j] = Arrays.copyOf(offsets[j], capacity + 1);
+			}
+		}
+		this.cls[size] = cls;
+		this.weight[size] = weight;
+		for (int j = 0; j < getNoAttr(); j++) {
+			this.start[j][size] = start[j];
+			this.end[j][size] = end[j];
+			offsets[j][size + 1] = offsets[j][size];
+		}
+		invalidateColumns();
+		data = null;
+		return size++;
+	}
+
+	/**
+	 * Appending a sample to an attribute of the last tuple added
+	 *
+	 * @param tuple the tuple id, which must be the last tuple added
+	 * @param attr  the attribute number
+	 * @param value the sample value
+	 * @param cDist the cumulative distribution up to the sample
+	 */
+	public void addSample(int tuple, int attr, double value, double cDist) {
+		if (tuple != size - 1)
+			throw new IllegalArgumentException("Samples can only be added to the last tuple " + (size - 1));
+		invalidateColumns();
+		int pos = offsets[attr][tuple + 1];
+		if (pos == values[attr].length) {
+			int capacity = Math.max(pos * 2, DEFAULT_CAPACITY);
+			values[attr] = Arrays.copyOf(values[attr], capacity);
+			cdist[attr] = Arrays.copyOf(cdist[attr], capacity);
+		}
+		values[attr][pos] = value;
+		cdist[attr][pos] = cDist;
+		offsets[attr][tuple + 1] = pos + 1;
+		data = null;
+	}
+
+	/**
+	 * Getting the sample column of an attribute, trimming the storage of the column
+	 *
+	 * @param attr the attribute number
+	 * @return the sample column
+	 */
+	public SampleTable getColumn(int attr) {
+		if (columns == null)
+			columns = new SampleTable[getNoAttr()];
+		if (columns[attr] == null) {
+			int noSamples = offsets[attr][size];
+			if (values[attr].length != noSamples) {
+				values[attr] = Arrays.copyOf(values[attr], noSamples);
+				cdist[attr] = Arrays.copyOf(cdist[attr], noSamples);
+			}
+			// the compact column is the only copy of the samples until more samples are added
+			if (GlobalParam.isCompact()) {
+				columns[attr] = createCompactColumn(attr, noSamples);
+				values[attr] = null;
+				cdist[attr] = null;
+			} else
+				columns[attr] = new ArraySampleTable(values[attr], cdist[attr]);
+		}
+		return columns[attr];
+	}
+
+	// the values are converted to floats PDF by PDF, keeping each within its own samples
+	private SampleTable createCompactColumn(int attr, int noSamples) {
+		float[] floats = new float[noSamples];
+		char[] chars = new char[noSamples];
+		for (int i = 0; i < size; i++)
+			CompactSampleTable.toFloats(values[attr], offsets[attr][i], offsets[attr][i + 1], floats);
+		for (int i = 0; i < noSamples; i++)
+			chars[i] = CompactSampleTable.encodeCDist(cdist[attr][i]);
+		return new CompactSampleTable(floats, chars);
+	}
+
+	private void invalidateColumns() {
+		if (columns == null)
+			return;
+		for (int j = 0; j < columns.length; j++) {
+			if (values[j] != null)
+				continue;
+			int noSamples = columns[j].size();
+			values[j] = new double[noSamples];
+			cdist[j] = new double[noSamples];
+			for (int i = 0; i < noSamples; i++) {
+				values[j][i] = columns[j].getValue(i);
+				cdist[j][i] = columns[j].getCDist(i);
+			}
+		}
+		columns = null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getCls(int tuple) {
+		return cls[tuple];
+	}
+
+	public double getWeight(int tuple) {
+		return weight[tuple];
+	}
+
+	public int getOffset(int tuple, int attr) {
+		return offsets[attr][tuple];
+	}
+
+	public int getNoSamples(int tuple, int attr) {
+		return offsets[attr][tuple + 1] - offsets[attr][tuple];
+	}
+
+	/**
+	 * Creating the view of an attribute of a tuple on the sample column
+	 *
+	 * @param tuple the tuple id
+	 * @param attr  the attribute number
+	 * @return the SampleAttribute reading the column
+	 */
+	public SampleAttribute getAttribute(int tuple, int attr) {
+		return new SampleAttribute(start[attr][tuple], end[attr][tuple], getColumn(attr),
+		  getOffset(tuple, attr), getNoSamples(tuple, attr));
+	}
+
+	/**
+	 * Getting the tuples as views on the columns. The views are created once and shared.
+	 */
+	@Override
+	public List<Tuple> getData() {
+		if (data == null) {
+			int noAttr = getNoAttr();
+			if (size != cls.length) {
+				cls = Arrays.copyOf(cls, size);
+				weight = Arrays.copyOf(weight, size);
+				for (int j = 0; j < noAttr; j++) {
+					start[j] = Arrays.copyOf(start[j], size);
+					end[j] = Arrays.copyOf(end[j], size);
+					offsets[j] = Arrays.copyOf(offsets[j], size + 1);
+				}
+			}
+			List<Tuple> tuples = new ArrayList<Tuple>(size);
+			for (int i = 0; i < size; i++) {
+				Attribute[] attrSet = new Attribute[noAttr];
+				for (int j = 0; j < noAttr; j++)
+					attrSet[j] = getAttribute(i, j);
+				tuples.add(new SampleTuple(attrSet, noAttr, cls[i], weight[i]));
+			}
+			data = tuples;
+			log.debug("Created " + size + " tuple views on " + noAttr + " sample columns");
+		}
+		return data;
+	}
+
+	/**
+	 * Replacing the tuples by rebuilding the columns from the PDFs of the given tuples, which may also be views on the
+	 * columns being replaced. The tuples returned by getData() are then views on the new columns.
+	 *
+	 * @param data the tuples of SampleAttributes
+	 */
+	@Override
+	public void setData(List<Tuple> data) {
+		int noAttr = getNoAttr();
+		// the old columns are kept by the views on them until they are copied
+		columns = null;
+		init(Math.max(data.size(), 1));
+
+		double[] starts = new double[noAttr];
+		double[] ends = new double[noAttr];
+		SampleAttribute[] attrs = new SampleAttribute[noAttr];
+		for (Tuple tuple : data) {
+			for (int j = 0; j < noAttr; j++) {
+				attrs[j] = (SampleAttribute) tuple.getAttribute(j);
+				starts[j] = attrs[j].getAbsStart();
+				ends[j] = attrs[j].getAbsEnd();
+			}
+			int id = addTuple(tuple.getCls(), tuple.getWeight(), starts, ends);
+			for (int j = 0; j < noAttr; j++)
+				for (int k = 0; k < attrs[j].getNoSample(); k++)
+					addSample(id, j, attrs[j].getSampleValue(k), attrs[j].getSampleCDist(k));
+		}
+		// the views are created again from the new columns
+		super.setData(null);
+		setNoTuples(size);
+	}
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * CompactSampleTable - Stores the samples with reduced precision, the values as floats and
+ * the cumulative distributions quantized to 16 bits, taking 6 bytes per sample instead of 16.
+ * Quantizing by rounding keeps the cumulative distributions of a PDF non-decreasing, and the
+ * full distribution is stored exactly, so the fractions found from the samples are never negative.
+ * The float values of a PDF stay within its first and last sample values, and so within its interval,
+ * and distinct samples stay distinct wherever the float precision allows.
+ *
+ * @since 0.9
+ */
+public class CompactSampleTable extends SampleTable {
+
+	public static final int SAMPLE_SIZE = 6;
+
+	private static final double CDIST_SCALE = Character.MAX_VALUE;
+
+	private float[] values;
+	private char[] cdist;
+
+	public CompactSampleTable(float[] values, char[] cdist) {
+		this.values = values;
+		this.cdist = cdist;
+	}
+
+	/**
+	 * @param values the sample values of a PDF in ascending order
+	 * @param cdist  the cumulative distributions of the samples
+	 */
+	public CompactSampleTable(double[] values, double[] cdist) {
+		this(new float[values.length], new char[values.length]);
+		toFloats(values, 0, values.length, this.values);
+		for (int i = 0; i < values.length; i++)
+			this.cdist[i] = encodeCDist(cdist[i]);
+	}
+
+	/**
+	 * Converting the sample values of a PDF to floats. Rounding to the nearest float could move the first or the last
+	 * sample out of the interval of the PDF, so the floats are clamped between the first value rounded up and the last
+	 * value rounded down. Distinct values rounded to the same float are moved to the next float up, if it is still
+	 * within the clamp.
+	 *
+	 * @param values the sample values, in ascending order from the index from
+	 * @param from   the index of the first sample of the PDF
+	 * @param to     the index after the last sample of the PDF
+	 * @param floats the array of the floats, written at the same indices
+	 */
+	public static void toFloats(double[] values, int from, int to, float[] floats) {
+		if (from >= to)
+			return;
+		float low = roundUp(values[from]);
+		float high = Math.max(low, roundDown(values[to - 1]));
+		for (int i = from; i < to; i++) {
+			float value = Math.min(Math.max((float) values[i], low), high);
+			if (i > from && value <= floats[i - 1] && values[i] > values[i - 1] && floats[i - 1] < high)
+				value = Math.nextUp(floats[i - 1]);
+			floats[i] = value;
+		}
+	}
+
+	private static float roundUp(double value) {
+		float f = (float) value;
+		return f < value ? Math.nextUp(f) : f;
+	}
+
+	private static float roundDown(double value) {
+		float f = (float) value;
+		return f > value ? Math.nextDown(f) : f;
+	}
+
+	/**
+	 * Quantizing a cumulative distribution to 16 bits
+	 *
+	 * @param cDist the cumulative distribution between 0 and 1
+	 * @return the quantized cumulative distribution
+	 */
+	public static char encodeCDist(double cDist) {
+		return (char) Math.round(Math.min(Math.max(cDist, 0.0), 1.0) * CDIST_SCALE);
+	}
+
+	public static double decodeCDist(char cDist) {
+		return cDist / CDIST_SCALE;
+	}
+
+	/**
+	 * Reducing the precision of the samples of a PDF in place to the precision stored by the table
+	 *
+	 * @param values the sample values in ascending order
+	 * @param cdist  the cumulative distributions of the samples
+	 */
+	public static void quantize(double[] values, double[] cdist) {
+		float[] floats = new float[values.length];
+		toFloats(values, 0, values.length, floats);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = floats[i];
+			cdist[i] = decodeCDist(encodeCDist(cdist[i]));
+		}
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public double getValue(int index) {
+		return values[index];
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return decodeCDist(cdist[index]);
+	}
+
+	@Override
+	public int binarySearch(double key, int fromIndex, int toIndex) {
+		int low = fromIndex;
+		int high = toIndex - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			double value = values[mid];
+			if (value < key)
+				low = mid + 1;
+			else if (value > key)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -(low + 1);
+	}
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import com.decisiontree.param.GlobalParam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataFileLoader - Loads the tuples of a data file in one pass.
+ * The file is split into chunks of whole lines of about a fixed number of bytes. The lines of each chunk
+ * are counted first, so that every line is parsed with its line number even if the chunks are parsed in parallel.
+ * The tuples are returned in the order of the lines, and blank lines are skipped.
+ *
+ * @since 0.9
+ */
+public class DataFileLoader {
+
+	private String fileName;
+	private List<String> clsNames;
+	private LoadProgressListener listener;
+
+	private long size;
+	private AtomicLong bytesLoaded = new AtomicLong();
+	private AtomicInteger noTuples = new AtomicInteger();
+	private AtomicLong lastReport = new AtomicLong();
+
+	/**
+	 * @param fileName the data file
+	 * @param clsNames the class names of the dataset
+	 * @param listener the listener of the progress, null for no progress
+	 */
+	public DataFileLoader(String fileName, List<String> clsNames, LoadProgressListener listener) {
+		this.fileName = fileName;
+		this.clsNames = clsNames;
+		this.listener = listener;
+	}
+
+	/**
+	 * Loading the tuples of the data file
+	 *
+	 * @param parser   the parser of the lines
+	 * @param parallel parsing the chunks in parallel if true, or in the order of the file otherwise
+	 * @return the tuples in the order of the lines
+	 * @throws IOException if the file cannot be read
+	 */
+	public List<Tuple> load(final TupleParser parser, boolean parallel) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			size = channel.size();
+			lastReport.set(System.currentTimeMillis());
+
+			final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+			long start = 0;
+			while (start < size) {
+				long end = findLineStart(channel, Math.min(size, start + GlobalParam.LOAD_CHUNK));
+				chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+				start = end;
+			}
+
+			List<Callable<Integer>> counts = new ArrayList<Callable<Integer>>(chunks.size());
+			for (final ByteBuffer chunk : chunks) {
+				counts.add(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						return countLines(chunk);
+					}
+				});
+			}
+			List<Integer> noLines = invokeAll(counts, parallel);
+
+			List<Callable<List<Tuple>>> tasks = new ArrayList<Callable<List<Tuple>>>(chunks.size());
+			int firstLine = 0;
+			for (int c = 0; c < chunks.size(); c++) {
+				final ByteBuffer chunk = chunks.get(c);
+				final int num = firstLine;
+				tasks.add(new Callable<List<Tuple>>() {
+					@Override
+					public List<Tuple> call() {
+						return parseLines(chunk, num, parser);
+					}
+				});
+				firstLine += noLines.get(c);
+			}
+
+			List<Tuple> tuples = new ArrayList<Tuple>(firstLine);
+			for (List<Tuple> chunkTuples : invokeAll(tasks, parallel))
+				tuples.addAll(chunkTuples);
+			if (listener != null)
+				listener.progress(fileName, size, size, noTuples.get());
+			return tuples;
+		}
+	}
+
+	/**
+	 * Finding the start of the first line at or after the given position
+	 *
+	 * @param channel  the file channel
+	 * @param position the position
+	 * @return the start of the line, or the size of the file if there is no more line
+	 * @throws IOException if the file cannot be read
+	 */
+	private long findLineStart(FileChannel channel, long position) throws IOException {
+		if (position >= size)
+			return size;
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long pos = position - 1;
+		while (pos < size) {
+			buffer.clear();
+			int read = channel.read(buffer, pos);
+			if (read <= 0)
+				break;
+			for (int i = 0; i < read; i++)
+				if (buffer.get(i) == '\n')
+					return pos + i + 1;
+			pos += read;
+		}
+		return size;
+	}
+
+	private int countLines(ByteBuffer chunk) {
+		int limit = chunk.limit();
+		int count = 0;
+		for (int i = 0; i < limit; i++)
+			if (chunk.get(i) == '\n')
+				count++;
+		// the last line of the file may have no line break
+		if (limit > 0 && chunk.get(limit - 1) != '\n')
+			count++;
+		return count;
+	}
+
+	private List<Tuple> parseLines(ByteBuffer chunk, int num, TupleParser parser) {
+		byte[] bytes = new byte[chunk.limit()];
+		chunk.duplicate().get(bytes);
+
+		List<Tuple> tuples = new ArrayList<Tuple>();
+		LineScanner line = new LineScanner(clsNames);
+		int start = 0;
+		while (start < bytes.length) {
+			int end = start;
+			while (end < bytes.length && bytes[end] != '\n')
+				end++;
+			int next = end + 1;
+			if (end > start && bytes[end - 1] == '\r')
+				end--;
+			if (end > start) {
+				line.reset(bytes, start, end);
+				Tuple tuple = parser.parse(line, num);
+				noTuples.incrementAndGet();
+				if (tuple != null)
+					tuples.add(tuple);
+			}
+			num++;
+			start = next;
+		}
+
+		report(bytesLoaded.addAndGet(bytes.length));
+		return tuples;
+	}
+
+	// reporting the progress at most once for each progress interval
+	private void report(long bytes) {
+		if (listener == null)
+			return;
+		long now = System.currentTimeMillis();
+		long last = lastReport.get();
+		if (now - last >= GlobalParam.PROGRESS_INTERVAL && lastReport.compareAndSet(last, now))
+			listener.progress(fileName, bytes, size, noTuples.get());
+	}
+
+	/**
+	 * Running the tasks in the common pool, or in order in this thread if not parallel
+	 *
+	 * @param tasks    the tasks
+	 * @param parallel running the tasks in parallel if true
+	 * @return the results in the order of the tasks
+	 * @throws IOException if a task fails
+	 */
+	private <T> List<T> invokeAll(List<Callable<T>> tasks, boolean parallel) throws IOException {
+		List<T> results = new ArrayList<T>(tasks.size());
+		try {
+			if (!parallel || tasks.size() < 2) {
+				for (Callable<T> task : tasks)
+					results.add(task.call());
+				return results;
+			}
+			for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks))
+				results.add(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Loading " + fileName + " interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IOException("Cannot load " + fileName, e.getCause());
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Cannot load " + fileName, e);
+		}
+		return results;
+	}
+
+}
@@ -218,6 +218,21 @@ public interface DataSet {
 	 */
 	public double getMin(int attrNum);
 
+	/**
+	 * Get the statistics of a given attribute number, collected when the dataset is loaded
+	 *
+	 * @param attrNum the attribute number
+	 * @return the statistics of the attribute
+	 */
+	public ColumnStatistics getStatistics(int attrNum);
+
+	/**
+	 * Set the statistics of the attributes
+	 *
+	 * @param statistics the statistics of each attribute
+	 */
+	public void setStatistics(ColumnStatistics[] statistics);
+
 	/**
 	 * Get the name of the dataset
 	 *
@@ -26,6 +26,9 @@ import org.apache.log4j.Logger;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 
@@ -44,8 +47,73 @@ public abstract class DataSetInit {
 	public static final String SAMPLE_FILE = GlobalParam.SAMPLE_FILE;
 	public static String CONTINUOUS = "continuous";
 	private static Logger log = Logger.getLogger(DataSetInit.class);
+	private static LoadProgressListener progressListener = new LoadProgressLogger();
 	protected DataSet dataSet;
 
+	// the lines of the dataset property file last read
+	private String namesInput;
+	private List<String> names;
+
+	/**
+	 * Setting the listener of the progress of loading the data files
+	 *
+	 * @param listener the listener, null for no progress
+	 */
+	public static void setProgressListener(LoadProgressListener listener) {
+		progressListener = listener;
+	}
+
+	/**
+	 * Reading the lines of the dataset property file, which is read once for the same input
+	 *
+	 * @param input file for dataset properties
+	 * @return the lines of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	protected List<String> readNames(String input) throws IOException {
+		if (!input.equals(namesInput)) {
+			names = Files.readAllLines(Paths.get(input + NAME_FILE), Charset.defaultCharset());
+			namesInput = input;
+		}
+		return names;
+	}
+
+	/**
+	 * Loading the tuples of a data file in one pass, reporting the progress to the listener
+	 *
+	 * @param fileName the data file
+	 * @param parser   the parser of the lines
+	 * @param parallel parsing the lines in parallel if true
+	 * @return the tuples in the order of the lines
+	 * @throws IOException if the file cannot be read
+	 */
+	protected List<Tuple> loadData(String fileName, TupleParser parser, boolean parallel) throws IOException {
+		return new DataFileLoader(fileName, dataSet.getClsNameList(), progressListener).load(parser, parallel);
+	}
+
+	/**
+	 * Setting the number of tuples, the class distribution and the statistics of the attributes of the dataset
+	 * from the loaded tuples
+	 *
+	 * @param tuples the tuples
+	 */
+	protected void setDistribution(List<Tuple> tuples) {
+		int[] countCls = new int[dataSet.getNoCls()];
+		ColumnStatistics[] statistics = ColumnStatistics.create(dataSet.getNoAttr());
+		for (Tuple tuple : tuples) {
+			countCls[tuple.getCls()]++;
+			ColumnStatistics.addAll(statistics, tuple, dataSet);
+		}
+		ColumnStatistics.finishAll(statistics);
+		for (int i = 0; i < countCls.length; i++)
+			dataSet.setClsDistribution(i, countCls[i]);
+		dataSet.setNoTuples(tuples.size());
+		dataSet.setStatistics(statistics);
+		for (int i = 0; i < statistics.length; i++)
+			if (dataSet.isContinuous(i))
+				log.debug("Statistics of attribute " + dataSet.getAttrName(i) + ": " + statistics[i]);
+	}
+
 	/**
 	 * Find the number of attributes form input dataset property file
 	 *
@@ -53,24 +121,12 @@ public abstract class DataSetInit {
 	 * @return the number of attribute
 	 */
 	public int findNoAttr(String input) {
-		BufferedReader reader = null;
 		try {
-			reader = new BufferedReader(new FileReader(input + NAME_FILE));
-			int i = 0;
-			for (; reader.readLine() != null; i++) ;
-
-			return i - 1;
+			return readNames(input).size() - 1;
 		} catch (IOException e) {
 			e.printStackTrace();
 			log.error("No dataset config file or file cannot access. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				if (reader != null)
-					reader.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
 		}
 		return -1;
 	}
@@ -82,10 +138,8 @@ public abstract class DataSetInit {
 	 * @return the number of classes
 	 */
 	public int findNoCls(String input) {
-		BufferedReader reader = null;
 		try {
-			reader = new BufferedReader(new FileReader(input + NAME_FILE));
-			String data = reader.readLine();
+			String data = readNames(input).get(0);
 			data = data.replaceAll(" ", "");
 			String[] cls = data.split(GlobalParam.SEPERATOR);
 			return cls.length;
@@ -93,12 +147,6 @@ public abstract class DataSetInit {
 			e.printStackTrace();
 			log.error("No dataset config file or file cannot access. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				reader.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
 		}
 		return -1;
 	}
@@ -110,11 +158,8 @@ public abstract class DataSetInit {
 	 * @return the list of class names
 	 */
 	public List<String> findClsName(String input) {
-		BufferedReader reader = null;
 		try {
-			reader = new BufferedReader(new FileReader(input + NAME_FILE));
-			String data = "";
-			data = reader.readLine();
+			String data = readNames(input).get(0);
 			if (data.endsWith(".")) data = data.substring(0, data.length() - 1);
 			List<String> cls = Arrays.asList(data.split(", "));
 			return cls;
@@ -122,12 +167,6 @@ public abstract class DataSetInit {
 			e.printStackTrace();
 			log.error("No dataset config file or file cannot access. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				if (reader != null) reader.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
 		}
 		return null;
 	}
@@ -171,14 +210,10 @@ public abstract class DataSetInit {
 	 */
 	protected void preProcess(String input, String fileType) {
 
-		BufferedReader r = null;
 		try {
-			r = new BufferedReader(new FileReader(input + NAME_FILE));
-			String data = "";
-			data = r.readLine();
-			int i = 0;
-
-			for (; (data = r.readLine()) != null && i < dataSet.getNoAttr(); i++) {
+			List<String> lines = readNames(input);
+			for (int i = 0; i + 1 < lines.size() && i < dataSet.getNoAttr(); i++) {
+				String data = lines.get(i + 1);
 				String[] name = data.split(":");
 				dataSet.setAttrName(i, name[0]);
 				if (data.contains(CONTINUOUS))
@@ -187,18 +222,10 @@ public abstract class DataSetInit {
 					dataSet.setContinous(i, false);
 			}
 
-//			dataSet.setNoTuples(countNoTuples(input, fileType));
-
 		} catch (IOException e) {
 			e.printStackTrace();
 			log.error("No dataset access file or file cannot access. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				r.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
 		}
 
 	}
@@ -0,0 +1,88 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import java.util.Arrays;
+
+/**
+ * DistinctSketch - Estimates the number of distinct values of a stream by the k minimum values of their hashes.
+ * The count is exact while there are fewer distinct values than the size of the sketch.
+ * The relative error of the estimate is about 1 / sqrt(size).
+ *
+ * @since 0.9
+ */
+public class DistinctSketch {
+
+	public static final int DEFAULT_SIZE = 1024;
+
+	private long[] hashes;
+	private int noHashes;
+
+	public DistinctSketch() {
+		this(DEFAULT_SIZE);
+	}
+
+	public DistinctSketch(int size) {
+		hashes = new long[Math.max(2, size)];
+	}
+
+	/**
+	 * Adding a value to the sketch
+	 *
+	 * @param value the value
+	 */
+	public void add(double value) {
+		// 0.0 and -0.0 are the same value
+		long hash = hash(Double.doubleToLongBits(value == 0.0 ? 0.0 : value)) >>> 1;
+		if (noHashes == hashes.length && hash >= hashes[noHashes - 1])
+			return;
+		int pos = Arrays.binarySearch(hashes, 0, noHashes, hash);
+		if (pos >= 0)
+			return;
+		pos = -(pos + 1);
+		int noMoved = Math.min(noHashes, hashes.length - 1) - pos;
+		System.arraycopy(hashes, pos, hashes, pos + 1, noMoved);
+		hashes[pos] = hash;
+		if (noHashes < hashes.length)
+			noHashes++;
+	}
+
+	/**
+	 * Getting the estimated number of distinct values
+	 *
+	 * @return the estimated number of distinct values
+	 */
+	public long getEstimate() {
+		if (noHashes < hashes.length)
+			return noHashes;
+		// the hashes are uniform in [0, 2^63), the k-th minimum is at about k / (n + 1) of the range
+		double kth = (hashes[noHashes - 1] + 1.0) / Math.pow(2, 63);
+		return Math.round((noHashes - 1) / kth);
+	}
+
+	// the finalizer of SplitMix64
+	private static long hash(long key) {
+		key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+		key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+		return key ^ (key >>> 31);
+	}
+
+}
@@ -0,0 +1,151 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * GaussianAttribute - Stores an attribute with a Gaussian distribution truncated to its interval.
+ *
+ * @since 0.9
+ */
+public class GaussianAttribute extends ParametricAttribute {
+
+	private static final double LOG_SQRT_2PI = 0.91893853320467274178;
+	private static final double TAIL = 8.5;
+
+	private double mean;
+	private double sd;
+
+	// the standard normal distribution at the absolute start and the mass of the interval
+	private double startDist;
+	private double totalDist;
+
+	public GaussianAttribute(double mean, double sd, double start, double end, int noQuantiles) {
+		this(mean, sd, start, end, noQuantiles, null);
+	}
+
+	public GaussianAttribute(double mean, double sd, double start, double end, int noQuantiles, SampleTablePool pool) {
+		super(start, end, new ScaledSampleTable(createStandardTable((start - mean) / sd, (end - mean) / sd, noQuantiles, pool), mean, sd));
+		this.mean = mean;
+		this.sd = sd;
+		this.startDist = phi((start - mean) / sd);
+		this.totalDist = phi((end - mean) / sd) - startDist;
+	}
+
+	public GaussianAttribute(GaussianAttribute g, double curStart, double curEnd) {
+		super(g, curStart, curEnd);
+		this.mean = g.mean;
+		this.sd = g.sd;
+		this.startDist = g.startDist;
+		this.totalDist = g.totalDist;
+	}
+
+	/**
+	 * Finding the standard normal distribution function, accurate to about 1E-15
+	 *
+	 * @param x the value
+	 * @return the probability of a standard normal variable not larger than x
+	 */
+	public static double phi(double x) {
+		if (x < -TAIL) return 0.0;
+		if (x > TAIL) return 1.0;
+		double s = x, t = 0, b = x, q = x * x, i = 1;
+		while (s != t)
+			s = (t = s) + (b *= q / (i += 2));
+		return 0.5 + s * Math.exp(-0.5 * q - LOG_SQRT_2PI);
+	}
+
+	/**
+	 * Finding the quantile of the standard normal distribution,
+	 * by the rational approximation of Acklam refined by a Newton step
+	 *
+	 * @param p the probability
+	 * @return the value x with phi(x) = p
+	 */
+	public static double inversePhi(double p) {
+		if (p <= 0) return Double.NEGATIVE_INFINITY;
+		if (p >= 1) return Double.POSITIVE_INFINITY;
+
+		final double a1 = -3.969683028665376e+01, a2 = 2.209460984245205e+02, a3 = -2.759285104469687e+02,
+		  a4 = 1.383577518672690e+02, a5 = -3.066479806614716e+01, a6 = 2.506628277459239e+00;
+		final double b1 = -5.447609879822406e+01, b2 = 1.615858368580409e+02, b3 = -1.556989798598866e+02,
+		  b4 = 6.680131188771972e+01, b5 = -1.328068155288572e+01;
+		final double c1 = -7.784894002430293e-03, c2 = -3.223964580411365e-01, c3 = -2.400758277161838e+00,
+		  c4 = -2.549732539343734e+00, c5 = 4.374664141464968e+00, c6 = 2.938163982698783e+00;
+		final double d1 = 7.784695709041462e-03, d2 = 3.224671290700398e-01, d3 = 2.445134137142996e+00,
+		  d4 = 3.754408661907416e+00;
+		final double low = 0.02425;
+
+		double x;
+		if (p < low) {
+			double q = Math.sqrt(-2 * Math.log(p));
+			x = (((((c1 * q + c2) * q + c3) * q + c4) * q + c5) * q + c6) / ((((d1 * q + d2) * q + d3) * q + d4) * q + 1);
+		} else if (p <= 1 - low) {
+			double q = p - 0.5, r = q * q;
+			x = (((((a1 * r + a2) * r + a3) * r + a4) * r + a5) * r + a6) * q
+			  / (((((b1 * r + b2) * r + b3) * r + b4) * r + b5) * r + 1);
+		} else {
+			double q = Math.sqrt(-2 * Math.log(1 - p));
+			x = -(((((c1 * q + c2) * q + c3) * q + c4) * q + c5) * q + c6) / ((((d1 * q + d2) * q + d3) * q + d4) * q + 1);
+		}
+
+		if (Math.abs(x) < TAIL) {
+			double e = phi(x) - p;
+			double u = e * Math.sqrt(2 * Math.PI) * Math.exp(x * x / 2);
+			x = x - u / (1 + x * u / 2);
+		}
+		return x;
+	}
+
+	private static SampleTable createStandardTable(double a, double b, int noQuantiles, SampleTablePool pool) {
+		double startDist = phi(a);
+		double totalDist = phi(b) - startDist;
+		double[] values = new double[noQuantiles];
+		for (int k = 0; k < noQuantiles; k++) {
+			double q = (k + 0.5) / noQuantiles;
+			values[k] = totalDist > 0 ? inversePhi(startDist + q * totalDist) : a + q * (b - a);
+			values[k] = Math.min(Math.max(values[k], a), b);
+		}
+		return createQuantileTable(values, pool);
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getSd() {
+		return sd;
+	}
+
+	@Override
+	public double findCDist(double value) {
+		if (value <= getAbsStart()) return 0.0;
+		if (value >= getAbsEnd()) return 1.0;
+		if (totalDist <= 0)
+			return (value - getAbsStart()) / (getAbsEnd() - getAbsStart());
+		return Math.min(1.0, Math.max(0.0, (phi((value - mean) / sd) - startDist) / totalDist));
+	}
+
+	@Override
+	public GaussianAttribute cut(double curStart, double curEnd) {
+		return new GaussianAttribute(this, curStart, curEnd);
+	}
+
+}
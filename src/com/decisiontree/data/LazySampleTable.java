@@ -0,0 +1,92 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * LazySampleTable - Stores the samples of a PDF file, which are read when they are first needed
+ * and kept by the sample cache of the dataset until they are evicted.
+ *
+ * @since 0.9
+ */
+public class LazySampleTable extends SampleTable {
+
+	private SampleCache cache;
+	private SampleDataSet dataSet;
+	private int tupleNum;
+	private int attrNum;
+	private int noSamples;
+
+	// the samples if they are in the cache, and the cache clock when they were last used
+	volatile SampleTable samples;
+	volatile long lastUsed = -1;
+
+	public LazySampleTable(SampleCache cache, SampleDataSet dataSet, int tupleNum, int attrNum, int noSamples) {
+		this.cache = cache;
+		this.dataSet = dataSet;
+		this.tupleNum = tupleNum;
+		this.attrNum = attrNum;
+		this.noSamples = noSamples;
+	}
+
+	/**
+	 * Reading the samples from the PDF file of the tuple attribute
+	 *
+	 * @return the samples
+	 */
+	SampleTable load() {
+		return createTable(dataSet.getSamples(tupleNum, attrNum));
+	}
+
+	private SampleTable getSamples() {
+		SampleTable table = samples;
+		// used since the last miss, so the samples stay in the same order of the cache
+		if (table != null && lastUsed == cache.getClock()) {
+			cache.countHit();
+			return table;
+		}
+		return cache.get(this);
+	}
+
+	public boolean isLoaded() {
+		return samples != null;
+	}
+
+	@Override
+	public int size() {
+		return noSamples;
+	}
+
+	@Override
+	public double getValue(int index) {
+		return getSamples().getValue(index);
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return getSamples().getCDist(index);
+	}
+
+	@Override
+	public int binarySearch(double key, int fromIndex, int toIndex) {
+		return getSamples().binarySearch(key, fromIndex, toIndex);
+	}
+
+}
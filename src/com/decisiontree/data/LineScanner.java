@@ -0,0 +1,276 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import com.decisiontree.param.GlobalParam;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * LineScanner - Scans the fields of a line of a data file in place, without creating a string for each field.
+ * Values and intervals written as start->end are parsed directly from the bytes. A number of at most 15
+ * significant digits and a decimal exponent of at most 22 is exact as a double, so it is found with one
+ * multiplication or division of two exact doubles (Clinger's fast path); other numbers are parsed by
+ * Double.parseDouble, so the values are always the same as parsing the fields as strings.
+ * A scanner is reset for each line and is used by one thread.
+ *
+ * @since 0.9
+ * @see DataFileLoader
+ */
+public class LineScanner {
+
+	private static final Charset CHARSET = Charset.defaultCharset();
+	private static final byte SEPERATOR = (byte) GlobalParam.SEPERATOR.charAt(0);
+	private static final int MAX_FAST_DIGITS = 15;
+	private static final double[] POWERS_OF_TEN = new double[23];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++)
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+	}
+
+	private byte[][] clsNames;
+
+	private byte[] bytes;
+	private int start;
+	private int end;
+	private int pos;
+
+	/**
+	 * @param clsNames the class names of the dataset, null if the class is not looked up
+	 */
+	public LineScanner(List<String> clsNames) {
+		if (clsNames != null) {
+			this.clsNames = new byte[clsNames.size()][];
+			for (int i = 0; i < clsNames.size(); i++)
+				this.clsNames[i] = clsNames.get(i).getBytes(CHARSET);
+		}
+	}
+
+	/**
+	 * Scanning a line given as a string
+	 *
+	 * @param data the line
+	 */
+	public LineScanner(String data) {
+		this((List<String>) null);
+		byte[] line = data.getBytes(CHARSET);
+		reset(line, 0, line.length);
+	}
+
+	/**
+	 * Starting to scan a line
+	 *
+	 * @param bytes the bytes holding the line
+	 * @param start the start of the line
+	 * @param end   the end of the line, excluding the line break
+	 */
+	public void reset(byte[] bytes, int start, int end) {
+		this.bytes = bytes;
+		this.start = start;
+		this.end = end;
+		this.pos = start;
+	}
+
+	/**
+	 * Finding the class of the line from its last field
+	 *
+	 * @return the class number, -1 if it is not a class of the dataset
+	 */
+	public int findCls() {
+		int from = end;
+		while (from > start && bytes[from - 1] != SEPERATOR)
+			from--;
+		for (int c = 0; c < clsNames.length; c++) {
+			byte[] name = clsNames[c];
+			if (name.length != end - from)
+				continue;
+			int i = 0;
+			while (i < name.length && name[i] == bytes[from + i])
+				i++;
+			if (i == name.length)
+				return c;
+		}
+		return -1;
+	}
+
+	/**
+	 * Parsing the next field as a value
+	 *
+	 * @return the value
+	 */
+	public double nextValue() {
+		double value = parseDouble();
+		skipField();
+		return value;
+	}
+
+	/**
+	 * Parsing the start of the next field written as start->end
+	 *
+	 * @return the start of the interval
+	 */
+	public double nextIntervalStart() {
+		double value = parseDouble();
+		skipSpaces();
+		if (pos + 1 >= end || bytes[pos] != '-' || bytes[pos + 1] != '>')
+			throw new NumberFormatException("No interval in \"" + this + "\"");
+		pos += 2;
+		return value;
+	}
+
+	/**
+	 * Parsing the end of an interval started by nextIntervalStart
+	 *
+	 * @return the end of the interval
+	 */
+	public double nextIntervalEnd() {
+		return nextValue();
+	}
+
+	/**
+	 * Checking if the next field is a parametric PDF rather than a value, see ParametricAttribute.isParametric
+	 *
+	 * @return true if the next field starts with a letter
+	 */
+	public boolean isParametric() {
+		int i = pos;
+		while (i < end && bytes[i] <= ' ')
+			i++;
+		return i < end && Character.isLetter((char) (bytes[i] & 0xff));
+	}
+
+	/**
+	 * Getting the next field as a string
+	 *
+	 * @return the field
+	 */
+	public String nextField() {
+		int from = pos;
+		while (pos < end && bytes[pos] != SEPERATOR)
+			pos++;
+		String field = new String(bytes, from, pos - from, CHARSET);
+		if (pos < end)
+			pos++;
+		return field;
+	}
+
+	private void skipField() {
+		while (pos < end && bytes[pos] != SEPERATOR)
+			pos++;
+		if (pos < end)
+			pos++;
+	}
+
+	private void skipSpaces() {
+		while (pos < end && bytes[pos] <= ' ')
+			pos++;
+	}
+
+	/**
+	 * Parsing a number at the current position
+	 *
+	 * @return the number
+	 */
+	private double parseDouble() {
+		skipSpaces();
+		int from = pos;
+		boolean negative = false;
+		if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+'))
+			negative = bytes[pos++] == '-';
+
+		long mantissa = 0;
+		int noDigits = 0;
+		int exponent = 0;
+		boolean hasDigits = false;
+		for (; pos < end && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+			hasDigits = true;
+			if (mantissa == 0 && bytes[pos] == '0')
+				continue;
+			if (noDigits < 19)
+				mantissa = mantissa * 10 + (bytes[pos] - '0');
+			else exponent++;
+			noDigits++;
+		}
+		if (pos < end && bytes[pos] == '.') {
+			pos++;
+			for (; pos < end && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+				hasDigits = true;
+				if (mantissa == 0 && bytes[pos] == '0') {
+					exponent--;
+					continue;
+				}
+				if (noDigits < 19) {
+					mantissa = mantissa * 10 + (bytes[pos] - '0');
+					exponent--;
+				}
+				noDigits++;
+			}
+		}
+		if (hasDigits && pos < end && (bytes[pos] == 'e' || bytes[pos] == 'E')) {
+			int mark = pos++;
+			boolean negativeExp = false;
+			if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+'))
+				negativeExp = bytes[pos++] == '-';
+			int exp = 0;
+			boolean hasExp = false;
+			for (; pos < end && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+				hasExp = true;
+				if (exp < 100000)
+					exp = exp * 10 + (bytes[pos] - '0');
+			}
+			if (hasExp)
+				exponent += negativeExp ? -exp : exp;
+			else pos = mark;
+		}
+
+		if (hasDigits && noDigits <= MAX_FAST_DIGITS && exponent >= -22 && exponent <= 22 && isNumberEnd()) {
+			double value = mantissa;
+			value = exponent >= 0 ? value * POWERS_OF_TEN[exponent] : value / POWERS_OF_TEN[-exponent];
+			return negative ? -value : value;
+		}
+		return parseSlow(from);
+	}
+
+	// checking if the number ends at the current position, at a separator, a space or an arrow
+	private boolean isNumberEnd() {
+		if (pos == end || bytes[pos] == SEPERATOR || bytes[pos] <= ' ')
+			return true;
+		return bytes[pos] == '-' && pos + 1 < end && bytes[pos + 1] == '>';
+	}
+
+	// parsing the number from the given position with Double.parseDouble, which also reports the format errors
+	private double parseSlow(int from) {
+		int to = from;
+		while (to < end && bytes[to] != SEPERATOR && !(bytes[to] == '-' && to + 1 < end && bytes[to + 1] == '>' && to > from))
+			to++;
+		pos = to;
+		return Double.parseDouble(new String(bytes, from, to - from, CHARSET));
+	}
+
+	@Override
+	public String toString() {
+		return new String(bytes, start, end - start, CHARSET);
+	}
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+/**
+ * LoadProgressLogger - Logs the progress of loading a data file.
+ *
+ * @since 0.9
+ */
+public class LoadProgressLogger implements LoadProgressListener {
+
+	private static final Logger log = Logger.getLogger(LoadProgressLogger.class);
+
+	@Override
+	public void progress(String fileName, long bytesLoaded, long totalBytes, int noTuples) {
+		int percent = totalBytes == 0 ? 100 : (int) (bytesLoaded * 100 / totalBytes);
+		log.info("Loading " + fileName + ": " + percent + "% (" + noTuples + " tuples)");
+	}
+
+}
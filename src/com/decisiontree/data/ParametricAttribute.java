@@ -0,0 +1,116 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * ParametricAttribute (Abstract class) - Stores a sample-distributed attribute whose PDF is given by parameters.
+ * The PDF is stored as a quantile discretization: sample k is at the quantile (k + 0.5) / noQuantiles and
+ * carries a mass of 1 / noQuantiles. The fractions and cumulative distributions are those of the samples,
+ * as for any SampleAttribute, so that splitting and classification use the same measure.
+ * The closed form of the distribution is given by findCDist.
+ *
+ * @since 0.9
+ */
+public abstract class ParametricAttribute extends SampleAttribute {
+
+	public static final String UNIFORM = "U";
+	public static final String GAUSSIAN = "G";
+	public static final String BERNOULLI = "B";
+	public static final String PARAM_SEPERATOR = ":";
+
+	public ParametricAttribute(double start, double end, SampleTable quantiles) {
+		super(start, end, quantiles, 0, quantiles.size());
+	}
+
+	public ParametricAttribute(ParametricAttribute p, double curStart, double curEnd) {
+		super(p, curStart, curEnd);
+	}
+
+	/**
+	 * Parsing a parametric PDF written as U:start:end, G:mean:sd:start:end or B:p
+	 *
+	 * @param spec the PDF specification
+	 * @return the attribute, discretized into GlobalParam.getNoQuantiles() quantiles
+	 */
+	public static ParametricAttribute parse(String spec) {
+		return parse(spec, null);
+	}
+
+	/**
+	 * Parsing a parametric PDF, sharing the standardized quantile tables through the pool of the dataset
+	 *
+	 * @param spec the PDF specification
+	 * @param pool the pool of the dataset, null for no sharing
+	 * @return the attribute, discretized into GlobalParam.getNoQuantiles() quantiles
+	 */
+	public static ParametricAttribute parse(String spec, SampleTablePool pool) {
+		String[] params = spec.trim().split(PARAM_SEPERATOR);
+		int noQuantiles = GlobalParam.getNoQuantiles();
+		if (params[0].equals(UNIFORM) && params.length == 3)
+			return new UniformAttribute(Double.parseDouble(params[1]), Double.parseDouble(params[2]), noQuantiles, pool);
+		if (params[0].equals(GAUSSIAN) && params.length == 5)
+			return new GaussianAttribute(Double.parseDouble(params[1]), Double.parseDouble(params[2]),
+			  Double.parseDouble(params[3]), Double.parseDouble(params[4]), noQuantiles, pool);
+		if (params[0].equals(BERNOULLI) && params.length == 2)
+			return new BernoulliAttribute(Double.parseDouble(params[1]), pool);
+		throw new IllegalArgumentException("Unknown parametric PDF: " + spec);
+	}
+
+	/**
+	 * Checking if a field of a data file is a parametric PDF rather than a value
+	 *
+	 * @param field the field
+	 * @return true if the field starts with a letter
+	 */
+	public static boolean isParametric(String field) {
+		String trimmed = field.trim();
+		return trimmed.length() > 0 && Character.isLetter(trimmed.charAt(0));
+	}
+
+	/**
+	 * Creating the table of the quantiles of a standardized PDF, each carrying the same mass
+	 *
+	 * @param values the quantile values
+	 * @param pool   the pool sharing identical tables within the dataset, null for no sharing
+	 * @return the table
+	 */
+	protected static SampleTable createQuantileTable(double[] values, SampleTablePool pool) {
+		double[] cdist = new double[values.length];
+		for (int k = 0; k < values.length; k++)
+			cdist[k] = (k + 1) / (double) values.length;
+		cdist[values.length - 1] = 1.0;
+		return pool == null ? new ArraySampleTable(values, cdist) : pool.intern(values, cdist);
+	}
+
+	/**
+	 * Finding the cumulative distribution of the whole PDF at a value in closed form, including the mass at the value
+	 *
+	 * @param value the value
+	 * @return the cumulative distribution, 0 at the absolute start and 1 at the absolute end
+	 */
+	public abstract double findCDist(double value);
+
+	@Override
+	public abstract ParametricAttribute cut(double curStart, double curEnd);
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * PendingSampleTuple - Stores the intervals of a tuple whose PDFs are still to be read from the PDF files.
+ *
+ * @since 0.9
+ * @see SampleFetcher
+ */
+public class PendingSampleTuple extends RangeTuple {
+
+	private int num;
+
+	public PendingSampleTuple(LineScanner line, int noAttr, int cls, int num) {
+		super(line, noAttr, cls, 1.0);
+		this.num = num;
+	}
+
+	/**
+	 * Getting the tuple number, which names the PDF files of the tuple
+	 *
+	 * @return the tuple number
+	 */
+	public int getNum() {
+		return num;
+	}
+
+}
@@ -29,11 +29,27 @@ package com.decisiontree.data;
 public class PointAttrClass implements AttrClass, Comparable<AttrClass> {
 
 	private Attribute attribute;
+	private double value;
 	private int cls;
 	private double weight;
 
 	public PointAttrClass(Attribute attribute, int cls, double weight) {
 		this.attribute = attribute;
+		if (attribute instanceof PointAttribute)
+			this.value = ((PointAttribute) attribute).getValue();
+		this.cls = cls;
+		this.weight = weight;
+	}
+
+	/**
+	 * Constructor with a point value, creating the attribute only when it is asked for
+	 *
+	 * @param value  the point value
+	 * @param cls    the class
+	 * @param weight the weight
+	 */
+	public PointAttrClass(double value, int cls, double weight) {
+		this.value = value;
 		this.cls = cls;
 		this.weight = weight;
 	}
@@ -43,6 +59,8 @@ public class PointAttrClass implements AttrClass, Comparable<AttrClass> {
 	}
 
 	public Attribute getAttribute() {
+		if (attribute == null)
+			attribute = new PointAttribute(value);
 		return attribute;
 	}
 
@@ -55,7 +73,7 @@ public class PointAttrClass implements AttrClass, Comparable<AttrClass> {
 	}
 
 	public double getValue() {
-		return ((PointAttribute) attribute).getValue();
+		return value;
 	}
 
 	public int compareTo(AttrClass attrClass) {
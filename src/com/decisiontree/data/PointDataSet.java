@@ -43,6 +43,7 @@ public class PointDataSet implements DataSet {
 	private List<Boolean> continuousList;
 	private int noCls;
 	private int noAttr;
+	private ColumnStatistics[] statistics;
 
 
 	/**
@@ -205,6 +206,8 @@ public class PointDataSet implements DataSet {
 
 	public void setData(List<Tuple> data) {
 		this.data = data;
+		// the statistics of the old tuples are collected again when they are next needed
+		statistics = null;
 	}
 
 	public double findEntropy() {
@@ -234,33 +237,24 @@ public class PointDataSet implements DataSet {
 
 
 	public double getMax(int attrNum) {
-
 		if (!isContinuous(attrNum)) return -1;
-		double max = Double.NEGATIVE_INFINITY;
-		Iterator<Tuple> iter = data.iterator();
-		while (iter.hasNext()) {
-			PointAttribute b = (PointAttribute) iter.next().getAttribute(attrNum);
-
-			if (b.getValue() > max)
-				max = b.getValue();
-		}
-
-		return max;
+		return getStatistics(attrNum).getMax();
 	}
 
 	public double getMin(int attrNum) {
-
 		if (!isContinuous(attrNum)) return -1;
-		double min = Double.POSITIVE_INFINITY;
-		Iterator<Tuple> iter = data.iterator();
-		while (iter.hasNext()) {
-			PointAttribute b = (PointAttribute) iter.next().getAttribute(attrNum);
+		return getStatistics(attrNum).getMin();
+	}
 
-			if (b.getValue() < min)
-				min = b.getValue();
-		}
+	// The statistics are collected from the tuples if they were not collected when the dataset was loaded
+	public ColumnStatistics getStatistics(int attrNum) {
+		if (statistics == null)
+			statistics = ColumnStatistics.collect(getData(), this);
+		return statistics[attrNum];
+	}
 
-		return min;
+	public void setStatistics(ColumnStatistics[] statistics) {
+		this.statistics = statistics;
 	}
 
 	public String getName() {
@@ -20,13 +20,9 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.param.GlobalParam;
 import org.apache.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -49,7 +45,6 @@ public class PointDataSetInit extends DataSetInit {
 		dataSet = new PointDataSet(input, findNoCls(input), findNoAttr(input));
 		dataSet.setClsNameList(findClsName(input));
 		preProcess(input);
-		dataSet.setNoTuples(countNoTuples(input));
 		storeData(input);
 
 	}
@@ -64,7 +59,6 @@ public class PointDataSetInit extends DataSetInit {
 		dataSet = new PointDataSet(input, findNoCls(name), findNoAttr(name));
 		dataSet.setClsNameList(findClsName(name));
 		preProcess(name);
-		dataSet.setNoTuples(countNoTuples(input));
 		storeData(input);
 
 	}
@@ -85,32 +79,21 @@ public class PointDataSetInit extends DataSetInit {
 	@Override
 	public void storeData(String input) {
 
-		BufferedReader reader = null;
 		try {
-			reader = new BufferedReader(new FileReader(input + POINT_FILE));
-
-			int noTuples = dataSet.getNoTuples();
-
-			String data = "";
-			List<Tuple> t = new ArrayList<Tuple>(noTuples);
-			for (int i = 0; (data = reader.readLine()) != null && i < noTuples; i++) {
-				int index = data.lastIndexOf(GlobalParam.SEPERATOR);
-				int cls = dataSet.getClsNum(data.substring(index + 1));
-				dataSet.setClsDistribution(cls);
-				t.add(new PointTuple(data, dataSet.getNoAttr(), cls));
-			}
+			final int noAttr = dataSet.getNoAttr();
+			List<Tuple> t = loadData(input + POINT_FILE, new TupleParser() {
+				@Override
+				public Tuple parse(LineScanner line, int num) {
+					return new PointTuple(line, noAttr, line.findCls());
+				}
+			}, true);
 
 			dataSet.setData(t);
+			setDistribution(t);
 		} catch (IOException e) {
 			e.printStackTrace();
 			log.error("No dataset file or file cannot access. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				reader.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
 		}
 
 	}
@@ -20,8 +20,6 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.param.GlobalParam;
-
 /**
  * PointTuple - Stores a fully point-valued tuple.
  *
@@ -71,12 +69,22 @@ public class PointTuple extends Tuple {
 	 * @param weight the weight of the tuple
 	 */
 	public PointTuple(String data, int noAttr, int cls, double weight) {
+		this(new LineScanner(data), noAttr, cls);
+	}
+
+	/**
+	 * Constructor by a scanned line of the input data file
+	 *
+	 * @param line   the scanner of the line
+	 * @param noAttr the number of attributes
+	 * @param cls    the class of the tuple
+	 */
+	public PointTuple(LineScanner line, int noAttr, int cls) {
 		super(noAttr, cls);
 
-		String[] dataArray = data.split(GlobalParam.SEPERATOR);
 		Attribute[] attrSet = new Attribute[noAttr];
 		for (int i = 0; i < noAttr; i++) {
-			attrSet[i] = new PointAttribute(Double.parseDouble(dataArray[i]));
+			attrSet[i] = new PointAttribute(line.nextValue());
 		}
 		setAttributeSet(attrSet);
 
@@ -0,0 +1,157 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * QuantileSketch - Estimates the quantiles of a stream of values in a bounded memory.
+ * The values are collected in buffers of a fixed size. Two full buffers of the same level are merged
+ * and compacted by keeping every other value, which then weighs twice as much, at the next level.
+ * The rank error is about log2(n / size) / size of the number of values n.
+ *
+ * @since 0.9
+ */
+public class QuantileSketch {
+
+	public static final int DEFAULT_SIZE = 256;
+
+	private int size;
+	private double[] buffer;
+	private int noBuffered;
+	private List<double[]> levels;
+	private boolean oddOffset;
+	private long count;
+
+	public QuantileSketch() {
+		this(DEFAULT_SIZE);
+	}
+
+	public QuantileSketch(int size) {
+		this.size = Math.max(2, size);
+		buffer = new double[this.size];
+		levels = new ArrayList<double[]>();
+	}
+
+	/**
+	 * Adding a value to the sketch
+	 *
+	 * @param value the value
+	 */
+	public void add(double value) {
+		count++;
+		buffer[noBuffered++] = value;
+		if (noBuffered < size)
+			return;
+
+		double[] full = buffer.clone();
+		Arrays.sort(full);
+		noBuffered = 0;
+		for (int level = 0; ; level++) {
+			if (level == levels.size())
+				levels.add(null);
+			if (levels.get(level) == null) {
+				levels.set(level, full);
+				return;
+			}
+			full = compact(levels.get(level), full);
+			levels.set(level, null);
+		}
+	}
+
+	// Merging two sorted buffers and keeping every other value, from alternate offsets to balance the error
+	private double[] compact(double[] a, double[] b) {
+		double[] compacted = new double[size];
+		int i = 0, j = 0;
+		int pos = oddOffset ? 1 : 0;
+		oddOffset = !oddOffset;
+		for (int k = 0; k < 2 * size; k++) {
+			double value = j >= b.length || (i < a.length && a[i] <= b[j]) ? a[i++] : b[j++];
+			if (k % 2 == pos)
+				compacted[k / 2] = value;
+		}
+		return compacted;
+	}
+
+	/**
+	 * Finding the estimated quantiles at evenly spaced ranks, from the minimum to the maximum of the sketch
+	 *
+	 * @param noQuantiles the number of intervals between the ranks
+	 * @return the noQuantiles + 1 quantiles, empty if no value is added
+	 */
+	public double[] getQuantiles(int noQuantiles) {
+		int noValues = noBuffered;
+		for (double[] level : levels)
+			if (level != null)
+				noValues += level.length;
+		if (noValues == 0)
+			return new double[0];
+
+		final double[] values = new double[noValues];
+		long[] weights = new long[noValues];
+		int pos = 0;
+		for (int i = 0; i < noBuffered; i++) {
+			values[pos] = buffer[i];
+			weights[pos++] = 1;
+		}
+		for (int level = 0; level < levels.size(); level++) {
+			if (levels.get(level) == null)
+				continue;
+			for (double value : levels.get(level)) {
+				values[pos] = value;
+				weights[pos++] = 1L << level;
+			}
+		}
+
+		Integer[] order = new Integer[noValues];
+		for (int i = 0; i < noValues; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(values[a], values[b]);
+			}
+		});
+
+		long total = 0;
+		for (long weight : weights)
+			total += weight;
+		double[] quantiles = new double[noQuantiles + 1];
+		long accum = 0;
+		int k = 0;
+		for (int i = 0; i <= noQuantiles; i++) {
+			double rank = (double) i / noQuantiles * total;
+			while (k < noValues - 1 && accum + weights[order[k]] < rank)
+				accum += weights[order[k++]];
+			quantiles[i] = values[order[k]];
+		}
+		quantiles[0] = values[order[0]];
+		return quantiles;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+}
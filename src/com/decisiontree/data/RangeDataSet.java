@@ -20,7 +20,6 @@
  */
 package com.decisiontree.data;
 
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -47,35 +46,14 @@ public class RangeDataSet extends PointDataSet {
 
 	@Override
 	public double getMax(int pos) {
-
 		if (!isContinuous(pos)) return -1;
-
-		double max = Double.NEGATIVE_INFINITY;
-		Iterator<Tuple> iter = data.iterator();
-		while (iter.hasNext()) {
-			RangeAttribute b = (RangeAttribute) iter.next().getAttribute(pos);
-
-			if (b.getEnd() > max)
-				max = b.getEnd();
-		}
-
-		return max;
+		return getStatistics(pos).getAbsMax();
 	}
 
 	@Override
 	public double getMin(int pos) {
-
 		if (!isContinuous(pos)) return -1;
-		double min = Double.POSITIVE_INFINITY;
-		Iterator<Tuple> iter = data.iterator();
-		while (iter.hasNext()) {
-			RangeAttribute b = (RangeAttribute) iter.next().getAttribute(pos);
-
-			if (b.getStart() < min)
-				min = b.getStart();
-		}
-
-		return min;
+		return getStatistics(pos).getAbsMin();
 	}
 
 }
\ No newline at end of file
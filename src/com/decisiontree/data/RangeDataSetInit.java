@@ -20,13 +20,9 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.param.GlobalParam;
 import org.apache.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -44,7 +40,6 @@ public class RangeDataSetInit extends DataSetInit {
 		dataSet = new RangeDataSet(input, findNoCls(input), findNoAttr(input));
 		dataSet.setClsNameList(findClsName(input));
 		preProcess(input);
-		dataSet.setNoTuples(countNoTuples(input));
 		storeData(input);
 
 	}
@@ -59,7 +54,6 @@ public class RangeDataSetInit extends DataSetInit {
 		dataSet = new RangeDataSet(input, findNoCls(name), findNoAttr(name));
 		dataSet.setClsNameList(findClsName(name));
 		preProcess(name);
-		dataSet.setNoTuples(countNoTuples(input));
 		storeData(input);
 
 	}
@@ -82,35 +76,22 @@ public class RangeDataSetInit extends DataSetInit {
 
 	@Override
 	public void storeData(String input) {
-		RangeDataSet db = getDataSet();
 
-		BufferedReader reader = null;
 		try {
-
-			int noTuples = db.getNoTuples();
-
-			reader = new BufferedReader(new FileReader(input + RANGE_FILE));
-
-			String data = "";
-			List<Tuple> t = new ArrayList<Tuple>(noTuples);
-			for (int i = 0; (data = reader.readLine()) != null && i < noTuples; i++) {
-				int index = data.lastIndexOf(GlobalParam.SEPERATOR);
-				int cls = db.getClsNum(data.substring(index + 1));
-				db.setClsDistribution(cls);
-				t.add(new RangeTuple(data, db.getNoAttr(), cls));
-			}
-
-			db.setData(t);
+			final int noAttr = dataSet.getNoAttr();
+			List<Tuple> t = loadData(input + RANGE_FILE, new TupleParser() {
+				@Override
+				public Tuple parse(LineScanner line, int num) {
+					return new RangeTuple(line, noAttr, line.findCls(), 1.0);
+				}
+			}, true);
+
+			dataSet.setData(t);
+			setDistribution(t);
 		} catch (IOException e) {
 			e.printStackTrace();
 			log.error("No dataset file or file cannot access. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				reader.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
 		}
 
 	}
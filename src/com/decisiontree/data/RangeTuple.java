@@ -20,8 +20,6 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.param.GlobalParam;
-
 /**
  * RangeTuple - Stores a fully interval-valued tuple.
  *
@@ -48,15 +46,16 @@ public class RangeTuple extends PointTuple {
 	}
 
 	public RangeTuple(String data, int noAttr, int cls, double weight) {
+		this(new LineScanner(data), noAttr, cls, weight);
+	}
+
+	public RangeTuple(LineScanner line, int noAttr, int cls, double weight) {
 		super(noAttr, cls, weight);
 
-		String[] dataArray = data.split(GlobalParam.SEPERATOR);
 		Attribute[] attrSet = new Attribute[noAttr];
 		for (int i = 0; i < noAttr; i++) {
-			int index = dataArray[i].indexOf("->");
-
-			double start = Double.parseDouble(dataArray[i].substring(0, index));
-			double end = Double.parseDouble(dataArray[i].substring(index + 2));
+			double start = line.nextIntervalStart();
+			double end = line.nextIntervalEnd();
 
 			attrSet[i] = new RangeAttribute(start, end);
 
@@ -0,0 +1,196 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * SampleArena - Stores the samples of all PDFs of a dataset off the heap, in one memory-mapped file.
+ * The PDFs are appended while the dataset is loaded and the file is mapped when the loading finishes,
+ * so the samples can only be read after finish() is called.
+ * A complete arena of the same source files and number of quantiles is mapped again instead of being
+ * written, so concurrent runs on the same dataset share the samples through the page cache.
+ * The sources are checked by the key of SampleDataSnapshot.findKey, which covers the PDF files as well as
+ * the data file when the PDFs are read from files.
+ * The arena is written to a temporary file first and renamed when it is complete.
+ *
+ * @since 0.9
+ */
+public class SampleArena extends SampleTable {
+
+	private static final Logger log = Logger.getLogger(SampleArena.class);
+
+	private static final long MAGIC = 0x5544544152454e32L; // UDTAREN2
+	private static final int HEADER_SIZE = 24;
+	private static final int SAMPLE_SIZE = 16;
+	// 2^26 samples of 16 bytes in each mapped segment of 1 GB
+	private static final int SEGMENT_SHIFT = 26;
+	private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+	private File file;
+	private File tempFile;
+	private long sourceKey;
+
+	private DataOutputStream writer;
+	private ByteBuffer[] segments;
+	private int size = 0;
+	private boolean reused = false;
+
+	/**
+	 * Opening the arena of the source files, mapping it if a complete arena of the sources exists
+	 *
+	 * @param file        the arena file
+	 * @param sources     the source files or directories of the PDFs, which may not exist
+	 * @param noQuantiles the number of quantiles of the parametric PDFs
+	 * @throws IOException if the arena cannot be opened or created, or a source file cannot be read
+	 */
+	public SampleArena(File file, File[] sources, int noQuantiles) throws IOException {
+		this.file = file;
+		this.sourceKey = SampleDataSnapshot.findKey(sources, "quantiles=" + noQuantiles);
+
+		if (file.exists() && isValid()) {
+			reused = true;
+			log.info("Reusing the sample arena " + file);
+			return;
+		}
+		tempFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+		writer = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 1 << 16));
+		writer.write(new byte[HEADER_SIZE]);
+	}
+
+	private boolean isValid() throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			if (raf.length() < HEADER_SIZE || raf.readLong() != MAGIC || raf.readLong() != sourceKey)
+				return false;
+			long noSamples = raf.readLong();
+			return raf.length() == HEADER_SIZE + noSamples * SAMPLE_SIZE;
+		}
+	}
+
+	/**
+	 * Appending the samples of a PDF. A reused arena already holds the samples, which are then skipped.
+	 *
+	 * @param values the sample values in ascending order
+	 * @param cdist  the cumulative distributions of the samples
+	 * @return the index of the first sample in the arena
+	 */
+	public synchronized int append(double[] values, double[] cdist) {
+		if (segments != null)
+			throw new IllegalStateException("The sample arena " + file + " is finished");
+		int offset = size;
+		if ((long) size + values.length > Integer.MAX_VALUE)
+			throw new IllegalStateException("Too many samples for the sample arena " + file);
+		size += values.length;
+		if (reused)
+			return offset;
+		try {
+			for (int i = 0; i < values.length; i++) {
+				writer.writeDouble(values[i]);
+				writer.writeDouble(cdist[i]);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot write the sample arena " + file, e);
+		}
+		return offset;
+	}
+
+	/**
+	 * Finishing the appending and mapping the arena
+	 *
+	 * @throws IOException if the arena cannot be written or mapped
+	 */
+	public synchronized void finish() throws IOException {
+		if (segments != null)
+			return;
+		if (!reused) {
+			writer.close();
+			try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+				raf.writeLong(MAGIC);
+				raf.writeLong(sourceKey);
+				raf.writeLong(size);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} else if (!isValid() || (file.length() - HEADER_SIZE) / SAMPLE_SIZE != size) {
+			throw new IOException("The sample arena " + file + " does not match the dataset");
+		}
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			int noSegments = (size + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+			segments = new ByteBuffer[noSegments];
+			for (int i = 0; i < noSegments; i++) {
+				long start = HEADER_SIZE + ((long) i << SEGMENT_SHIFT) * SAMPLE_SIZE;
+				long length = Math.min(size - ((long) i << SEGMENT_SHIFT), 1 << SEGMENT_SHIFT) * SAMPLE_SIZE;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+			}
+		}
+		log.info("Mapped " + size + " samples (" + ((long) size * SAMPLE_SIZE >> 20) + " MB) from the sample arena " + file);
+	}
+
+	/**
+	 * Discarding an unfinished arena
+	 */
+	public synchronized void abort() {
+		if (writer == null || segments != null)
+			return;
+		try {
+			writer.close();
+		} catch (IOException e) {
+			log.warn(e.getMessage(), e);
+		}
+		if (!tempFile.delete())
+			log.warn("Cannot delete " + tempFile);
+	}
+
+	public boolean isReused() {
+		return reused;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public double getValue(int index) {
+		return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * SAMPLE_SIZE);
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * SAMPLE_SIZE + 8);
+	}
+
+}
@@ -22,8 +22,6 @@ package com.decisiontree.data;
 
 import org.apache.log4j.Logger;
 
-import java.util.Arrays;
-
 /**
  * SampleAttribute -Stores a range data attribute with distribution represented by samples.
  *
@@ -34,7 +32,10 @@ public class SampleAttribute extends RangeAttribute {
 
 	public static Logger log = Logger.getLogger(SampleAttribute.class);
 
-	private Sample[] samples;
+	// the samples are the noSamples entries of the table starting at offset
+	private SampleTable table;
+
+	private int offset;
 
 	// sum of the areas of the PDF of the current attribute, given it was once a full PDF
 	private double curFrac = 1.0;
@@ -52,9 +53,14 @@ public class SampleAttribute extends RangeAttribute {
 	}
 
 	public SampleAttribute(double start, double end, Sample[] samples) {
+		this(start, end, SampleTable.createTable(samples), 0, samples.length);
+	}
+
+	public SampleAttribute(double start, double end, SampleTable table, int offset, int noSamples) {
 		super(start, end);
-		this.samples = samples;
-		noSamples = samples.length;
+		this.table = table;
+		this.offset = offset;
+		this.noSamples = noSamples;
 		setStartPos(-1);
 		setEndPos(noSamples - 1);
 	}
@@ -67,51 +73,66 @@ public class SampleAttribute extends RangeAttribute {
 		setCurFrac();
 	}
 
+	public SampleAttribute(double start, double end, double curStart,
+						   double curEnd, SampleTable table, int offset, int noSamples) {
+		this(start, end, table, offset, noSamples);
+		setStart(curStart);
+		setEnd(curEnd);
+		setCurFrac();
+	}
+
 	public SampleAttribute(SampleAttribute p, double curStart, double curEnd) {
-		this(p.getAbsStart(), p.getAbsEnd(), curStart, curEnd, p.getSamples());
+		this(p.getAbsStart(), p.getAbsEnd(), curStart, curEnd, p.getTable(), p.getOffset(), p.getNoSample());
 	}
 
 	public static SampleAttribute cutCopy(SampleAttribute p, double curStart,
 										  double curEnd) {
-		SampleAttribute newP = new SampleAttribute(p, curStart, curEnd);
-		return newP;
+		return p.cut(curStart, curEnd);
+	}
+
+	/**
+	 * Copying the attribute truncated to a sub-interval
+	 *
+	 * @param curStart the start of the sub-interval
+	 * @param curEnd   the end of the sub-interval
+	 * @return the truncated copy
+	 */
+	public SampleAttribute cut(double curStart, double curEnd) {
+		return new SampleAttribute(this, curStart, curEnd);
 	}
 
 	@Override
 	public double getFrac(double left, double right) {
 
-		Sample temp = new Sample(0, 0);
 		if (left == getStart() && right == getEnd())
 			return 1.0;
 
-		temp.setValue(left);
-		int pos1 = Arrays.binarySearch(samples, temp);
+		int pos1 = search(0, left);
 
 		double startFrac = 0.0, endFrac = 1.0;
 		if (pos1 < 0) {
 			pos1 = (pos1 + 1) * -1;
 			if (pos1 != 0)
-				startFrac = samples[pos1 - 1].getCDist();
+				startFrac = getSampleCDist(pos1 - 1);
 		} else
-			startFrac = samples[pos1].getCDist();
+			startFrac = getSampleCDist(pos1);
 
-		temp.setValue(right);
-		int pos2 = Arrays.binarySearch(samples, pos1, noSamples, temp);
+		int pos2 = search(pos1, right);
 
 		if (pos2 < 0) {
 			pos2 = (pos2 + 1) * -1;
 			if (pos2 != 0)
-				endFrac = samples[pos2 - 1].getCDist();
+				endFrac = getSampleCDist(pos2 - 1);
 			else
 				endFrac = 0.0;
 		} else
-			endFrac = samples[pos2].getCDist();
+			endFrac = getSampleCDist(pos2);
 
 		if (startPos >= 0)
-			if (startFrac < samples[startPos].getCDist())
-				startFrac = samples[startPos].getCDist();
-		if (endFrac > samples[endPos].getCDist())
-			endFrac = samples[endPos].getCDist();
+			if (startFrac < getSampleCDist(startPos))
+				startFrac = getSampleCDist(startPos);
+		if (endFrac > getSampleCDist(endPos))
+			endFrac = getSampleCDist(endPos);
 		double frac = (endFrac - startFrac) / getCurFrac();
 		return frac;
 	}
@@ -142,45 +163,12 @@ public class SampleAttribute extends RangeAttribute {
 	}
 
 	public int binarySearch(double key) {
-
-		int low = 0;
-		int high = noSamples - 1;
-
-		int mid = 0;
-		while (high >= low) {
-			mid = (low + high) / 2;
-			double value = samples[mid].getValue();
-			if (value < key)
-				low = mid + 1;
-			else if (value == key)
-				return mid;
-			else
-				high = mid - 1;
-		}
-
-		return low;
-
+		return binarySearch(key, 0);
 	}
 
 	public int binarySearch(double key, int pos1) {
-
-		int low = pos1;
-		int high = noSamples - 1;
-
-		int mid = 0;
-		while (high >= low) {
-			mid = (low + high) / 2;
-			double value = samples[mid].getValue();
-			if (value < key)
-				low = mid + 1;
-			else if (value == key)
-				return mid;
-			else
-				high = mid - 1;
-		}
-
-		return low;
-
+		int pos = search(pos1, key);
+		return pos < 0 ? -(pos + 1) : pos;
 	}
 
 	public void setCurFrac() {
@@ -192,20 +180,21 @@ public class SampleAttribute extends RangeAttribute {
 		}
 
 		int pos1 = -1;
-		if (start - samples[0].getValue() > 1E-15) {
+		if (start - getSampleValue(0) > 1E-15) {
 			pos1 = binarySearch(start);
-			if (samples[pos1].getValue() > start)
+			// the start can be beyond the last sample when the PDF is not given by the samples only
+			if (pos1 == noSamples || getSampleValue(pos1) > start)
 				pos1--;
-		} else if (Math.abs(start - samples[0].getValue()) < 1E-15) {
+		} else if (Math.abs(start - getSampleValue(0)) < 1E-15) {
 			pos1 = 0;
 		}
 
 		int pos2 = noSamples - 1;
-		if (samples[noSamples - 1].getValue() - end > 1E-15) {
+		if (getSampleValue(noSamples - 1) - end > 1E-15) {
 			pos2 = binarySearch(end);
-			if (samples[pos2].getValue() > end)
+			if (getSampleValue(pos2) > end)
 				pos2--;
-		} else if (Math.abs(samples[0].getValue() - end) < 1E-15) {
+		} else if (Math.abs(getSampleValue(0) - end) < 1E-15) {
 			pos2 = noSamples - 1;
 		}
 
@@ -223,32 +212,42 @@ public class SampleAttribute extends RangeAttribute {
 		} else if (pos1 >= noSamples) {
 			left = 1;
 		} else
-			left = samples[pos1].getCDist();
+			left = getSampleCDist(pos1);
 
 		if (pos2 < 0) {
 			right = 0;
 		} else if (pos2 >= noSamples) {
 			right = 1;
 		} else
-			right = samples[pos2].getCDist();
+			right = getSampleCDist(pos2);
 		return right - left;
 	}
 
 	public Sample getSample(int no) {
 		if (no >= noSamples)
 			return null;
-		return samples[no];
+		return new Sample(getSampleValue(no), getSampleCDist(no));
+	}
+
+	/**
+	 * Searching a value in the samples from given position, following the contract of Arrays.binarySearch
+	 *
+	 * @param from  the first position to search
+	 * @param value the value to search
+	 * @return the position of the value if found, (-(insertion point) - 1) otherwise
+	 */
+	private int search(int from, double value) {
+		int pos = table.binarySearch(value, offset + from, offset + noSamples);
+		return pos < 0 ? pos + offset : pos - offset;
 	}
 
 	public int getEqualOrLarger(double value) {
-		Sample temp = new Sample(0, 0);
-		temp.setValue(value);
-		int pos1 = Arrays.binarySearch(samples, temp);
+		int pos1 = search(0, value);
 
 		if (pos1 < 0)
 			return -1 * (pos1 + 1);
 
-		if (samples[pos1].getValue() == value)
+		if (getSampleValue(pos1) == value)
 			pos1++;
 		return pos1;
 	}
@@ -260,9 +259,7 @@ public class SampleAttribute extends RangeAttribute {
 		if (value < getStart())
 			return startPos;
 
-		Sample temp = new Sample(0, 0);
-		temp.setValue(value);
-		int pos1 = Arrays.binarySearch(samples, temp);
+		int pos1 = search(0, value);
 
 		if (pos1 < 0)
 			return -1 * (pos1 + 1) - 1;
@@ -279,9 +276,7 @@ public class SampleAttribute extends RangeAttribute {
 
 		if (value >= getEnd())
 			return endPos;
-		Sample temp = new Sample(0, 0);
-		temp.setValue(value);
-		int pos1 = Arrays.binarySearch(samples, start, noSamples, temp);
+		int pos1 = search(start, value);
 		if (pos1 < 0)
 			return -1 * (pos1 + 1) - 1;
 
@@ -296,24 +291,29 @@ public class SampleAttribute extends RangeAttribute {
 
 	public double getFrac(int startPos, int endPos) {
 		if (startPos < 0)
-			return samples[endPos].getCDist() / getCurFrac();
-		return (samples[endPos].getCDist() - samples[startPos].getCDist())
+			return getSampleCDist(endPos) / getCurFrac();
+		return (getSampleCDist(endPos) - getSampleCDist(startPos))
 		  / getCurFrac();
 	}
 
 	public double getSampleValue(int pos) {
-		return samples[pos].getValue();
+		return table.getValue(offset + pos);
+	}
+
+	public double getSampleCDist(int pos) {
+		return table.getCDist(offset + pos);
 	}
 
 	public double getCDist(double value) {
-		Sample temp = new Sample(0, 0);
-		temp.setValue(value);
-		int pos1 = Arrays.binarySearch(samples, temp);
+		int pos1 = search(0, value);
 
 		if (pos1 < 0)
 			pos1 = (pos1 + 1) * -1 - 1;
 
-		return samples[pos1].getCDist();
+		// below the first sample, which would be read from the samples before the PDF in a shared table
+		if (pos1 < 0)
+			return 0.0;
+		return getSampleCDist(pos1);
 	}
 
 	public double getAverage() {
@@ -322,8 +322,8 @@ public class SampleAttribute extends RangeAttribute {
 		double mean = 0.0;
 		double prevCDist = 0.0, cDist = 0.0;
 		for (int i = 0; i < noSamples; i++) {
-			cDist = samples[i].getCDist();
-			mean += samples[i].getValue() * (cDist - prevCDist);
+			cDist = getSampleCDist(i);
+			mean += getSampleValue(i) * (cDist - prevCDist);
 			prevCDist = cDist;
 		}
 		return mean;
@@ -344,13 +344,24 @@ public class SampleAttribute extends RangeAttribute {
 	}
 
 	public Sample[] getSamples() {
-		if (samples == null) {
+		if (table == null) {
 			log.error("No Samples initialized");
 			return null;
 		}
+		Sample[] samples = new Sample[noSamples];
+		for (int i = 0; i < noSamples; i++)
+			samples[i] = getSample(i);
 		return samples;
 	}
 
+	public SampleTable getTable() {
+		return table;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
 	@Override
 	public int compareTo(Attribute attr) {
 		double diff = getStart() - ((SampleAttribute) attr).getStart();
@@ -0,0 +1,154 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SampleCache - Keeps the samples of the most recently used PDF files within a number of bytes,
+ * evicting the least recently used ones.
+ * The cache has a clock advanced by every miss. A table used again within the same clock is not
+ * moved in the order of the cache, as no table has been evicted or added since its last move,
+ * so a hit costs a lookup only once between two misses. The PDF file of a miss is read outside the lock of the
+ * cache, so that the other lookups do not wait on it.
+ *
+ * @since 0.9
+ */
+public class SampleCache {
+
+	private static final Logger log = Logger.getLogger(SampleCache.class);
+
+	// estimated heap size of the samples of a table, and the overhead of a table with its cache entry
+	private static final int SAMPLE_SIZE = 16;
+	private static final int TABLE_OVERHEAD = 96;
+
+	private LinkedHashMap<LazySampleTable, LazySampleTable> tables = new LinkedHashMap<LazySampleTable, LazySampleTable>(16, 0.75f, true);
+
+	private long maxBytes;
+	private long bytes = 0;
+	private volatile long clock = 0;
+
+	private AtomicLong noHits = new AtomicLong();
+	private long noMisses = 0;
+	private long noEvictions = 0;
+
+	/**
+	 * @param maxBytes the maximum number of bytes of the samples kept
+	 */
+	public SampleCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Getting the samples of a table, reading them if they are not in the cache
+	 *
+	 * @param table the table
+	 * @return the samples
+	 */
+	SampleTable get(LazySampleTable table) {
+		synchronized (this) {
+			if (table.samples != null)
+				return hit(table);
+		}
+
+		SampleTable samples = table.load();
+		synchronized (this) {
+			noMisses++;
+			// read by another lookup meanwhile
+			if (table.samples != null)
+				return hit(table);
+
+			bytes += findBytes(samples);
+			table.samples = samples;
+			tables.put(table, table);
+			// the samples just read are kept even if they are larger than the cache
+			Iterator<LazySampleTable> iter = tables.keySet().iterator();
+			while (bytes > maxBytes && tables.size() > 1) {
+				LazySampleTable eldest = iter.next();
+				iter.remove();
+				bytes -= findBytes(eldest.samples);
+				eldest.samples = null;
+				noEvictions++;
+			}
+			clock++;
+			table.lastUsed = clock;
+			return samples;
+		}
+	}
+
+	private SampleTable hit(LazySampleTable table) {
+		noHits.incrementAndGet();
+		tables.get(table);
+		table.lastUsed = clock;
+		return table.samples;
+	}
+
+	/**
+	 * Counting a hit on a table used since the last miss, which is not moved in the order of the cache
+	 */
+	void countHit() {
+		noHits.incrementAndGet();
+	}
+
+	private long findBytes(SampleTable samples) {
+		int sampleSize = samples instanceof CompactSampleTable ? CompactSampleTable.SAMPLE_SIZE : SAMPLE_SIZE;
+		return TABLE_OVERHEAD + (long) samples.size() * sampleSize;
+	}
+
+	long getClock() {
+		return clock;
+	}
+
+	public long getNoHits() {
+		return noHits.get();
+	}
+
+	public synchronized long getNoMisses() {
+		return noMisses;
+	}
+
+	public synchronized long getNoEvictions() {
+		return noEvictions;
+	}
+
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Logging the hits, misses and evictions of the cache
+	 */
+	public void printStatistics() {
+		long hits = getNoHits(), misses = getNoMisses();
+		log.info("PDF cache: " + hits + " hits, " + misses + " misses ("
+		  + (hits + misses == 0 ? 0 : Math.rint(hits * 10000.0 / (hits + misses)) / 100) + "% hit rate), "
+		  + getNoEvictions() + " evictions, " + (getBytes() >> 10) + " KB of " + (getMaxBytes() >> 10) + " KB used");
+	}
+
+}
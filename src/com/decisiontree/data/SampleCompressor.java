@@ -0,0 +1,150 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * SampleCompressor - Reduces the samples of the PDFs to the fewest knots keeping the
+ * error of the cumulative distribution within epsilon.
+ * Consecutive samples are merged into one knot placed at one of them and carrying their total mass.
+ * Before the knot the merged distribution is below the original one by the mass of the merged samples
+ * on the left, and from the knot on it is above by the mass of the merged samples on the right.
+ * Merging greedily as many samples as possible into each knot gives the fewest knots,
+ * as a run of samples that can be merged stays mergeable when it is shortened.
+ *
+ * @since 0.9
+ */
+public class SampleCompressor {
+
+	private static final Logger log = Logger.getLogger(SampleCompressor.class);
+
+	private double epsilon;
+
+	private long noAttributes = 0;
+	private long noSamples = 0;
+	private long noKnots = 0;
+
+	public SampleCompressor(double epsilon) {
+		this.epsilon = epsilon;
+	}
+
+	/**
+	 * Compressing samples in place. The knots are written to the first positions of the arrays.
+	 *
+	 * @param values    the sample values in ascending order
+	 * @param cdist     the cumulative distributions of the samples
+	 * @param noSamples the number of samples
+	 * @return the number of knots
+	 */
+	public int compress(double[] values, double[] cdist, int noSamples) {
+		int noKnots = 0;
+		int last = -1; // the last sample of the previous knot
+		int knot = 0; // the first sample which can be the knot of the current run
+
+		while (last < noSamples - 1) {
+			int end = last + 1;
+			knot = end;
+			double prevDist = last < 0 ? 0.0 : cdist[last];
+			while (end + 1 < noSamples) {
+				// the first sample which is within epsilon from the end of the run
+				int next = knot;
+				while (cdist[end + 1] - cdist[next] > epsilon) next++;
+				if (next > last + 1 && cdist[next - 1] - prevDist > epsilon) break;
+				knot = next;
+				end++;
+			}
+			values[noKnots] = values[knot];
+			cdist[noKnots] = cdist[end];
+			noKnots++;
+			last = end;
+		}
+
+		synchronized (this) {
+			this.noAttributes++;
+			this.noSamples += noSamples;
+			this.noKnots += noKnots;
+		}
+		return noKnots;
+	}
+
+	/**
+	 * Compressing a SampleAttribute. Parametric attributes are kept, as their number of samples is set by the quantiles.
+	 *
+	 * @param attr the attribute
+	 * @param pool the pool interning the compressed samples, or null
+	 * @return the compressed attribute, or the attribute itself if no sample can be merged
+	 */
+	public SampleAttribute compress(SampleAttribute attr, SampleTablePool pool) {
+		if (attr instanceof ParametricAttribute) return attr;
+
+		int noSamples = attr.getNoSample();
+		double[] values = new double[noSamples];
+		double[] cdist = new double[noSamples];
+		for (int i = 0; i < noSamples; i++) {
+			values[i] = attr.getSampleValue(i);
+			cdist[i] = attr.getSampleCDist(i);
+		}
+		int noKnots = compress(values, cdist, noSamples);
+		if (noKnots == noSamples) return attr;
+
+		double[] knotValues = new double[noKnots];
+		double[] knotDist = new double[noKnots];
+		System.arraycopy(values, 0, knotValues, 0, noKnots);
+		System.arraycopy(cdist, 0, knotDist, 0, noKnots);
+		SampleTable table = pool == null ? SampleTable.createTable(knotValues, knotDist) : pool.intern(knotValues, knotDist);
+
+		SampleAttribute compressed = attr.isOriginal()
+		  ? new SampleAttribute(attr.getAbsStart(), attr.getAbsEnd(), table, 0, noKnots)
+		  : new SampleAttribute(attr.getAbsStart(), attr.getAbsEnd(), attr.getStart(), attr.getEnd(), table, 0, noKnots);
+		compressed.setValue(attr.getValue());
+		return compressed;
+	}
+
+	/**
+	 * Compressing the attributes of all tuples
+	 *
+	 * @param data   the tuples
+	 * @param noAttr the number of attributes
+	 * @param pool   the pool interning the compressed samples, or null
+	 */
+	public void compress(List<Tuple> data, int noAttr, SampleTablePool pool) {
+		for (Tuple tuple : data)
+			for (int j = 0; j < noAttr; j++)
+				tuple.setAttribute(compress((SampleAttribute) tuple.getAttribute(j), pool), j);
+	}
+
+	public synchronized double getAvgSamples() {
+		return noAttributes == 0 ? 0 : noSamples / (double) noAttributes;
+	}
+
+	public synchronized double getAvgKnots() {
+		return noAttributes == 0 ? 0 : noKnots / (double) noAttributes;
+	}
+
+	public void printStatistics() {
+		log.info("Compressed the PDFs within " + epsilon + " from " + getAvgSamples() + " to "
+		  + getAvgKnots() + " knots per attribute on average");
+	}
+
+}
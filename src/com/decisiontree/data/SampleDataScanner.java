@@ -0,0 +1,176 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import com.decisiontree.param.GlobalParam;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * SampleDataScanner - Reads the tuples of a sample dataset one by one without storing them, for the datasets
+ * larger than the memory. Only the number of tuples, the class distribution and the statistics of the attributes
+ * are stored in the dataset, and the PDFs are neither interned in the pool nor stored in the arena.
+ *
+ * @since 0.9
+ */
+public class SampleDataScanner extends DataSetInit {
+
+	private static final Logger log = Logger.getLogger(SampleDataScanner.class);
+
+	private String input;
+	private BufferedReader reader;
+	private LineScanner line;
+	private String data;
+	private int num;
+
+	public SampleDataScanner(String input, String name, int noSamples) {
+		this.input = input;
+		dataSet = new SampleDataSet(input, findNoCls(name), findNoAttr(name), noSamples);
+		dataSet.setClsNameList(findClsName(name));
+		preProcess(name);
+		storeData(input);
+	}
+
+	/**
+	 * Starting to read the tuples from the first one
+	 *
+	 * @throws IOException if the data file cannot be read
+	 */
+	public void open() throws IOException {
+		close();
+		reader = new BufferedReader(new FileReader(input + getDataFile()));
+		line = new LineScanner(dataSet.getClsNameList());
+		num = 0;
+	}
+
+	/**
+	 * Reading the next tuple
+	 *
+	 * @return the tuple, or null if all tuples are read
+	 * @throws IOException if the data file cannot be read
+	 */
+	public Tuple next() throws IOException {
+		if (!nextLine())
+			return null;
+
+		int noAttr = dataSet.getNoAttr();
+		int cls = line.findCls();
+		Tuple tuple;
+		if (GlobalParam.isPdfFiles()) {
+			Attribute[] attrSet = new Attribute[noAttr];
+			for (int i = 0; i < noAttr; i++) {
+				double start = line.nextIntervalStart();
+				double end = line.nextIntervalEnd();
+				attrSet[i] = new SampleAttribute(start, end, getDataSet().getSamples(num, i));
+			}
+			tuple = new SampleTuple(attrSet, noAttr, cls);
+		} else tuple = new SampleTuple(data, noAttr, cls);
+		num++;
+		return tuple;
+	}
+
+	// Reading the next non-empty line into the line scanner
+	private boolean nextLine() throws IOException {
+		do {
+			data = reader.readLine();
+			if (data == null)
+				return false;
+		} while (data.isEmpty());
+		byte[] bytes = data.getBytes(Charset.defaultCharset());
+		line.reset(bytes, 0, bytes.length);
+		return true;
+	}
+
+	public String getInput() {
+		return input;
+	}
+
+	public void close() throws IOException {
+		if (reader != null)
+			reader.close();
+		reader = null;
+	}
+
+	/**
+	 * Counting the tuples and the class distribution, and collecting the statistics of the attributes by reading
+	 * all tuples. The PDF files are not read, so their intervals are collected without their samples.
+	 *
+	 * @param input the input data file name
+	 */
+	@Override
+	public void storeData(String input) {
+		int noAttr = dataSet.getNoAttr();
+		int[] countCls = new int[dataSet.getNoCls()];
+		ColumnStatistics[] statistics = ColumnStatistics.create(noAttr);
+		int noTuples = 0;
+		try {
+			open();
+			while (nextLine()) {
+				int cls = line.findCls();
+				countCls[cls]++;
+				noTuples++;
+				if (!GlobalParam.isPdfFiles()) {
+					ColumnStatistics.addAll(statistics, new SampleTuple(data, noAttr, cls), dataSet);
+					continue;
+				}
+				for (int i = 0; i < noAttr; i++) {
+					RangeAttribute interval = new RangeAttribute(line.nextIntervalStart(), line.nextIntervalEnd());
+					if (dataSet.isContinuous(i))
+						statistics[i].add(interval);
+				}
+			}
+			close();
+		} catch (IOException e) {
+			e.printStackTrace();
+			log.error("No dataset file or file cannot access. Please try again!");
+			System.exit(1);
+		}
+		ColumnStatistics.finishAll(statistics);
+		for (int i = 0; i < countCls.length; i++)
+			dataSet.setClsDistribution(i, countCls[i]);
+		dataSet.setNoTuples(noTuples);
+		dataSet.setStatistics(statistics);
+	}
+
+	private String getDataFile() {
+		return GlobalParam.isPdfFiles() ? SAMPLE_FILE : POINT_FILE;
+	}
+
+	@Override
+	public int countNoTuples(String input) {
+		return countNoTuples(input, getDataFile());
+	}
+
+	@Override
+	public void preProcess(String input) {
+		preProcess(input, SAMPLE_FILE);
+	}
+
+	@Override
+	public SampleDataSet getDataSet() {
+		return (SampleDataSet) dataSet;
+	}
+
+}
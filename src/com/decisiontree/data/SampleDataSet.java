@@ -20,13 +20,14 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.convertor.SampleByteArrayConvertor;
 import com.decisiontree.param.GlobalParam;
 import org.apache.log4j.Logger;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
 import java.util.List;
 
 /**
@@ -41,6 +42,12 @@ public class SampleDataSet extends RangeDataSet {
 
 	private int noSamples;
 
+	private SampleTablePool samplePool;
+	private SampleArena sampleArena;
+	private SampleCache sampleCache;
+	private SamplePackFile samplePack;
+	private boolean samplePackChecked;
+
 	public SampleDataSet(int noCls, int noAttr, int noSamples) {
 		super(noCls, noAttr);
 		setNoSamples(noSamples);
@@ -65,6 +72,57 @@ public class SampleDataSet extends RangeDataSet {
 		this.noSamples = noSamples;
 	}
 
+	/**
+	 * Getting the pool interning the PDFs of the dataset
+	 *
+	 * @return the pool, null if interning is disabled
+	 */
+	public SampleTablePool getSamplePool() {
+		if (samplePool == null && GlobalParam.isIntern())
+			samplePool = new SampleTablePool(true, GlobalParam.isCompact());
+		return samplePool;
+	}
+
+	/**
+	 * Getting the off-heap arena storing the PDFs of the dataset
+	 *
+	 * @return the arena, null if the PDFs are stored on the heap
+	 */
+	public SampleArena getSampleArena() {
+		return sampleArena;
+	}
+
+	public void setSampleArena(SampleArena sampleArena) {
+		this.sampleArena = sampleArena;
+	}
+
+	/**
+	 * Getting the cache of the PDF files read lazily
+	 *
+	 * @return the cache, null if the PDF files are read when the dataset is loaded
+	 */
+	public SampleCache getSampleCache() {
+		if (sampleCache == null && GlobalParam.getPdfCacheSize() > 0)
+			sampleCache = new SampleCache((long) GlobalParam.getPdfCacheSize() << 20);
+		return sampleCache;
+	}
+
+	/**
+	 * Getting the packed file of the PDFs, opened on first use
+	 *
+	 * @return the packed file, null if the PDFs are stored in a file for each tuple attribute
+	 * @throws IOException if the packed file cannot be opened
+	 */
+	public synchronized SamplePackFile getSamplePack() throws IOException {
+		if (!samplePackChecked) {
+			File file = new File(getName() + GlobalParam.PACK_FILE);
+			if (getName() != null && file.exists())
+				samplePack = new SamplePackFile(file);
+			samplePackChecked = true;
+		}
+		return samplePack;
+	}
+
 	@Deprecated
 	private double byteToDouble(byte[] b) {
 
@@ -87,36 +145,98 @@ public class SampleDataSet extends RangeDataSet {
 		return sb.toString();
 	}
 
+	/**
+	 * Finding the PDF file of a tuple attribute. A compact file, storing a float value and a 16-bit cumulative
+	 * distribution for each sample, is named with GlobalParam.COMPACT_PDF_FILE appended.
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @return the compact file if it exists, or else the file of doubles, which may not exist
+	 */
+	public File findPDFFile(int tupleNum, int attrNum) {
+		String fileName = getFileName(getName(), tupleNum, attrNum);
+		File compact = new File(fileName + GlobalParam.COMPACT_PDF_FILE);
+		return compact.exists() ? compact : new File(fileName);
+	}
+
+	private boolean isCompactFile(File file) {
+		return file.getName().endsWith(GlobalParam.COMPACT_PDF_FILE);
+	}
+
+	/**
+	 * Finding the number of samples of a PDF file from its length, without reading it
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @return the number of samples
+	 */
+	public int findNoSamples(int tupleNum, int attrNum) {
+		try {
+			SamplePackFile pack = getSamplePack();
+			if (pack != null)
+				return pack.getNoSamples(tupleNum, attrNum);
+		} catch (IOException e) {
+			e.printStackTrace();
+			log.error("Cannot read the packed sample file. Please try again!");
+			System.exit(1);
+		}
+		File file = findPDFFile(tupleNum, attrNum);
+		return (int) (file.length() / (isCompactFile(file) ? CompactSampleTable.SAMPLE_SIZE : 16));
+	}
+
+	/**
+	 * Reading the samples of a PDF, from the packed sample file if there is one, or else from its PDF file in one read.
+	 * The program terminates if the PDF cannot be read.
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @return the samples
+	 */
 	public Sample[] getSamples(int tupleNum, int attrNum) {
 
-		Sample[] samples = new Sample[getNoSamples()];
-		BufferedInputStream reader = null;
+		Sample[] samples = null;
 		try {
-			double a1, a2;
-			reader = new BufferedInputStream(
-			  new FileInputStream(
-				getFileName(getName(), tupleNum, attrNum)));
-			byte[] b = new byte[8];
-			for (int i = 0; i < noSamples; i++) {
-				reader.read(b, 0, 8);
-				a1 = SampleByteArrayConvertor.byteArrayToDouble(b);
-				reader.read(b, 0, 8);
-				a2 = SampleByteArrayConvertor.byteArrayToDouble(b);
-				samples[i] = new Sample(a1, a2);
-			}
+			samples = readSamples(tupleNum, attrNum);
 		} catch (Exception e) {
 			e.printStackTrace();
 			log.error("No dataset sample files, file cannot access or wrong sample number. Please try again!");
 			System.exit(1);
-		} finally {
-			try {
-				if (reader != null) reader.close();
-			} catch (IOException e) {
-				e.printStackTrace();
+		}
+		return samples;
+	}
+
+	/**
+	 * Reading the samples of a PDF like getSamples, reporting the failure to the caller.
+	 * It may be called by many threads at once.
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @return the samples
+	 * @throws IOException if the PDF cannot be read
+	 */
+	public Sample[] readSamples(int tupleNum, int attrNum) throws IOException {
+		SamplePackFile pack = getSamplePack();
+		if (pack != null)
+			return pack.getSamples(tupleNum, attrNum);
+		File file = findPDFFile(tupleNum, attrNum);
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+		int length = buffer.remaining();
+		Sample[] samples;
+		// compact files store a float value and a 16-bit cumulative distribution for each sample
+		if (isCompactFile(file)) {
+			samples = new Sample[length / CompactSampleTable.SAMPLE_SIZE];
+			for (int i = 0; i < samples.length; i++) {
+				float value = buffer.getFloat();
+				samples[i] = new Sample(value, CompactSampleTable.decodeCDist(buffer.getChar()));
 			}
+			return samples;
+		}
+		samples = new Sample[length / 16];
+		for (int i = 0; i < samples.length; i++) {
+			double value = buffer.getDouble();
+			samples[i] = new Sample(value, buffer.getDouble());
 		}
 		return samples;
-//
 	}
 
 }
@@ -20,17 +20,17 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.measure.MemoryMonitor;
 import com.decisiontree.param.GlobalParam;
 import org.apache.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.decisiontree.param.GlobalParam.ARENA_FILE;
 import static com.decisiontree.param.GlobalParam.POINT_FILE;
+import static com.decisiontree.param.GlobalParam.SNAPSHOT_FILE;
 
 /**
  * SampleDataSetInit - Initializes a SampleDataSet object.
@@ -42,18 +42,15 @@ public class SampleDataSetInit extends DataSetInit {
 
 	private static final Logger log = Logger.getLogger(SampleDataSetInit.class);
 
+	// the key of the snapshot, found before the dataset is loaded so that the snapshot is not newer than its key
+	private Long snapshotKey;
+
 	public SampleDataSetInit(String input, int noSamples) {
 		this(input, noSamples, false);
 	}
 
 	public SampleDataSetInit(String input, int noSamples, boolean averaging) {
-		dataSet = new SampleDataSet(input, findNoCls(input), findNoAttr(input), noSamples);
-		dataSet.setClsNameList(findClsName(input));
-		preProcess(input);
-		dataSet.setNoTuples(countNoTuples(input));
-		if (averaging) {
-			storeData(input, averaging);
-		} else storeData(input);
+		this(input, input, noSamples, averaging);
 	}
 
 	public SampleDataSetInit(String input, String name, int noSamples) {
@@ -61,57 +58,260 @@ public class SampleDataSetInit extends DataSetInit {
 	}
 
 	public SampleDataSetInit(String input, String name, int noSamples, boolean averaging) {
-		dataSet = new SampleDataSet(input, findNoCls(name), findNoAttr(name), noSamples);
+		if (GlobalParam.isSnapshot() && loadSnapshot(input, name, noSamples, averaging))
+			return;
+		dataSet = createDataSet(input, findNoCls(name), findNoAttr(name), noSamples, averaging);
 		dataSet.setClsNameList(findClsName(name));
 		preProcess(name); // set attributes names and if they are continuous or not
-		dataSet.setNoTuples(countNoTuples(input));
 		if (averaging) {
 			storeData(input, averaging);
 		} else storeData(input);
+		if (GlobalParam.isSnapshot())
+			storeSnapshot(input, name);
+	}
+
+	/**
+	 * Finding the key of the snapshot of a dataset from the files and the parameters of loading it
+	 *
+	 * @param input the input data file name
+	 * @param name  the dataset property file name
+	 * @return the key
+	 * @throws IOException if a file cannot be read
+	 */
+	private long findSnapshotKey(String input, String name) throws IOException {
+		List<File> sources = new ArrayList<File>();
+		sources.add(new File(name + NAME_FILE));
+		sources.addAll(findSampleSources(input));
+		String params = "pdffiles=" + GlobalParam.isPdfFiles() + ",compact=" + GlobalParam.isCompact()
+		  + ",knoteps=" + GlobalParam.getKnotEpsilon();
+		return SampleDataSnapshot.findKey(sources.toArray(new File[sources.size()]), params);
+	}
+
+	/**
+	 * Finding the files the PDFs are loaded from: the data file, and the PDF files if they are read
+	 *
+	 * @param input the input data file name
+	 * @return the files and directories, which may not exist
+	 */
+	private List<File> findSampleSources(String input) {
+		List<File> sources = new ArrayList<File>();
+		sources.add(new File(input + getDataFile()));
+		if (GlobalParam.isPdfFiles()) {
+			sources.add(new File(input + GlobalParam.PACK_FILE));
+			sources.add(new File(input + GlobalParam.SAMPLE_PATH));
+		}
+		return sources;
+	}
+
+	/**
+	 * Loading the dataset from its snapshot
+	 *
+	 * @return true if the dataset is loaded, false if there is no valid snapshot
+	 */
+	private boolean loadSnapshot(String input, String name, int noSamples, boolean averaging) {
+		try {
+			snapshotKey = findSnapshotKey(input, name);
+			SampleDataSnapshot snapshot = SampleDataSnapshot.open(new File(input + SNAPSHOT_FILE), snapshotKey);
+			if (snapshot == null)
+				return false;
+			dataSet = snapshot.createDataSet(input, noSamples, averaging);
+			return true;
+		} catch (IOException e) {
+			log.warn("Cannot read the snapshot, the dataset is loaded from the data file. " + e.getMessage(), e);
+			return false;
+		}
+	}
+
+	private void storeSnapshot(String input, String name) {
+		try {
+			long key = snapshotKey != null ? snapshotKey : findSnapshotKey(input, name);
+			SampleDataSnapshot.write(new File(input + SNAPSHOT_FILE), key, getDataSet());
+		} catch (IOException e) {
+			log.warn("Cannot write the snapshot. " + e.getMessage(), e);
+		}
+	}
+
+
+	/**
+	 * Getting the file of the tuples, which is the file of the intervals of the PDF files if they are read
+	 *
+	 * @return the file extension
+	 */
+	private String getDataFile() {
+		return GlobalParam.isPdfFiles() ? SAMPLE_FILE : POINT_FILE;
 	}
 
+	private SampleDataSet createDataSet(String input, int noCls, int noAttr, int noSamples, boolean averaging) {
+		// the columns store the PDFs only, not the averages of the attributes
+		if (GlobalParam.isColumnar() && averaging)
+			log.warn("The averaged attributes cannot be stored in columns, the dataset is loaded without columns.");
+		else if (GlobalParam.isColumnar())
+			return new ColumnarSampleDataSet(input, noCls, noAttr, noSamples, 1024);
+		SampleDataSet dataSet = new SampleDataSet(input, noCls, noAttr, noSamples);
+		if (GlobalParam.isArena()) {
+			try {
+				List<File> sources = findSampleSources(input);
+				dataSet.setSampleArena(new SampleArena(new File(input + ARENA_FILE), sources.toArray(new File[sources.size()]),
+				  GlobalParam.getNoQuantiles()));
+			} catch (IOException e) {
+				log.warn("Cannot create the sample arena, the samples are stored on the heap. " + e.getMessage(), e);
+			}
+		}
+		return dataSet;
+	}
+
+	/**
+	 * Reading the PDF files of the tuples concurrently, and then creating the tuples in their order,
+	 * so that the pool and the arena are filled as they are when the files are read one by one
+	 *
+	 * @param pending   the tuples of the intervals
+	 * @param averaging setting the value of each attribute to the average of its PDF if true
+	 * @return the tuples
+	 * @throws IOException if a PDF file cannot be read
+	 */
+	private List<Tuple> fetchSamples(List<Tuple> pending, boolean averaging) throws IOException {
+		SampleDataSet dataSet = getDataSet();
+		int[] tupleNums = new int[pending.size()];
+		for (int i = 0; i < tupleNums.length; i++)
+			tupleNums[i] = ((PendingSampleTuple) pending.get(i)).getNum();
+
+		Sample[][][] samples = new SampleFetcher(dataSet, GlobalParam.getPdfThreads()).fetch(tupleNums, dataSet.getNoAttr());
+		List<Tuple> t = new ArrayList<Tuple>(pending.size());
+		for (int i = 0; i < tupleNums.length; i++) {
+			t.add(new SampleTuple((RangeTuple) pending.get(i), samples[i], dataSet, averaging));
+			samples[i] = null;
+		}
+		return t;
+	}
 
 	@Override
 	public void storeData(String input) {
 		storeData(input, false);
 	}
 
-	public void storeData(String input, boolean averaging) {
-		SampleDataSet dataSet = getDataSet();
+	public void storeData(String input, final boolean averaging) {
+		final SampleDataSet dataSet = getDataSet();
 
 		//Generate dataset tuples
-		try (BufferedReader reader = new BufferedReader(new FileReader(input + POINT_FILE))){
-
-			int noTuples = dataSet.getNoTuples();
-			int noAttr = dataSet.getNoAttr();
-			int noCls = dataSet.getNoCls();
-
-			int countCls[] = new int[noCls];
-			MemoryMonitor memMonitor = new MemoryMonitor();
-
-			String data;
-			List<Tuple> t = new ArrayList<>(noTuples);
-			for (int i = 0; (data = reader.readLine()) != null && i < noTuples; i++) {
-				System.out.printf("Generating tuple %d/%d...\n", i+1, noTuples);
-				memMonitor.printMemoryUsage(i);
-				int index = data.lastIndexOf(GlobalParam.SEPERATOR);
-				int cls = dataSet.getClsNum(data.substring(index + 1));
-				countCls[cls]++;
-				t.add(new SampleTuple(data, noAttr, cls));
-			}
+		try {
+			final int noAttr = dataSet.getNoAttr();
+			final int countCls[] = new int[dataSet.getNoCls()];
 
-			for (int i = 0; i < noCls; i++) {
-				dataSet.setClsDistribution(i, countCls[i]);
+			SampleCompressor compressor = GlobalParam.getKnotEpsilon() > 0 ? new SampleCompressor(GlobalParam.getKnotEpsilon()) : null;
+			// the PDF files are read after the intervals, unless they are read lazily through the cache
+			final boolean concurrent = GlobalParam.getPdfThreads() > 0 && dataSet.getSampleCache() == null;
+			// the columns are filled by the parser from the data file, or copied from the tuples of the PDF files
+			boolean parsedColumns = dataSet instanceof ColumnarSampleDataSet && !GlobalParam.isPdfFiles();
+			TupleParser parser;
+			if (parsedColumns)
+				parser = createColumnarParser((ColumnarSampleDataSet) dataSet, compressor, countCls);
+			else {
+				parser = new TupleParser() {
+					@Override
+					public Tuple parse(LineScanner line, int num) {
+						int cls = line.findCls();
+						if (GlobalParam.isPdfFiles() && concurrent)
+							return new PendingSampleTuple(line, noAttr, cls, num);
+						if (GlobalParam.isPdfFiles())
+							return new SampleTuple(line, noAttr, cls, 1.0, num, dataSet, averaging);
+						return new SampleTuple(line, noAttr, cls, dataSet);
+					}
+				};
 			}
 
-			dataSet.setData(t);
+			// the columns and the arena are filled in the order of the tuples
+			boolean parallel = !parsedColumns && dataSet.getSampleArena() == null;
+			List<Tuple> t = loadData(input + getDataFile(), parser, parallel);
+			if (concurrent && !parsedColumns)
+				t = fetchSamples(t, averaging);
+
+			if (dataSet.getSampleArena() != null)
+				dataSet.getSampleArena().finish();
+
+			if (parsedColumns) {
+				int noTuples = 0;
+				for (int i = 0; i < countCls.length; i++) {
+					dataSet.setClsDistribution(i, countCls[i]);
+					noTuples += countCls[i];
+				}
+				dataSet.setNoTuples(noTuples);
+			} else {
+				if (compressor != null)
+					compressor.compress(t, noAttr, dataSet.getSamplePool());
+				dataSet.setData(t);
+				setDistribution(t);
+			}
+			if (compressor != null)
+				compressor.printStatistics();
+			if (dataSet.getSamplePool() != null)
+				dataSet.getSamplePool().printStatistics();
 		} catch (IOException e) {
+			if (dataSet.getSampleArena() != null)
+				dataSet.getSampleArena().abort();
 			e.printStackTrace();
 			log.error("No dataset file or file cannot access. Please try again!");
 			System.exit(1);
 		}
 	}
 
+	/**
+	 * Creating the parser storing the same in-memory PDFs as SampleTuple in the columns.
+	 * Parametric PDFs are stored by their quantile samples.
+	 *
+	 * @param columnar   the columnar dataset
+	 * @param compressor the compressor of the PDFs, null for no compression
+	 * @param countCls   the number of tuples of each class, counted by the parser
+	 * @return the parser, which returns no tuple
+	 */
+	private TupleParser createColumnarParser(final ColumnarSampleDataSet columnar, final SampleCompressor compressor,
+											 final int[] countCls) {
+		final int noAttr = columnar.getNoAttr();
+		final double[] starts = new double[noAttr];
+		final double[] ends = new double[noAttr];
+		final SampleAttribute[] parametric = new SampleAttribute[noAttr];
+		final double[] probabilities = new double[noAttr];
+		final double[] values = new double[Math.max(GlobalParam.getNoQuantiles(), BernoulliAttribute.NO_SAMPLES)];
+		final double[] cdist = new double[values.length];
+
+		return new TupleParser() {
+			@Override
+			public Tuple parse(LineScanner line, int num) {
+				int cls = line.findCls();
+				countCls[cls]++;
+
+				for (int j = 0; j < noAttr; j++) {
+					if (line.isParametric()) {
+						parametric[j] = ParametricAttribute.parse(line.nextField());
+						starts[j] = parametric[j].getAbsStart();
+						ends[j] = parametric[j].getAbsEnd();
+					} else {
+						parametric[j] = null;
+						probabilities[j] = line.nextValue();
+						starts[j] = BernoulliAttribute.START;
+						ends[j] = BernoulliAttribute.END;
+					}
+				}
+				int id = columnar.addTuple(cls, 1.0, starts, ends);
+				for (int j = 0; j < noAttr; j++) {
+					int noSamples;
+					if (parametric[j] != null) {
+						noSamples = parametric[j].getNoSample();
+						for (int k = 0; k < noSamples; k++) {
+							values[k] = parametric[j].getSampleValue(k);
+							cdist[k] = parametric[j].getSampleCDist(k);
+						}
+					} else
+						noSamples = BernoulliAttribute.createSamples(probabilities[j], values, cdist);
+					if (compressor != null)
+						noSamples = compressor.compress(values, cdist, noSamples);
+					for (int k = 0; k < noSamples; k++)
+						columnar.addSample(id, j, values[k], cdist[k]);
+				}
+				return null;
+			}
+		};
+	}
+
 //	public void storeData(String input, boolean averaging) {
 //
 //		SampleDataSet dataSet = getDataSet();
@@ -0,0 +1,394 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * SampleDataSnapshot - Stores a loaded sample dataset in one binary file, which is memory-mapped
+ * on later runs instead of parsing the data file and the PDFs again.
+ * The file holds the schema with the statistics of the attributes, the class and the weight of each tuple,
+ * and the bounds and samples of the attributes in columns. The samples of all PDFs are read from the mapped file,
+ * so a dataset loaded from a snapshot has its samples off the heap.
+ * A snapshot is valid for the key of its source files and loading parameters only, see findKey. The key covers
+ * the whole content of the source files, but only the name, the length and the modified time of the files in a
+ * directory of PDF files, which are not read again for the key.
+ * It is written to a temporary file first and renamed when it is complete.
+ *
+ * @since 0.9
+ */
+public class SampleDataSnapshot extends SampleTable {
+
+	private static final Logger log = Logger.getLogger(SampleDataSnapshot.class);
+
+	private static final long MAGIC = 0x554454534e415032L; // UDTSNAP2
+	private static final int HEADER_SIZE = 40;
+	// bytes of a source file read at a time for the key
+	private static final int KEY_BUFFER = 1 << 16;
+	// 2^27 doubles in each mapped segment of 1 GB
+	private static final int SEGMENT_SHIFT = 27;
+	private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+	private File file;
+	private int noCls;
+	private int noAttr;
+	private int noTuples;
+	private int size;
+
+	private List<String> clsNames;
+	private List<String> attrNames;
+	private List<Boolean> continuous;
+	private ColumnStatistics[] statistics;
+
+	private ByteBuffer cls;
+	private ByteBuffer weights;
+	private ByteBuffer[] starts;
+	private ByteBuffer[] ends;
+	private ByteBuffer[] offsets;
+	private ByteBuffer[] counts;
+	private ByteBuffer[] values;
+	private ByteBuffer[] cdist;
+
+	private SampleDataSnapshot(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Finding the key of a snapshot from the length, the modified time and the content of the source files,
+	 * together with the loading parameters. A directory is covered by the name, the length and the modified time
+	 * of each of its files, in the order of their names.
+	 *
+	 * @param sources the source files or directories, which may not exist
+	 * @param params  the loading parameters
+	 * @return the key
+	 * @throws IOException if a source file cannot be read
+	 */
+	public static long findKey(File[] sources, String params) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		ByteBuffer bytes = ByteBuffer.allocateDirect(KEY_BUFFER);
+		for (File source : sources) {
+			buffer.clear();
+			buffer.putLong(source.length()).putLong(source.lastModified());
+			crc.update(buffer.array());
+			if (source.isDirectory()) {
+				updateEntries(crc, source);
+				continue;
+			}
+			if (!source.isFile())
+				continue;
+			try (FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+				bytes.clear();
+				while (channel.read(bytes) >= 0) {
+					bytes.flip();
+					crc.update(bytes);
+					bytes.clear();
+				}
+			}
+		}
+		crc.update(params.getBytes("UTF-8"));
+		return crc.getValue();
+	}
+
+	private static void updateEntries(CRC32 crc, File directory) throws IOException {
+		String[] names = directory.list();
+		if (names == null)
+			throw new IOException("Cannot list " + directory);
+		Arrays.sort(names);
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		for (String name : names) {
+			File entry = new File(directory, name);
+			crc.update(name.getBytes("UTF-8"));
+			buffer.clear();
+			buffer.putLong(entry.length()).putLong(entry.lastModified());
+			crc.update(buffer.array());
+		}
+	}
+
+	/**
+	 * Writing the snapshot of a loaded dataset. Parametric PDFs are not stored by their parameters,
+	 * so a dataset with parametric attributes is not written.
+	 *
+	 * @param file    the snapshot file
+	 * @param key     the key of the sources
+	 * @param dataSet the loaded dataset
+	 * @return true if the snapshot is written
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static boolean write(File file, long key, SampleDataSet dataSet) throws IOException {
+		List<Tuple> data = dataSet.getData();
+		int noTuples = data.size();
+		int noAttr = dataSet.getNoAttr();
+
+		long noSamples = 0;
+		for (Tuple tuple : data) {
+			for (int j = 0; j < noAttr; j++) {
+				Attribute attr = tuple.getAttribute(j);
+				if (!(attr instanceof SampleAttribute) || attr instanceof ParametricAttribute) {
+					log.info("No snapshot of " + dataSet.getName() + ", which has parametric attributes");
+					return false;
+				}
+				noSamples += ((SampleAttribute) attr).getNoSample();
+			}
+		}
+		if (noSamples > Integer.MAX_VALUE || (long) noTuples * 8 > Integer.MAX_VALUE)
+			throw new IOException("Too many tuples or samples for a snapshot: " + noTuples + " tuples, " + noSamples + " samples");
+
+		ByteArrayOutputStream schemaBytes = new ByteArrayOutputStream();
+		DataOutputStream schema = new DataOutputStream(schemaBytes);
+		for (int i = 0; i < dataSet.getNoCls(); i++)
+			schema.writeUTF(dataSet.getClsName(i));
+		for (int j = 0; j < noAttr; j++) {
+			schema.writeUTF(dataSet.getAttrName(j));
+			schema.writeBoolean(dataSet.isContinuous(j));
+		}
+		for (int j = 0; j < noAttr; j++)
+			dataSet.getStatistics(j).write(schema);
+		schema.close();
+
+		File tempFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+		try (DataOutputStream writer = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 1 << 16))) {
+			writer.writeLong(MAGIC);
+			writer.writeLong(key);
+			writer.writeInt(dataSet.getNoCls());
+			writer.writeInt(noAttr);
+			writer.writeInt(noTuples);
+			writer.writeInt(schemaBytes.size());
+			writer.writeLong(noSamples);
+			schemaBytes.writeTo(writer);
+			pad(writer, schemaBytes.size());
+
+			for (Tuple tuple : data)
+				writer.writeInt(tuple.getCls());
+			pad(writer, noTuples * 4);
+			for (Tuple tuple : data)
+				writer.writeDouble(tuple.getWeight());
+
+			int offset = 0;
+			for (int j = 0; j < noAttr; j++) {
+				for (Tuple tuple : data)
+					writer.writeDouble(((SampleAttribute) tuple.getAttribute(j)).getAbsStart());
+				for (Tuple tuple : data)
+					writer.writeDouble(((SampleAttribute) tuple.getAttribute(j)).getAbsEnd());
+				for (Tuple tuple : data) {
+					writer.writeInt(offset);
+					offset += ((SampleAttribute) tuple.getAttribute(j)).getNoSample();
+				}
+				for (Tuple tuple : data)
+					writer.writeInt(((SampleAttribute) tuple.getAttribute(j)).getNoSample());
+			}
+
+			// the samples of the attributes in the same order as the offsets, values first
+			for (int pass = 0; pass < 2; pass++) {
+				for (int j = 0; j < noAttr; j++) {
+					for (Tuple tuple : data) {
+						SampleAttribute attr = (SampleAttribute) tuple.getAttribute(j);
+						for (int k = 0; k < attr.getNoSample(); k++)
+							writer.writeDouble(pass == 0 ? attr.getSampleValue(k) : attr.getSampleCDist(k));
+					}
+				}
+			}
+		} catch (IOException e) {
+			if (!tempFile.delete())
+				log.warn("Cannot delete " + tempFile);
+			throw e;
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		log.info("Wrote the snapshot " + file + " of " + noTuples + " tuples and " + noSamples + " samples");
+		return true;
+	}
+
+	private static void pad(DataOutputStream writer, long length) throws IOException {
+		for (long i = length; i % 8 != 0; i++)
+			writer.writeByte(0);
+	}
+
+	private static long padded(long length) {
+		return (length + 7) & ~7L;
+	}
+
+	/**
+	 * Opening a snapshot and mapping it if it is complete and has the given key
+	 *
+	 * @param file the snapshot file
+	 * @param key  the key of the sources
+	 * @return the snapshot, null if there is no valid snapshot
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	public static SampleDataSnapshot open(File file, long key) throws IOException {
+		if (!file.exists())
+			return null;
+		SampleDataSnapshot snapshot = new SampleDataSnapshot(file);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			if (raf.length() < HEADER_SIZE || raf.readLong() != MAGIC)
+				throw new IOException(file + " is not a dataset snapshot");
+			if (raf.readLong() != key) {
+				log.info("The snapshot " + file + " is out of date");
+				return null;
+			}
+			snapshot.noCls = raf.readInt();
+			snapshot.noAttr = raf.readInt();
+			snapshot.noTuples = raf.readInt();
+			int schemaLength = raf.readInt();
+			long noSamples = raf.readLong();
+
+			int n = snapshot.noTuples;
+			long position = HEADER_SIZE + padded(schemaLength);
+			long length = position + padded(n * 4L) + n * 8L + snapshot.noAttr * n * 24L + noSamples * 16;
+			if (raf.length() != length || noSamples > Integer.MAX_VALUE) {
+				log.info("The snapshot " + file + " is incomplete");
+				return null;
+			}
+			snapshot.size = (int) noSamples;
+
+			byte[] schemaBytes = new byte[schemaLength];
+			raf.readFully(schemaBytes);
+			snapshot.readSchema(new DataInputStream(new ByteArrayInputStream(schemaBytes)));
+
+			snapshot.cls = channel.map(FileChannel.MapMode.READ_ONLY, position, n * 4L);
+			position += padded(n * 4L);
+			snapshot.weights = channel.map(FileChannel.MapMode.READ_ONLY, position, n * 8L);
+			position += n * 8L;
+
+			int noAttr = snapshot.noAttr;
+			snapshot.starts = new ByteBuffer[noAttr];
+			snapshot.ends = new ByteBuffer[noAttr];
+			snapshot.offsets = new ByteBuffer[noAttr];
+			snapshot.counts = new ByteBuffer[noAttr];
+			for (int j = 0; j < noAttr; j++) {
+				snapshot.starts[j] = channel.map(FileChannel.MapMode.READ_ONLY, position, n * 8L);
+				snapshot.ends[j] = channel.map(FileChannel.MapMode.READ_ONLY, position + n * 8L, n * 8L);
+				snapshot.offsets[j] = channel.map(FileChannel.MapMode.READ_ONLY, position + n * 16L, n * 4L);
+				snapshot.counts[j] = channel.map(FileChannel.MapMode.READ_ONLY, position + n * 20L, n * 4L);
+				position += n * 24L;
+			}
+
+			snapshot.values = mapSamples(channel, position, snapshot.size);
+			snapshot.cdist = mapSamples(channel, position + noSamples * 8, snapshot.size);
+		}
+		log.info("Mapped the snapshot " + file + " of " + snapshot.noTuples + " tuples and " + snapshot.size + " samples");
+		return snapshot;
+	}
+
+	private static ByteBuffer[] mapSamples(FileChannel channel, long position, int size) throws IOException {
+		int noSegments = (size + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+		ByteBuffer[] segments = new ByteBuffer[noSegments];
+		for (int i = 0; i < noSegments; i++) {
+			long start = position + ((long) i << SEGMENT_SHIFT) * 8;
+			long length = Math.min(size - ((long) i << SEGMENT_SHIFT), 1 << SEGMENT_SHIFT) * 8;
+			segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+		}
+		return segments;
+	}
+
+	private void readSchema(DataInputStream schema) throws IOException {
+		clsNames = new ArrayList<String>(noCls);
+		for (int i = 0; i < noCls; i++)
+			clsNames.add(schema.readUTF());
+		attrNames = new ArrayList<String>(noAttr);
+		continuous = new ArrayList<Boolean>(noAttr);
+		for (int j = 0; j < noAttr; j++) {
+			attrNames.add(schema.readUTF());
+			continuous.add(schema.readBoolean());
+		}
+		statistics = new ColumnStatistics[noAttr];
+		for (int j = 0; j < noAttr; j++)
+			statistics[j] = ColumnStatistics.read(schema);
+	}
+
+	/**
+	 * Creating the dataset of the snapshot, whose attributes read the samples from the snapshot
+	 *
+	 * @param input     the input data file name
+	 * @param noSamples the number of samples of the dataset
+	 * @param averaging setting the value of each attribute to the average of its PDF if true
+	 * @return the dataset
+	 */
+	public SampleDataSet createDataSet(String input, int noSamples, boolean averaging) {
+		SampleDataSet dataSet = new SampleDataSet(input, noCls, noAttr, noSamples);
+		dataSet.setClsNameList(clsNames);
+		for (int j = 0; j < noAttr; j++) {
+			dataSet.setAttrName(j, attrNames.get(j));
+			dataSet.setContinous(j, continuous.get(j));
+		}
+
+		int[] countCls = new int[noCls];
+		List<Tuple> data = new ArrayList<Tuple>(noTuples);
+		for (int i = 0; i < noTuples; i++) {
+			Attribute[] set = new Attribute[noAttr];
+			for (int j = 0; j < noAttr; j++) {
+				SampleAttribute attr = new SampleAttribute(starts[j].getDouble(i * 8), ends[j].getDouble(i * 8), this,
+				  offsets[j].getInt(i * 4), counts[j].getInt(i * 4));
+				if (averaging) attr.setValue(attr.getAverage());
+				set[j] = attr;
+			}
+			int c = cls.getInt(i * 4);
+			countCls[c]++;
+			data.add(new SampleTuple(set, noAttr, c, weights.getDouble(i * 8)));
+		}
+
+		for (int i = 0; i < noCls; i++)
+			dataSet.setClsDistribution(i, countCls[i]);
+		dataSet.setNoTuples(noTuples);
+		dataSet.setData(data);
+		dataSet.setStatistics(statistics);
+		return dataSet;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public double getValue(int index) {
+		return values[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) << 3);
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return cdist[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) << 3);
+	}
+
+}
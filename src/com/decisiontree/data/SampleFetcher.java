@@ -0,0 +1,143 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SampleFetcher - Reads the PDF files of many tuples concurrently.
+ * The PDFs are taken from a shared counter by a bounded number of readers, which run on virtual threads
+ * if the JVM provides them or else on a fixed pool of daemon threads, and stored by their tuple and attribute,
+ * so that the result does not depend on the order of reading.
+ * A PDF that cannot be read stops the readers, and the failure is reported to the caller of fetch.
+ *
+ * @since 0.9
+ */
+public class SampleFetcher {
+
+	private static final Logger log = Logger.getLogger(SampleFetcher.class);
+
+	private SampleDataSet dataSet;
+	private int noThreads;
+
+	/**
+	 * Constructor
+	 *
+	 * @param dataSet   the dataset of the PDF files
+	 * @param noThreads the number of files read at the same time
+	 */
+	public SampleFetcher(SampleDataSet dataSet, int noThreads) {
+		this.dataSet = dataSet;
+		this.noThreads = noThreads;
+	}
+
+	/**
+	 * Reading the PDFs of tuples
+	 *
+	 * @param tupleNums the tuple numbers
+	 * @param noAttr    the number of attributes
+	 * @return the samples of each tuple and attribute, in the order of the tuple numbers
+	 * @throws IOException if a PDF cannot be read
+	 */
+	public Sample[][][] fetch(final int[] tupleNums, final int noAttr) throws IOException {
+		final Sample[][][] samples = new Sample[tupleNums.length][noAttr][];
+		final int noFiles = tupleNums.length * noAttr;
+		final AtomicInteger next = new AtomicInteger();
+
+		List<Callable<Void>> readers = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < Math.min(noThreads, noFiles); i++) {
+			readers.add(new Callable<Void>() {
+				@Override
+				public Void call() throws IOException {
+					try {
+						for (int file = next.getAndIncrement(); file < noFiles; file = next.getAndIncrement()) {
+							int tuple = file / noAttr;
+							int attr = file % noAttr;
+							samples[tuple][attr] = dataSet.readSamples(tupleNums[tuple], attr);
+						}
+					} catch (IOException e) {
+						// no more files are taken by the other readers
+						next.set(noFiles);
+						throw e;
+					}
+					return null;
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		ExecutorService executor = createExecutor(noThreads);
+		try {
+			for (Future<Void> reader : executor.invokeAll(readers))
+				reader.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while reading the PDF files.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IllegalStateException("Cannot read the PDF files.", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+		log.info("Read " + noFiles + " PDF files by " + readers.size() + " readers in "
+		  + (System.nanoTime() - start) / 1000000 + " ms");
+		return samples;
+	}
+
+	/**
+	 * Creating the executor of the readers, a virtual thread for each reader if the JVM supports it
+	 *
+	 * @param noThreads the number of readers
+	 * @return the executor
+	 */
+	private static ExecutorService createExecutor(int noThreads) {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			log.debug("No virtual threads, the PDF files are read by a pool of " + noThreads + " threads");
+		}
+		return Executors.newFixedThreadPool(noThreads, new ThreadFactory() {
+			private int count = 0;
+
+			@Override
+			public synchronized Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "pdf-reader-" + count++);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+}
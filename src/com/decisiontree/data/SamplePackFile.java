@@ -0,0 +1,166 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SamplePackFile - Reads the PDFs of a dataset from a packed file written by SamplePackWriter.
+ * The file is memory-mapped in segments, so a PDF is read without opening a file. A sample block
+ * across two segments is read from the channel instead.
+ *
+ * @since 0.9
+ * @see SamplePackWriter
+ */
+public class SamplePackFile implements AutoCloseable {
+
+	static final long MAGIC = 0x4b50464450544455L; // UDTPDFPK
+	static final int HEADER_SIZE = 20;
+	static final int ENTRY_SIZE = 12;
+	static final int SAMPLE_SIZE = 16;
+
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+	private File file;
+	private FileChannel channel;
+	private ByteBuffer[] segments;
+	private int noTuples;
+	private int noAttr;
+	private int sampleSize;
+
+	public SamplePackFile(File file) throws IOException {
+		this.file = file;
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		long size = channel.size();
+		int noSegments = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+		segments = new ByteBuffer[noSegments];
+		for (int i = 0; i < noSegments; i++) {
+			long start = (long) i << SEGMENT_SHIFT;
+			segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start))
+			  .order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		if (size < HEADER_SIZE || segments[0].getLong(0) != MAGIC)
+			throw new IOException(file + " is not a packed PDF file");
+		noTuples = segments[0].getInt(8);
+		noAttr = segments[0].getInt(12);
+		sampleSize = segments[0].getInt(16);
+		if (HEADER_SIZE + (long) noTuples * noAttr * ENTRY_SIZE > size)
+			throw new IOException("The index of " + file + " is truncated");
+	}
+
+	private long getIndexPosition(int tupleNum, int attrNum) {
+		if (tupleNum < 0 || tupleNum >= noTuples || attrNum < 0 || attrNum >= noAttr)
+			throw new IllegalArgumentException("No PDF of tuple " + tupleNum + " attribute " + attrNum + " in " + file);
+		return HEADER_SIZE + ((long) tupleNum * noAttr + attrNum) * ENTRY_SIZE;
+	}
+
+	private long getLong(long pos) {
+		int offset = (int) (pos & (SEGMENT_SIZE - 1));
+		if (offset <= SEGMENT_SIZE - 8)
+			return segments[(int) (pos >>> SEGMENT_SHIFT)].getLong(offset);
+		return getBytes(pos, 8);
+	}
+
+	private int getInt(long pos) {
+		int offset = (int) (pos & (SEGMENT_SIZE - 1));
+		if (offset <= SEGMENT_SIZE - 4)
+			return segments[(int) (pos >>> SEGMENT_SHIFT)].getInt(offset);
+		return (int) getBytes(pos, 4);
+	}
+
+	// reading a little-endian number across two segments
+	private long getBytes(long pos, int length) {
+		long value = 0;
+		for (int i = 0; i < length; i++, pos++)
+			value |= (segments[(int) (pos >>> SEGMENT_SHIFT)].get((int) (pos & (SEGMENT_SIZE - 1))) & 0xffL) << (8 * i);
+		return value;
+	}
+
+	/**
+	 * Getting the number of samples of a PDF
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @return the number of samples
+	 */
+	public int getNoSamples(int tupleNum, int attrNum) {
+		return getInt(getIndexPosition(tupleNum, attrNum) + 8);
+	}
+
+	/**
+	 * Reading the samples of a PDF
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @return the samples
+	 * @throws IOException if a sample block across two segments cannot be read
+	 */
+	public Sample[] getSamples(int tupleNum, int attrNum) throws IOException {
+		long entry = getIndexPosition(tupleNum, attrNum);
+		long offset = getLong(entry);
+		int noSamples = getInt(entry + 8);
+		int length = noSamples * sampleSize;
+
+		ByteBuffer block;
+		int pos = (int) (offset & (SEGMENT_SIZE - 1));
+		if (pos + length <= SEGMENT_SIZE) {
+			block = segments[(int) (offset >>> SEGMENT_SHIFT)];
+		} else {
+			block = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+			while (block.hasRemaining())
+				channel.read(block, offset + block.position());
+			pos = 0;
+		}
+
+		Sample[] samples = new Sample[noSamples];
+		for (int i = 0; i < noSamples; i++, pos += sampleSize) {
+			if (sampleSize == SAMPLE_SIZE)
+				samples[i] = new Sample(block.getDouble(pos), block.getDouble(pos + 8));
+			else samples[i] = new Sample(block.getFloat(pos), CompactSampleTable.decodeCDist(block.getChar(pos + 4)));
+		}
+		return samples;
+	}
+
+	public int getNoTuples() {
+		return noTuples;
+	}
+
+	public int getNoAttr() {
+		return noAttr;
+	}
+
+	public boolean isCompact() {
+		return sampleSize != SAMPLE_SIZE;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
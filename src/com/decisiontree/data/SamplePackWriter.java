@@ -0,0 +1,156 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SamplePackWriter - Writes the PDFs of a dataset into one packed file instead of a file for each
+ * tuple attribute. The file starts with a header and an index of the offset and the number of samples
+ * of each (tuple, attribute), followed by the contiguous little-endian sample blocks.
+ * The PDFs may be appended in any order, and a PDF not appended has no samples.
+ *
+ * @since 0.9
+ * @see SamplePackFile
+ */
+public class SamplePackWriter implements AutoCloseable {
+
+	private static final Logger log = Logger.getLogger(SamplePackWriter.class);
+
+	private File file;
+	private FileChannel channel;
+	private int noTuples;
+	private int noAttr;
+	private int sampleSize;
+
+	private ByteBuffer index;
+	private ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+	private long position;
+
+	/**
+	 * @param file     the packed file
+	 * @param noTuples the number of tuples
+	 * @param noAttr   the number of attributes
+	 * @param compact  storing the samples as CompactSampleTable if true
+	 * @throws IOException if the file cannot be created
+	 */
+	public SamplePackWriter(File file, int noTuples, int noAttr, boolean compact) throws IOException {
+		this.file = file;
+		this.noTuples = noTuples;
+		this.noAttr = noAttr;
+		this.sampleSize = compact ? CompactSampleTable.SAMPLE_SIZE : SamplePackFile.SAMPLE_SIZE;
+		long indexSize = (long) noTuples * noAttr * SamplePackFile.ENTRY_SIZE;
+		if (indexSize > Integer.MAX_VALUE)
+			throw new IOException("Too many PDFs for a packed file: " + noTuples + " x " + noAttr);
+		index = ByteBuffer.allocate((int) indexSize).order(ByteOrder.LITTLE_ENDIAN);
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+		  StandardOpenOption.TRUNCATE_EXISTING);
+		position = SamplePackFile.HEADER_SIZE + indexSize;
+		channel.position(position);
+	}
+
+	/**
+	 * Appending the samples of a PDF
+	 *
+	 * @param tupleNum the tuple number
+	 * @param attrNum  the attribute number
+	 * @param values   the sample values in ascending order
+	 * @param cdist    the cumulative distributions of the samples
+	 * @param length   the number of samples
+	 * @throws IOException if the samples cannot be written
+	 */
+	public void append(int tupleNum, int attrNum, double[] values, double[] cdist, int length) throws IOException {
+		int entry = (tupleNum * noAttr + attrNum) * SamplePackFile.ENTRY_SIZE;
+		index.putLong(entry, position);
+		index.putInt(entry + 8, length);
+		float[] floats = null;
+		if (sampleSize != SamplePackFile.SAMPLE_SIZE) {
+			floats = new float[length];
+			CompactSampleTable.toFloats(values, 0, length, floats);
+		}
+		for (int i = 0; i < length; i++) {
+			if (buffer.remaining() < sampleSize)
+				flush();
+			if (sampleSize == SamplePackFile.SAMPLE_SIZE) {
+				buffer.putDouble(values[i]);
+				buffer.putDouble(cdist[i]);
+			} else {
+				buffer.putFloat(floats[i]);
+				buffer.putChar(CompactSampleTable.encodeCDist(cdist[i]));
+			}
+		}
+		position += (long) length * sampleSize;
+	}
+
+	public void append(int tupleNum, int attrNum, Sample[] samples) throws IOException {
+		double[] values = new double[samples.length];
+		double[] cdist = new double[samples.length];
+		for (int i = 0; i < samples.length; i++) {
+			values[i] = samples[i].getValue();
+			cdist[i] = samples[i].getCDist();
+		}
+		append(tupleNum, attrNum, values, cdist, samples.length);
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * Writing the header and the index, and closing the file
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel == null)
+			return;
+		try {
+			flush();
+			ByteBuffer header = ByteBuffer.allocate(SamplePackFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putLong(SamplePackFile.MAGIC);
+			header.putInt(noTuples);
+			header.putInt(noAttr);
+			header.putInt(sampleSize);
+			header.flip();
+			channel.write(header, 0);
+			index.rewind();
+			long pos = SamplePackFile.HEADER_SIZE;
+			while (index.hasRemaining())
+				pos += channel.write(index, pos);
+		} finally {
+			channel.close();
+			channel = null;
+		}
+		log.info("Packed " + noTuples + " x " + noAttr + " PDFs into " + file + " (" + (position >> 10) + " KB)");
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * SampleTable (Abstract class) - Stores the sample values and cumulative distributions of
+ * one or more sample-distributed attributes, addressed by absolute sample indices.
+ * A SampleAttribute reads its samples as a contiguous run of the table.
+ *
+ * @since 0.9
+ */
+public abstract class SampleTable {
+
+	/**
+	 * Getting the number of samples stored
+	 *
+	 * @return the number of samples
+	 */
+	public abstract int size();
+
+	/**
+	 * Getting the value of the sample at given index
+	 *
+	 * @param index the index of the sample
+	 * @return the sample value
+	 */
+	public abstract double getValue(int index);
+
+	/**
+	 * Getting the cumulative distribution of the sample at given index
+	 *
+	 * @param index the index of the sample
+	 * @return the cumulative distribution up to the sample
+	 */
+	public abstract double getCDist(int index);
+
+	/**
+	 * Searching a sample value in the samples between fromIndex (inclusive) and toIndex (exclusive).
+	 * It follows the contract of Arrays.binarySearch.
+	 *
+	 * @param key       the sample value
+	 * @param fromIndex the first index
+	 * @param toIndex   the index after the last one
+	 * @return the index of the key if found, (-(insertion point) - 1) otherwise
+	 */
+	public int binarySearch(double key, int fromIndex, int toIndex) {
+		int low = fromIndex;
+		int high = toIndex - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			double value = getValue(mid);
+			if (value < key)
+				low = mid + 1;
+			else if (value > key)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Creating a table of the samples, with reduced precision if the compact storage is enabled
+	 *
+	 * @param values the sample values in ascending order
+	 * @param cdist  the cumulative distributions of the samples
+	 * @return the sample table
+	 */
+	public static SampleTable createTable(double[] values, double[] cdist) {
+		if (GlobalParam.isCompact())
+			return new CompactSampleTable(values, cdist);
+		return new ArraySampleTable(values, cdist);
+	}
+
+	public static SampleTable createTable(Sample[] samples) {
+		double[] values = new double[samples.length];
+		double[] cdist = new double[samples.length];
+		for (int i = 0; i < samples.length; i++) {
+			values[i] = samples[i].getValue();
+			cdist[i] = samples[i].getCDist();
+		}
+		return createTable(values, cdist);
+	}
+
+}
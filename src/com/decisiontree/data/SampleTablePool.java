@@ -0,0 +1,244 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SampleTablePool - Interns the PDFs of a dataset into shared immutable sample tables.
+ * Identical PDFs share one table. PDFs of the same shape differing only by an offset share
+ * one shape table, when shifting the shape reproduces the sample values exactly.
+ * In compact mode the PDFs are reduced to the precision of CompactSampleTable before interning.
+ * Every distinct table is given an id in the order it is first interned.
+ *
+ * @since 0.9
+ */
+public class SampleTablePool {
+
+	private static final Logger log = Logger.getLogger(SampleTablePool.class);
+
+	// estimated heap size of an ArraySampleTable: the object, two array headers and the samples
+	private static final int TABLE_OVERHEAD = 56;
+	private static final int SAMPLE_SIZE = 16;
+	private static final int COMPACT_TABLE_OVERHEAD = 48;
+	private static final int SHIFTED_TABLE_SIZE = 24;
+	// estimated heap size of an entry of the pool: the map node, the Long key, the bucket list and its array,
+	// the slot of the map table and the reference in the table list
+	private static final int ENTRY_OVERHEAD = 112;
+
+	private Map<Long, List<SampleTable>> tables = new HashMap<Long, List<SampleTable>>();
+	private Map<Long, List<SampleTable>> shapes = new HashMap<Long, List<SampleTable>>();
+	private List<SampleTable> tableList = new ArrayList<SampleTable>();
+
+	private boolean shifting;
+	private boolean compact;
+
+	private long noRequests = 0;
+	private long noSamplesRequested = 0;
+	private int noShapes = 0;
+	private int noShifted = 0;
+	private int noArrays = 0;
+	private long noSamplesStored = 0;
+
+	public SampleTablePool() {
+		this(false);
+	}
+
+	/**
+	 * @param shifting sharing the shapes of PDFs differing only by an offset if true
+	 */
+	public SampleTablePool(boolean shifting) {
+		this(shifting, false);
+	}
+
+	/**
+	 * @param shifting sharing the shapes of PDFs differing only by an offset if true
+	 * @param compact  storing the PDFs in CompactSampleTable if true
+	 */
+	public SampleTablePool(boolean shifting, boolean compact) {
+		this.shifting = shifting;
+		this.compact = compact;
+	}
+
+	/**
+	 * Interning a PDF. The arrays are kept by the pool if the PDF is new, and must not be changed afterwards.
+	 *
+	 * @param values the sample values in ascending order
+	 * @param cdist  the cumulative distributions of the samples
+	 * @return the shared sample table
+	 */
+	public synchronized SampleTable intern(double[] values, double[] cdist) {
+		noRequests++;
+		noSamplesRequested += values.length;
+		if (compact)
+			CompactSampleTable.quantize(values, cdist);
+
+		long key = hash(values, 0, cdist);
+		SampleTable table = find(tables.get(key), values, 0, cdist);
+		if (table != null)
+			return table;
+
+		if (shifting && values.length > 0 && isExactShift(values)) {
+			double shift = values[0];
+			long shapeKey = hash(values, shift, cdist);
+			SampleTable shape = find(shapes.get(shapeKey), values, shift, cdist);
+			if (shape == null) {
+				double[] shapeValues = new double[values.length];
+				for (int i = 0; i < values.length; i++)
+					shapeValues[i] = values[i] - shift;
+				shape = createTable(shapeValues, cdist);
+				put(shapes, shapeKey, shape);
+				noShapes++;
+				noArrays++;
+				noSamplesStored += values.length;
+			}
+			if (shift == 0.0) {
+				table = shape;
+			} else {
+				table = new ShiftedSampleTable(shape, shift);
+				noShifted++;
+			}
+		} else {
+			table = createTable(values, cdist);
+			noArrays++;
+			noSamplesStored += values.length;
+		}
+
+		put(tables, key, table);
+		tableList.add(table);
+		return table;
+	}
+
+	/**
+	 * Interning a PDF given by samples
+	 *
+	 * @param samples the samples in ascending order of value
+	 * @return the shared sample table
+	 */
+	public SampleTable intern(Sample[] samples) {
+		double[] values = new double[samples.length];
+		double[] cdist = new double[samples.length];
+		for (int i = 0; i < samples.length; i++) {
+			values[i] = samples[i].getValue();
+			cdist[i] = samples[i].getCDist();
+		}
+		return intern(values, cdist);
+	}
+
+	private SampleTable createTable(double[] values, double[] cdist) {
+		if (compact)
+			return new CompactSampleTable(values, cdist);
+		return new ArraySampleTable(values, cdist);
+	}
+
+	private boolean isExactShift(double[] values) {
+		double shift = values[0];
+		for (int i = 0; i < values.length; i++) {
+			double shape = values[i] - shift;
+			if (shape + shift != values[i] || (compact && (float) shape != shape))
+				return false;
+		}
+		return true;
+	}
+
+	private long hash(double[] values, double shift, double[] cdist) {
+		long hash = values.length;
+		for (int i = 0; i < values.length; i++) {
+			hash = 31 * hash + Double.doubleToLongBits(values[i] - shift);
+			hash = 31 * hash + Double.doubleToLongBits(cdist[i]);
+		}
+		return hash;
+	}
+
+	private SampleTable find(List<SampleTable> bucket, double[] values, double shift, double[] cdist) {
+		if (bucket == null)
+			return null;
+		for (SampleTable table : bucket) {
+			if (table.size() != values.length)
+				continue;
+			boolean same = true;
+			for (int i = 0; i < values.length && same; i++)
+				same = table.getCDist(i) == cdist[i] && table.getValue(i) == values[i] - shift;
+			if (same)
+				return table;
+		}
+		return null;
+	}
+
+	private void put(Map<Long, List<SampleTable>> map, long key, SampleTable table) {
+		List<SampleTable> bucket = map.get(key);
+		if (bucket == null) {
+			bucket = new ArrayList<SampleTable>(1);
+			map.put(key, bucket);
+		}
+		bucket.add(table);
+	}
+
+	public synchronized SampleTable getTable(int id) {
+		return tableList.get(id);
+	}
+
+	public synchronized int getNoTables() {
+		return tableList.size();
+	}
+
+	public synchronized int getNoShapes() {
+		return noShapes;
+	}
+
+	public synchronized int getNoShifted() {
+		return noShifted;
+	}
+
+	public synchronized long getNoRequests() {
+		return noRequests;
+	}
+
+	/**
+	 * Estimating the heap saved compared with a table for every PDF interned, including the maps of the pool.
+	 * The estimate is negative if the pool costs more than it shares.
+	 *
+	 * @return the estimated number of bytes saved
+	 */
+	public synchronized long findBytesSaved() {
+		int tableOverhead = compact ? COMPACT_TABLE_OVERHEAD : TABLE_OVERHEAD;
+		int sampleSize = compact ? CompactSampleTable.SAMPLE_SIZE : SAMPLE_SIZE;
+		long unshared = noRequests * tableOverhead + noSamplesRequested * sampleSize;
+		long shared = (long) noArrays * tableOverhead
+		  + (long) noShifted * SHIFTED_TABLE_SIZE + noSamplesStored * sampleSize
+		  + (long) (tableList.size() + noShapes) * ENTRY_OVERHEAD;
+		return unshared - shared;
+	}
+
+	/**
+	 * Logging the number of PDFs interned, the tables shared and the estimated heap saved
+	 */
+	public void printStatistics() {
+		log.info("Interned " + getNoRequests() + " PDFs into " + getNoTables() + " tables on "
+		  + getNoShapes() + " shapes (" + getNoShifted() + " shifted), saving about " + findBytesSaved() / (1 << 10) + " KB");
+	}
+
+}
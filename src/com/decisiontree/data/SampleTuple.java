@@ -20,8 +20,6 @@
  */
 package com.decisiontree.data;
 
-import com.decisiontree.param.GlobalParam;
-
 /**
  * SampleTuple - Stores a fully interval-valued tuple with distribution represented by samples.
  *
@@ -60,36 +58,114 @@ public class SampleTuple extends RangeTuple {
 	}
 
 	public SampleTuple(String data, int noAttr, int cls, double weight, int num, SampleDataSet db, boolean averaging) {
+		this(new LineScanner(data), noAttr, cls, weight, num, db, averaging);
+	}
+
+	public SampleTuple(LineScanner line, int noAttr, int cls, double weight, int num, SampleDataSet db, boolean averaging) {
 		super(noAttr, cls, weight);
-		String[] dataArray = data.split(GlobalParam.SEPERATOR);
 		Attribute[] attrSet = new Attribute[noAttr];
 		for (int i = 0; i < noAttr; i++) {
-			int index = dataArray[i].indexOf("->");
-
-			double start = Double.parseDouble(dataArray[i].substring(0, index));
-			double end = Double.parseDouble(dataArray[i].substring(index + 2));
-
-			Sample samples[] = db.getSamples(num, i);
-			attrSet[i] = new SampleAttribute(start, end, samples, averaging);
+			double start = line.nextIntervalStart();
+			double end = line.nextIntervalEnd();
+
+			SampleCache cache = db.getSampleCache();
+			if (cache != null) {
+				int noSamples = db.findNoSamples(num, i);
+				SampleAttribute attr = new SampleAttribute(start, end, new LazySampleTable(cache, db, num, i, noSamples), 0, noSamples);
+				if (averaging) attr.setValue(attr.getAverage());
+				attrSet[i] = attr;
+				continue;
+			}
+
+			attrSet[i] = createAttribute(start, end, db.getSamples(num, i), db, averaging);
+		}
+		setAttributeSet(attrSet);
+	}
 
+	/**
+	 * Constructor by the intervals of a tuple and the samples of its PDFs, which are read already
+	 *
+	 * @param intervals the tuple of the intervals
+	 * @param samples   the samples of each attribute
+	 * @param db        the dataset
+	 * @param averaging setting the value of each attribute to the average of its PDF if true
+	 */
+	public SampleTuple(RangeTuple intervals, Sample[][] samples, SampleDataSet db, boolean averaging) {
+		super(intervals.getNoAttr(), intervals.getCls(), intervals.getWeight());
+		Attribute[] attrSet = new Attribute[getNoAttr()];
+		for (int i = 0; i < attrSet.length; i++) {
+			RangeAttribute interval = (RangeAttribute) intervals.getAttribute(i);
+			attrSet[i] = createAttribute(interval.getAbsStart(), interval.getAbsEnd(), samples[i], db, averaging);
 		}
 		setAttributeSet(attrSet);
 	}
 
+	// The samples of a PDF file, stored in the arena of the dataset if there is one, or shared through the pool of the dataset
+	private static SampleAttribute createAttribute(double start, double end, Sample[] samples, SampleDataSet db, boolean averaging) {
+		SampleTablePool pool = db.getSamplePool();
+		SampleArena arena = db.getSampleArena();
+		if (arena != null) {
+			// the arena cannot be read until the dataset is loaded, so the average is found on the heap
+			double[] values = new double[samples.length];
+			double[] cdist = new double[samples.length];
+			for (int j = 0; j < samples.length; j++) {
+				values[j] = samples[j].getValue();
+				cdist[j] = samples[j].getCDist();
+			}
+			SampleAttribute attr = new SampleAttribute(start, end, arena, arena.append(values, cdist), samples.length);
+			if (averaging) attr.setValue(new SampleAttribute(start, end, samples).getAverage());
+			return attr;
+		} else if (pool == null) {
+			return new SampleAttribute(start, end, samples, averaging);
+		}
+		SampleAttribute attr = new SampleAttribute(start, end, pool.intern(samples), 0, samples.length);
+		if (averaging) attr.setValue(attr.getAverage());
+		return attr;
+	}
+
 	// @param data the line of the .data file to be converted to a SampleTuple
 	// My hardcorded sample tuple constructor. This will ignore the PDFs files and will create PDFs in memory
 	public SampleTuple(String data, int noAttr, int cls) {
+		this(data, noAttr, cls, (SampleTablePool) null);
+	}
+
+	// The same in-memory PDFs, shared through the pool if it is not null.
+	// A field may also be a parametric PDF, see ParametricAttribute.parse
+	public SampleTuple(String data, int noAttr, int cls, SampleTablePool pool) {
+		this(data, noAttr, cls, pool, null);
+	}
+
+	// The same PDFs, stored in the arena of the dataset if there is one, or shared through the pool of the dataset
+	public SampleTuple(String data, int noAttr, int cls, SampleDataSet db) {
+		this(new LineScanner(data), noAttr, cls, db);
+	}
+
+	public SampleTuple(LineScanner line, int noAttr, int cls, SampleDataSet db) {
+		this(line, noAttr, cls, db.getSamplePool(), db.getSampleArena());
+	}
+
+	private SampleTuple(String data, int noAttr, int cls, SampleTablePool pool, SampleArena arena) {
+		this(new LineScanner(data), noAttr, cls, pool, arena);
+	}
+
+	private SampleTuple(LineScanner line, int noAttr, int cls, SampleTablePool pool, SampleArena arena) {
 		super(noAttr, cls, 1.0);
-		String[] dataArray = data.split(GlobalParam.SEPERATOR);
 		Attribute[] attrSet = new Attribute[noAttr];
 		for (int i = 0; i < noAttr; i++) {
-			double p = Double.parseDouble(dataArray[i]);
-
-			Sample[] samples = new Sample[2];
-			samples[0] = new Sample(0.0, (1-p));
-			samples[1] = new Sample(1.0, 1.0);
-
-			attrSet[i] = new SampleAttribute(-0.01, 1.01, samples, false);
+			if (line.isParametric()) {
+				attrSet[i] = ParametricAttribute.parse(line.nextField(), pool);
+				continue;
+			}
+			double[] values = new double[BernoulliAttribute.NO_SAMPLES];
+			double[] cdist = new double[BernoulliAttribute.NO_SAMPLES];
+			int noSamples = BernoulliAttribute.createSamples(line.nextValue(), values, cdist);
+			if (arena != null) {
+				attrSet[i] = new SampleAttribute(BernoulliAttribute.START, BernoulliAttribute.END, arena, arena.append(values, cdist), noSamples);
+				continue;
+			}
+			SampleTable samples = pool == null ? SampleTable.createTable(values, cdist) : pool.intern(values, cdist);
+
+			attrSet[i] = new SampleAttribute(BernoulliAttribute.START, BernoulliAttribute.END, samples, 0, noSamples);
 		}
 		setAttributeSet(attrSet);
 	}
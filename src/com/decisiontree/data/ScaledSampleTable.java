@@ -0,0 +1,55 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * ScaledSampleTable - Stores the samples of a PDF as a shared standard shape, scaled and shifted.
+ *
+ * @since 0.9
+ */
+public class ScaledSampleTable extends SampleTable {
+
+	private SampleTable shape;
+	private double location;
+	private double scale;
+
+	public ScaledSampleTable(SampleTable shape, double location, double scale) {
+		this.shape = shape;
+		this.location = location;
+		this.scale = scale;
+	}
+
+	@Override
+	public int size() {
+		return shape.size();
+	}
+
+	@Override
+	public double getValue(int index) {
+		return location + scale * shape.getValue(index);
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return shape.getCDist(index);
+	}
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * ShiftedSampleTable - Stores the samples of a PDF as a shared shape shifted by an offset.
+ *
+ * @since 0.9
+ */
+public class ShiftedSampleTable extends SampleTable {
+
+	private SampleTable shape;
+	private double shift;
+
+	public ShiftedSampleTable(SampleTable shape, double shift) {
+		this.shape = shape;
+		this.shift = shift;
+	}
+
+	@Override
+	public int size() {
+		return shape.size();
+	}
+
+	@Override
+	public double getValue(int index) {
+		return shape.getValue(index) + shift;
+	}
+
+	@Override
+	public double getCDist(int index) {
+		return shape.getCDist(index);
+	}
+
+	public SampleTable getShape() {
+		return shape;
+	}
+
+	public double getShift() {
+		return shift;
+	}
+
+}
@@ -0,0 +1,159 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TupleCoalescer - Merges the tuples with the same class and the same attributes into one tuple
+ * weighted by the sum of their weights.
+ * The given tuples are not changed, so that the tuples can be shared by the folds of cross-validation.
+ *
+ * @since 0.9
+ */
+public class TupleCoalescer {
+
+	private static final Logger log = Logger.getLogger(TupleCoalescer.class);
+
+	private TupleCoalescer() {
+	}
+
+	/**
+	 * Coalescing the duplicated tuples
+	 *
+	 * @param data the tuples
+	 * @return the coalesced tuples in the order of their first occurrences
+	 */
+	public static List<Tuple> coalesce(List<Tuple> data) {
+		List<Tuple> result = new ArrayList<Tuple>(data.size());
+		Map<Integer, List<Integer>> buckets = new HashMap<Integer, List<Integer>>();
+		BitSet copied = new BitSet();
+
+		for (Tuple tuple : data) {
+			int hash = hashTuple(tuple);
+			List<Integer> bucket = buckets.get(hash);
+			if (bucket == null) {
+				bucket = new ArrayList<Integer>(1);
+				buckets.put(hash, bucket);
+			}
+
+			int found = -1;
+			for (int index : bucket) {
+				if (isSameTuple(result.get(index), tuple)) {
+					found = index;
+					break;
+				}
+			}
+			if (found < 0) {
+				bucket.add(result.size());
+				result.add(tuple);
+				continue;
+			}
+
+			Tuple merged = result.get(found);
+			if (copied.get(found)) {
+				merged.setWeight(merged.getWeight() + tuple.getWeight());
+				continue;
+			}
+			result.set(found, copy(merged, merged.getWeight() + tuple.getWeight()));
+			copied.set(found);
+		}
+
+		if (result.size() < data.size())
+			log.info("Coalesced " + data.size() + " tuples into " + result.size() + " weighted tuples");
+		return result;
+	}
+
+	static Tuple copy(Tuple tuple, double weight) {
+		if (tuple instanceof SampleTuple)
+			return SampleTuple.copy((SampleTuple) tuple, weight);
+		if (tuple instanceof RangeTuple)
+			return RangeTuple.copy((RangeTuple) tuple, weight);
+		return PointTuple.copy((PointTuple) tuple, weight);
+	}
+
+	private static int hashTuple(Tuple tuple) {
+		int hash = tuple.getCls();
+		for (int i = 0; i < tuple.getNoAttr(); i++)
+			hash = 31 * hash + hashAttribute(tuple.getAttribute(i));
+		return hash;
+	}
+
+	private static int hashAttribute(Attribute attr) {
+		if (attr instanceof SampleAttribute) {
+			SampleAttribute sample = (SampleAttribute) attr;
+			int hash = sample.getNoSample();
+			for (int i = 0; i < sample.getNoSample(); i++)
+				hash = 31 * hash + Double.hashCode(sample.getSampleValue(i));
+			return 31 * hash + Double.hashCode(sample.getStart());
+		}
+		if (attr instanceof RangeAttribute) {
+			RangeAttribute range = (RangeAttribute) attr;
+			return 31 * Double.hashCode(range.getStart()) + Double.hashCode(range.getEnd());
+		}
+		if (attr instanceof PointAttribute)
+			return Double.hashCode(((PointAttribute) attr).getValue());
+		return ((CategoricalAttribute) attr).getValue().hashCode();
+	}
+
+	private static boolean isSameTuple(Tuple tuple1, Tuple tuple2) {
+		if (tuple1.getCls() != tuple2.getCls() || tuple1.getNoAttr() != tuple2.getNoAttr())
+			return false;
+		for (int i = 0; i < tuple1.getNoAttr(); i++)
+			if (!isSameAttribute(tuple1.getAttribute(i), tuple2.getAttribute(i)))
+				return false;
+		return true;
+	}
+
+	private static boolean isSameAttribute(Attribute attr1, Attribute attr2) {
+		if (attr1 == attr2) return true;
+		if (attr1.getClass() != attr2.getClass()) return false;
+
+		if (attr1 instanceof RangeAttribute) {
+			RangeAttribute range1 = (RangeAttribute) attr1, range2 = (RangeAttribute) attr2;
+			if (range1.getAbsStart() != range2.getAbsStart() || range1.getAbsEnd() != range2.getAbsEnd()
+			  || range1.getStart() != range2.getStart() || range1.getEnd() != range2.getEnd()
+			  || range1.getValue() != range2.getValue())
+				return false;
+			if (!(attr1 instanceof SampleAttribute)) return true;
+
+			SampleAttribute sample1 = (SampleAttribute) attr1, sample2 = (SampleAttribute) attr2;
+			if (sample1.getNoSample() != sample2.getNoSample()) return false;
+			if (sample1.getTable() == sample2.getTable() && sample1.getOffset() == sample2.getOffset())
+				return true;
+			for (int i = 0; i < sample1.getNoSample(); i++)
+				if (sample1.getSampleValue(i) != sample2.getSampleValue(i)
+				  || sample1.getSampleCDist(i) != sample2.getSampleCDist(i))
+					return false;
+			return true;
+		}
+		if (attr1 instanceof PointAttribute)
+			return ((PointAttribute) attr1).getValue() == ((PointAttribute) attr2).getValue();
+		return ((CategoricalAttribute) attr1).getValue().equals(((CategoricalAttribute) attr2).getValue());
+	}
+
+}
@@ -0,0 +1,194 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * TupleCoreset - Reduces the tuples to a weighted sample of a given size.
+ * The size is allocated to the classes in proportion to their weights. Within a class, a tuple is
+ * sampled with a probability proportional to the spread of its PDFs, so wide PDFs which may lie on
+ * either side of many split points are kept more often. A sampled tuple is weighted by its weight over
+ * its probability, and the weights of each class are scaled to the weight of the class in the
+ * given tuples, so that the class distribution is unchanged.
+ *
+ * @since 0.9
+ */
+public class TupleCoreset {
+
+	private static final Logger log = Logger.getLogger(TupleCoreset.class);
+
+	private TupleCoreset() {
+	}
+
+	/**
+	 * Reducing the tuples to a coreset
+	 *
+	 * @param data  the tuples
+	 * @param noCls the number of classes
+	 * @param size  the size of the coreset
+	 * @param seed  the seed of sampling
+	 * @return the coreset, or the tuples themselves if they are not more than the size
+	 */
+	public static List<Tuple> reduce(List<Tuple> data, int noCls, int size, long seed) {
+		if (data.size() <= size)
+			return data;
+
+		double[] spread = findSpread(data);
+		double[] clsWeight = Tuple.computeClsDist(data, noCls);
+		double totalWeight = 0.0;
+		for (double w : clsWeight) totalWeight += w;
+
+		List<List<Integer>> clsTuples = new ArrayList<List<Integer>>(noCls);
+		for (int c = 0; c < noCls; c++)
+			clsTuples.add(new ArrayList<Integer>());
+		for (int i = 0; i < data.size(); i++)
+			clsTuples.get(data.get(i).getCls()).add(i);
+
+		Random random = new Random(seed);
+		List<Tuple> coreset = new ArrayList<Tuple>(size + noCls);
+		for (int c = 0; c < noCls; c++) {
+			List<Integer> tuples = clsTuples.get(c);
+			if (tuples.isEmpty())
+				continue;
+			int noSampled = (int) Math.max(1, Math.min(tuples.size(), Math.round(size * clsWeight[c] / totalWeight)));
+			sample(data, tuples, spread, noSampled, clsWeight[c], random, coreset);
+		}
+
+		log.info("Reduced " + data.size() + " tuples to a coreset of " + coreset.size() + " weighted tuples");
+		return coreset;
+	}
+
+	/**
+	 * Sampling the tuples of a class systematically with probabilities proportional to their importance,
+	 * taking the tuples whose probability would be more than one with certainty.
+	 */
+	private static void sample(List<Tuple> data, List<Integer> tuples, double[] spread, int noSampled,
+							   double clsWeight, Random random, List<Tuple> coreset) {
+		int n = tuples.size();
+		double[] importance = new double[n];
+		for (int k = 0; k < n; k++)
+			importance[k] = data.get(tuples.get(k)).getWeight() * spread[tuples.get(k)];
+
+		double[] prob = new double[n];
+		boolean[] certain = new boolean[n];
+		int noLeft = noSampled;
+		boolean capped = true;
+		while (capped && noLeft > 0) {
+			capped = false;
+			double total = 0.0;
+			for (int k = 0; k < n; k++)
+				if (!certain[k]) total += importance[k];
+			for (int k = 0; k < n; k++) {
+				if (certain[k]) continue;
+				prob[k] = total > 0 ? noLeft * importance[k] / total : 0.0;
+				if (prob[k] >= 1.0) {
+					prob[k] = 1.0;
+					certain[k] = true;
+					noLeft--;
+					capped = true;
+				}
+			}
+		}
+		// the certain tuples may take all the samples, leaving the probabilities of the last pass stale
+		if (noLeft == 0)
+			for (int k = 0; k < n; k++)
+				if (!certain[k]) prob[k] = 0.0;
+
+		double[] weights = new double[n];
+		double sampledWeight = 0.0;
+		double point = random.nextDouble();
+		double cumulative = 0.0;
+		for (int k = 0; k < n; k++) {
+			Tuple tuple = data.get(tuples.get(k));
+			boolean sampled = certain[k];
+			if (!sampled && prob[k] > 0) {
+				cumulative += prob[k];
+				if (cumulative > point) {
+					sampled = true;
+					point += 1.0;
+				}
+			}
+			if (sampled) {
+				weights[k] = tuple.getWeight() / prob[k];
+				sampledWeight += weights[k];
+			}
+		}
+
+		double scale = clsWeight / sampledWeight;
+		for (int k = 0; k < n; k++)
+			if (weights[k] > 0)
+				coreset.add(TupleCoalescer.copy(data.get(tuples.get(k)), weights[k] * scale));
+	}
+
+	/**
+	 * Finding the spread of the PDFs of each tuple, as one plus the sum of the standard deviations of
+	 * its attributes relative to the mean standard deviation of each attribute
+	 */
+	private static double[] findSpread(List<Tuple> data) {
+		int noAttr = data.get(0).getNoAttr();
+		double[][] stdDev = new double[data.size()][noAttr];
+		double[] meanStdDev = new double[noAttr];
+		for (int i = 0; i < data.size(); i++) {
+			for (int j = 0; j < noAttr; j++) {
+				stdDev[i][j] = findStdDev(data.get(i).getAttribute(j));
+				meanStdDev[j] += stdDev[i][j] / data.size();
+			}
+		}
+
+		double[] spread = new double[data.size()];
+		Arrays.fill(spread, 1.0);
+		for (int i = 0; i < data.size(); i++)
+			for (int j = 0; j < noAttr; j++)
+				if (meanStdDev[j] > 0)
+					spread[i] += stdDev[i][j] / meanStdDev[j];
+		return spread;
+	}
+
+	private static double findStdDev(Attribute attr) {
+		if (attr instanceof SampleAttribute) {
+			SampleAttribute sample = (SampleAttribute) attr;
+			int start = sample.getStartPos(), end = sample.getEndPos();
+			double prevDist = start < 0 ? 0.0 : sample.getSampleCDist(start);
+			double total = 0.0, sum = 0.0, sumSq = 0.0;
+			for (int k = start + 1; k <= end; k++) {
+				double mass = sample.getSampleCDist(k) - prevDist;
+				double value = sample.getSampleValue(k);
+				total += mass;
+				sum += mass * value;
+				sumSq += mass * value * value;
+				prevDist = sample.getSampleCDist(k);
+			}
+			if (total <= 0) return 0.0;
+			double mean = sum / total;
+			return Math.sqrt(Math.max(sumSq / total - mean * mean, 0.0));
+		}
+		if (attr instanceof RangeAttribute)
+			return (((RangeAttribute) attr).getEnd() - ((RangeAttribute) attr).getStart()) / Math.sqrt(12);
+		return 0.0;
+	}
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * TupleParser (Interface) - Parses a line of a data file into a tuple, receiving the tuples of the file as they are scanned.
+ * The parser may be called by several threads at the same time if the file is loaded in parallel.
+ *
+ * @since 0.9
+ * @see DataFileLoader
+ */
+public interface TupleParser {
+
+	/**
+	 * Parsing a line of a data file
+	 *
+	 * @param line the scanner of the line, used by this thread only
+	 * @param num  the line number in the file
+	 * @return the tuple, or null if the line is stored elsewhere
+	 */
+	public Tuple parse(LineScanner line, int num);
+
+}
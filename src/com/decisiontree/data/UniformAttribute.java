@@ -0,0 +1,61 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+/**
+ * UniformAttribute - Stores an attribute uniformly distributed over its interval.
+ *
+ * @since 0.9
+ */
+public class UniformAttribute extends ParametricAttribute {
+
+	public UniformAttribute(double start, double end, int noQuantiles) {
+		this(start, end, noQuantiles, null);
+	}
+
+	public UniformAttribute(double start, double end, int noQuantiles, SampleTablePool pool) {
+		super(start, end, new ScaledSampleTable(createStandardTable(noQuantiles, pool), start, end - start));
+	}
+
+	public UniformAttribute(UniformAttribute p, double curStart, double curEnd) {
+		super(p, curStart, curEnd);
+	}
+
+	private static SampleTable createStandardTable(int noQuantiles, SampleTablePool pool) {
+		double[] values = new double[noQuantiles];
+		for (int k = 0; k < noQuantiles; k++)
+			values[k] = (k + 0.5) / noQuantiles;
+		return createQuantileTable(values, pool);
+	}
+
+	@Override
+	public double findCDist(double value) {
+		if (value <= getAbsStart()) return 0.0;
+		if (value >= getAbsEnd()) return 1.0;
+		return (value - getAbsStart()) / (getAbsEnd() - getAbsStart());
+	}
+
+	@Override
+	public UniformAttribute cut(double curStart, double curEnd) {
+		return new UniformAttribute(this, curStart, curEnd);
+	}
+
+}
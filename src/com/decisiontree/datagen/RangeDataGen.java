@@ -20,17 +20,28 @@
  */
 package com.decisiontree.datagen;
 
+import com.decisiontree.data.Attribute;
 import com.decisiontree.data.PointAttribute;
 import com.decisiontree.data.PointDataSet;
 import com.decisiontree.data.PointDataSetInit;
 import com.decisiontree.data.RangeAttribute;
+import com.decisiontree.data.RangeDataSet;
+import com.decisiontree.data.RangeTuple;
+import com.decisiontree.data.Tuple;
 import com.decisiontree.param.GlobalParam;
 import org.apache.log4j.BasicConfigurator;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * RangeDataGen - Generates interval-valued uncertain data from point-valued data.
@@ -47,6 +58,7 @@ public class RangeDataGen implements DataGen {
 	private boolean varies;
 	private double[] attrRangeArray;
 	private int[] precisionArray;
+	private long seed = GlobalParam.DEFAULT_SEED;
 
 	public RangeDataGen(String input, String nameFile, boolean varies) {
 		PointDataSetInit init = new PointDataSetInit(input, nameFile);
@@ -213,10 +225,30 @@ public class RangeDataGen implements DataGen {
 		this.attrRangeArray = attrRangeArray;
 	}
 
+	/**
+	 * Setting the range of each continuous attribute to its interval width times its domain size in the dataset
+	 *
+	 * @param width the interval width list of the attributes, null for keeping the ranges
+	 */
+	public void setAttrRanges(double[] width) {
+		if (width == null)
+			return;
+		for (int k = 0; k < dataSet.getNoAttr(); k++) {
+			if (!dataSet.isContinuous(k))
+				continue;
+			log.info("Interval Width: " + width[k]);
+			setAttrRange(k, width[k] * dataSet.getDomainSize(k));
+		}
+	}
+
 	public int getNoAttr() {
 		return dataSet.getNoAttr();
 	}
 
+	public PointDataSet getDataSet() {
+		return dataSet;
+	}
+
 	protected double roundingOff(double number, double decimalPlaces) {
 		double value = 1.0;
 		if (decimalPlaces > 0)
@@ -230,22 +262,22 @@ public class RangeDataGen implements DataGen {
 		return val;
 	}
 
-	protected RangeAttribute genError(PointAttribute t, int pos) {
+	protected RangeAttribute genError(PointAttribute t, int pos, Random random) {
 
 		double midVal = t.getValue();
 		double left = 0;
 		double right = 0;
 
+		// a varying interval is scaled down by a random factor of at least 0.1
 		double varSize = 1.0;
 		if (varies) {
-			Random ran = new Random();
 			do {
-				varSize = ran.nextDouble();
+				varSize = random.nextDouble();
 			} while (varSize < 0.1);
 		}
 
-		left = midVal - getAttrRange(pos);
-		right = midVal + getAttrRange(pos);
+		left = midVal - getAttrRange(pos) * varSize;
+		right = midVal + getAttrRange(pos) * varSize;
 
 		left = roundingOff(left, getPrecision(pos));
 		right = roundingOff(right, getPrecision(pos));
@@ -256,42 +288,14 @@ public class RangeDataGen implements DataGen {
 
 	public void storeGeneratedData(String input, double[] width) {
 		BufferedWriter writer = null;
-		BufferedReader reader = null;
 
 		try {
 			writer = new BufferedWriter(new FileWriter(input
 			  + GlobalParam.RANGE_FILE));
 
-			int noAttr = dataSet.getNoAttr();
+			setAttrRanges(width);
 
-			for (int k = 0; k < noAttr; k++) {
-				if (!dataSet.isContinuous(k))
-					continue;
-				if (width != null) {
-					log.info("Interval Width: " + width[k]);
-					setAttrRange(k, width[k] * dataSet.getDomainSize(k));
-				}
-
-			}
-
-			reader = new BufferedReader(new FileReader(input
-			  + GlobalParam.POINT_FILE));
-			String data = "";
-			for (int i = 0; (data = reader.readLine()) != null; i++) {
-				String dataArray[] = data.split(GlobalParam.SEPERATOR);
-				for (int k = 0; k < noAttr; k++) {
-					if (!dataSet.isContinuous(k)) {
-						writer.write(dataArray[k] + GlobalParam.SEPERATOR);
-						continue;
-					}
-					PointAttribute t = new PointAttribute(Double.parseDouble(dataArray[k]));
-					RangeAttribute rt = genError(t, k);
-
-					writer.write(rt.getAbsStart() + GlobalParam.TO + rt.getAbsEnd() + GlobalParam.SEPERATOR);
-				}
-				writer.write(dataArray[dataArray.length - 1]);
-				writer.newLine();
-			}
+			generateTuples(input, writer, Integer.MAX_VALUE, false);
 
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -299,7 +303,6 @@ public class RangeDataGen implements DataGen {
 		} finally {
 			try {
 				if (writer != null) writer.close();
-				if (reader != null) reader.close();
 			} catch (IOException e) {
 				e.printStackTrace();
 
@@ -311,33 +314,13 @@ public class RangeDataGen implements DataGen {
 	protected void storeGeneratedTestData(String test, double[] width) {
 
 		BufferedWriter writer = null;
-		BufferedReader reader = null;
 		try {
 			writer = new BufferedWriter(new FileWriter(test
 			  + GlobalParam.RANGE_FILE));
 
-			int noAttr = dataSet.getNoAttr();
-
 			File pdf = new File(test + GlobalParam.SAMPLE_PATH);
 			pdf.mkdir();
-			reader = new BufferedReader(new FileReader(test + GlobalParam.POINT_FILE));
-			String data = "";
-			for (int i = 0; (data = reader.readLine()) != null; i++) {
-				String dataArray[] = data.split(GlobalParam.SEPERATOR);
-				for (int k = 0; k < noAttr; k++) {
-					if (!dataSet.isContinuous(k)) {
-						writer.write(dataArray[k] + GlobalParam.SEPERATOR);
-						continue;
-					}
-					PointAttribute t = new PointAttribute(Double.parseDouble(dataArray[k]));
-					RangeAttribute rt = genError(t, k);
-
-					writer.write(rt.getAbsStart() + GlobalParam.TO + rt.getAbsEnd() + GlobalParam.SEPERATOR);
-
-				}
-				writer.write(dataArray[dataArray.length - 1]);
-				writer.newLine();
-			}
+			generateTuples(test, writer, Integer.MAX_VALUE, true);
 
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -345,7 +328,6 @@ public class RangeDataGen implements DataGen {
 		} finally {
 			try {
 				if (writer != null) writer.close();
-				if (reader != null) reader.close();
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -353,6 +335,220 @@ public class RangeDataGen implements DataGen {
 
 	}
 
+	/**
+	 * Generating the uncertain tuples of a point data file in parallel. The lines are read in blocks, and each block is
+	 * split among the workers of the common pool, which generate their tuples into their own buffers. The buffers are
+	 * written in the order of the tuples, and each tuple draws from its own random seed, so the output is the same for
+	 * any number of workers.
+	 *
+	 * @param input    the dataset of the point data file
+	 * @param writer   the writer of the uncertain data file
+	 * @param noTuples the maximum number of tuples to generate
+	 * @param testing  whether the tuples are testing tuples, which draw other random sequences than the training tuples
+	 * @throws IOException if a file cannot be read or written
+	 */
+	protected void generateTuples(final String input, BufferedWriter writer, int noTuples, final boolean testing)
+	  throws IOException {
+		BufferedReader reader = new BufferedReader(new FileReader(input + GlobalParam.POINT_FILE));
+		try {
+			final String[] block = new String[GlobalParam.GEN_BLOCK];
+			int noWorkers = ForkJoinPool.getCommonPoolParallelism();
+			String data;
+			for (int first = 0; first < noTuples; ) {
+				int size = 0;
+				while (size < block.length && first + size < noTuples && (data = reader.readLine()) != null)
+					block[size++] = data;
+				if (size == 0)
+					break;
+
+				List<Callable<StringBuilder>> tasks = new ArrayList<Callable<StringBuilder>>(noWorkers);
+				for (int w = 0; w < noWorkers; w++) {
+					final int from = (int) ((long) size * w / noWorkers);
+					final int to = (int) ((long) size * (w + 1) / noWorkers);
+					final int base = first;
+					tasks.add(new Callable<StringBuilder>() {
+						@Override
+						public StringBuilder call() throws IOException {
+							StringBuilder out = new StringBuilder();
+							for (int j = from; j < to; j++)
+								generateTuple(input, block[j], base + j, testing, out);
+							return out;
+						}
+					});
+				}
+				for (StringBuilder out : invokeAll(tasks))
+					writer.append(out);
+				for (int j = 0; j < size; j++)
+					storeTuple(block[j], first + j);
+				first += size;
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Generating an uncertain tuple from a line of the point data file. It may be called by many workers at once.
+	 *
+	 * @param input    the dataset
+	 * @param data     the line of the point data file
+	 * @param tupleNum the tuple number
+	 * @param testing  whether the tuple is a testing tuple
+	 * @param out      the buffer of the worker, to which the line of the uncertain tuple is appended
+	 * @throws IOException if a file of the tuple cannot be written
+	 */
+	protected void generateTuple(String input, String data, int tupleNum, boolean testing, StringBuilder out)
+	  throws IOException {
+		String dataArray[] = data.split(GlobalParam.SEPERATOR);
+		Random random = createRandom(tupleNum, testing);
+		for (int k = 0; k < dataSet.getNoAttr(); k++) {
+			if (!dataSet.isContinuous(k)) {
+				out.append(dataArray[k]).append(GlobalParam.SEPERATOR);
+				continue;
+			}
+			PointAttribute t = new PointAttribute(Double.parseDouble(dataArray[k]));
+			RangeAttribute rt = genError(t, k, random);
+
+			out.append(rt.getAbsStart()).append(GlobalParam.TO).append(rt.getAbsEnd()).append(GlobalParam.SEPERATOR);
+		}
+		out.append(dataArray[dataArray.length - 1]).append(System.lineSeparator());
+	}
+
+	/**
+	 * Generating the uncertain dataset of a point dataset in memory, without writing or reading any file. The point
+	 * dataset is either the one of the generator or a testing dataset of the same attributes, and it is not changed,
+	 * so that it can be generated again with another seed. The tuples are generated in parallel as by generateTuples,
+	 * each from the random generator of its number, so they are the same as the tuples stored and read back.
+	 *
+	 * @param points    the point dataset
+	 * @param testing   whether the point dataset is a testing dataset
+	 * @param averaging setting the value of each attribute to the average of its PDF if true
+	 * @return the uncertain dataset
+	 * @throws IOException if the generation is interrupted
+	 */
+	public PointDataSet generateDataSet(PointDataSet points, final boolean testing, final boolean averaging)
+	  throws IOException {
+		final PointDataSet uncertain = createDataSet(points);
+		final List<Tuple> data = points.getData();
+		final Tuple[] tuples = new Tuple[data.size()];
+		int noWorkers = ForkJoinPool.getCommonPoolParallelism();
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(noWorkers);
+		for (int w = 0; w < noWorkers; w++) {
+			final int from = (int) ((long) tuples.length * w / noWorkers);
+			final int to = (int) ((long) tuples.length * (w + 1) / noWorkers);
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					for (int j = from; j < to; j++)
+						tuples[j] = generateTuple(uncertain, data.get(j), j, testing, averaging);
+					return null;
+				}
+			});
+		}
+		invokeAll(tasks);
+
+		uncertain.setData(new ArrayList<Tuple>(Arrays.asList(tuples)));
+		uncertain.setNoTuples(tuples.length);
+		for (int i = 0; i < points.getNoCls(); i++)
+			uncertain.setClsDistribution(i, points.getClsDistribution(i));
+		return uncertain;
+	}
+
+	/**
+	 * Creating the empty uncertain dataset of the same classes and attributes as a point dataset
+	 *
+	 * @param points the point dataset
+	 * @return the uncertain dataset
+	 */
+	protected PointDataSet createDataSet(PointDataSet points) {
+		return copySchema(points, new RangeDataSet(points.getNoCls(), points.getNoAttr()));
+	}
+
+	protected static PointDataSet copySchema(PointDataSet points, PointDataSet uncertain) {
+		uncertain.setClsNameList(new ArrayList<String>(points.getClsNameList()));
+		uncertain.setAttrNameList(new ArrayList<String>(points.getAttrNameList()));
+		for (int k = 0; k < points.getNoAttr(); k++)
+			uncertain.setContinous(k, points.isContinuous(k));
+		return uncertain;
+	}
+
+	/**
+	 * Generating an uncertain tuple from a point tuple in memory. It may be called by many workers at once.
+	 * The value of an interval is its middle, which is already the average of its uniform PDF.
+	 *
+	 * @param uncertain the uncertain dataset of the tuple
+	 * @param point     the point tuple
+	 * @param tupleNum  the tuple number
+	 * @param testing   whether the tuple is a testing tuple
+	 * @param averaging setting the value of each attribute to the average of its PDF if true
+	 * @return the uncertain tuple
+	 */
+	protected Tuple generateTuple(PointDataSet uncertain, Tuple point, int tupleNum, boolean testing, boolean averaging) {
+		Random random = createRandom(tupleNum, testing);
+		Attribute[] attrSet = new Attribute[point.getNoAttr()];
+		for (int k = 0; k < attrSet.length; k++) {
+			PointAttribute t = (PointAttribute) point.getAttribute(k);
+			if (!dataSet.isContinuous(k))
+				attrSet[k] = new RangeAttribute(t.getValue(), t.getValue());
+			else attrSet[k] = genError(t, k, random);
+		}
+		return new RangeTuple(attrSet, attrSet.length, point.getCls());
+	}
+
+	/**
+	 * Storing a generated tuple after the tuples before it, called in the order of the tuples.
+	 *
+	 * @param data     the line of the point data file
+	 * @param tupleNum the tuple number
+	 * @throws IOException if the tuple cannot be stored
+	 */
+	protected void storeTuple(String data, int tupleNum) throws IOException {
+	}
+
+	/**
+	 * Creating the random generator of a tuple, seeded by the seed of the generation, the tuple number and whether the
+	 * tuple is a testing tuple only. The testing tuples are numbered after all the possible training tuples.
+	 *
+	 * @param tupleNum the tuple number
+	 * @param testing  whether the tuple is a testing tuple
+	 * @return the random generator
+	 */
+	protected Random createRandom(int tupleNum, boolean testing) {
+		return createRandom(seed, testing ? tupleNum + (1L << 32) : tupleNum);
+	}
+
+	/**
+	 * Creating the random generator of a tuple, by the SplitMix64 finalizer of the seed and the tuple number,
+	 * so that the tuples draw unrelated sequences from consecutive numbers
+	 *
+	 * @param seed     the seed of the generation
+	 * @param tupleNum the tuple number
+	 * @return the random generator
+	 */
+	static Random createRandom(long seed, long tupleNum) {
+		long z = seed + (tupleNum + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return new Random(z ^ (z >>> 31));
+	}
+
+	private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+		List<T> results = new ArrayList<T>(tasks.size());
+		try {
+			for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks))
+				results.add(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Generation interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IOException("Cannot generate the tuples", e.getCause());
+		}
+		return results;
+	}
+
 	public void storeGeneratedDataWithTest(String training, String testing, double[] width) {
 		storeGeneratedData(training, width);
 		if (testing != null) storeGeneratedTestData(testing, width);
@@ -366,5 +562,13 @@ public class RangeDataGen implements DataGen {
 		this.varies = varies;
 	}
 
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
 
 }
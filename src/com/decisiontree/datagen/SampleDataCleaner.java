@@ -71,6 +71,8 @@ public class SampleDataCleaner extends RangeDataCleaner {
 
 		File file = new File(input + GlobalParam.SAMPLE_FILE);
 		if (file.exists()) file.delete();
+		File pack = new File(input + GlobalParam.PACK_FILE);
+		if (pack.exists()) pack.delete();
 		File directory = new File(input + GlobalParam.SAMPLE_PATH);
 		if (!directory.exists()) return;
 
@@ -21,9 +21,19 @@
 package com.decisiontree.datagen;
 
 import com.decisiontree.convertor.SampleByteArrayConvertor;
+import com.decisiontree.data.Attribute;
+import com.decisiontree.data.BernoulliAttribute;
+import com.decisiontree.data.CompactSampleTable;
 import com.decisiontree.data.PointAttribute;
+import com.decisiontree.data.PointDataSet;
 import com.decisiontree.data.Range;
-import com.decisiontree.data.RangeAttribute;
+import com.decisiontree.data.SampleAttribute;
+import com.decisiontree.data.SampleDataSet;
+import com.decisiontree.data.SamplePackWriter;
+import com.decisiontree.data.SampleTable;
+import com.decisiontree.data.SampleTablePool;
+import com.decisiontree.data.SampleTuple;
+import com.decisiontree.data.Tuple;
 import com.decisiontree.param.GlobalParam;
 import org.apache.log4j.BasicConfigurator;
 import org.apache.log4j.Level;
@@ -35,6 +45,8 @@ import java.util.Random;
 
 /**
  * SampleDataGen - Generates interval-valued sampled distributed uncertain data from point-valued data.
+ * Each value is taken as the probability of a Bernoulli PDF, so the generation draws no random numbers,
+ * and the same point data always gives the same PDFs, whatever the seed.
  *
  * @author Smith Tsang
  * @since 0.8
@@ -45,7 +57,8 @@ public class SampleDataGen extends RangeDataGen {
 
 	private int noSamples;
 
-	private long seed = GlobalParam.DEFAULT_SEED;
+	// the packed file of the PDFs being generated, null if the PDFs are stored in a file for each tuple attribute
+	private SamplePackWriter pack;
 
 	public SampleDataGen(String input, String nameFile, int noSamples, boolean varies) {
 		super(input, nameFile, varies);
@@ -190,6 +203,9 @@ public class SampleDataGen extends RangeDataGen {
 		sb.append(tupleNum);
 		sb.append("A");
 		sb.append(attrNum);
+		// compact files are told apart by their name
+		if (GlobalParam.isCompact())
+			sb.append(GlobalParam.COMPACT_PDF_FILE);
 		return sb.toString();
 
 	}
@@ -197,7 +213,6 @@ public class SampleDataGen extends RangeDataGen {
 	@Override
 	public void storeGeneratedData(String input, double[] range) {
 		BufferedWriter writer = null;
-		BufferedReader reader = null;
 
 		try {
 			writer = new BufferedWriter(new FileWriter(input
@@ -206,40 +221,11 @@ public class SampleDataGen extends RangeDataGen {
 			int noTuples = dataSet.getNoTuples();
 			int noAttr = dataSet.getNoAttr();
 
-			for (int k = 0; k < noAttr; k++) {
-				if (!dataSet.isContinuous(k))
-					continue;
-				if (range != null) {
-					setAttrRange(k, range[k] * dataSet.getDomainSize(k));
-				}
-			}
+			setAttrRanges(range);
 
-			File pdf = new File(input + GlobalParam.SAMPLE_PATH);
-			pdf.mkdir();
-
-			reader = new BufferedReader(new FileReader(input
-			  + GlobalParam.POINT_FILE));
-			String data = "";
-			for (int i = 0; (data = reader.readLine()) != null && i < noTuples; i++) {
-				String dataArray[] = data.split(GlobalParam.SEPERATOR);
-				for (int k = 0; k < noAttr; k++) {
-					if (!dataSet.isContinuous(k)) {
-						writer.write(dataArray[k] + GlobalParam.SEPERATOR);
-						continue;
-					}
-					double value = Double.parseDouble(dataArray[k]);
-					PointAttribute t = new PointAttribute(value);
-					RangeAttribute rt = genError(t, k); // now I could remove that
-
-					Range rg = createPDF(getFileName(input, i, k), value);
-					// I don' get why this - 0.01 and + 0.01. Shouldn't these values depend on the width of the attribute?
-					// TODO: how is this information about the Range used by the Decision Tree?
-					writer.write((rg.getStart() - 0.01) + GlobalParam.TO
-					  + (rg.getEnd() + 0.01) + GlobalParam.SEPERATOR);
-				}
-				writer.write(dataArray[dataArray.length - 1]);
-				writer.newLine();
-			}
+			pack = createPackWriter(input, noTuples, noAttr);
+
+			generateTuples(input, writer, noTuples, false);
 		} catch (IOException e) {
 			e.printStackTrace();
 			log.error("Cannot read or write dataset files. Please try again.");
@@ -247,7 +233,8 @@ public class SampleDataGen extends RangeDataGen {
 		} finally {
 			try {
 				if (writer != null) writer.close();
-				if (reader != null) reader.close();
+				if (pack != null) pack.close();
+				pack = null;
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -259,48 +246,121 @@ public class SampleDataGen extends RangeDataGen {
 	protected void storeGeneratedTestData(String test, double[] range) {
 
 		BufferedWriter writer = null;
-		BufferedReader reader = null;
 		try {
 			writer = new BufferedWriter(new FileWriter(test
 			  + GlobalParam.SAMPLE_FILE));
 
 			int noAttr = dataSet.getNoAttr();
 
-			File pdf = new File(test + GlobalParam.SAMPLE_PATH);
-			pdf.mkdir();
-			reader = new BufferedReader(new FileReader(test
-			  + GlobalParam.POINT_FILE));
-			String data = "";
-			for (int i = 0; (data = reader.readLine()) != null; i++) {
-				String dataArray[] = data.split(GlobalParam.SEPERATOR);
-				for (int k = 0; k < noAttr; k++) {
-					if (!dataSet.isContinuous(k)) {
-						writer.write(dataArray[k] + GlobalParam.SEPERATOR);
-						continue;
-					}
-					double value = Double.parseDouble(dataArray[k]);
-					PointAttribute t = new PointAttribute(value);
-					RangeAttribute rt = genError(t, k); // now I could remove that
-
-					Range rg = createPDF(getFileName(test, i, k), value);
-					writer.write((rg.getStart() - 0.01) + GlobalParam.TO
-					  + (rg.getEnd() + 0.01) + GlobalParam.SEPERATOR);
-				}
-				writer.write(dataArray[dataArray.length - 1]);
-				writer.newLine();
-			}
+			pack = createPackWriter(test, countLines(test + GlobalParam.POINT_FILE), noAttr);
+			generateTuples(test, writer, Integer.MAX_VALUE, true);
 		} catch (IOException e) {
 			e.printStackTrace();
 		} finally {
 			try {
 				if (writer != null) writer.close();
-				if (reader != null) reader.close();
+				if (pack != null) pack.close();
+				pack = null;
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
 		}
 	}
 
+	@Override
+	protected void generateTuple(String input, String data, int tupleNum, boolean testing, StringBuilder out)
+	  throws IOException {
+		String dataArray[] = data.split(GlobalParam.SEPERATOR);
+		for (int k = 0; k < dataSet.getNoAttr(); k++) {
+			if (!dataSet.isContinuous(k)) {
+				out.append(dataArray[k]).append(GlobalParam.SEPERATOR);
+				continue;
+			}
+			double value = Double.parseDouble(dataArray[k]);
+			// the packed PDFs are appended in the order of the tuples by storeTuple
+			Range rg = pack != null ? new Range(0, 1) : createPDF(getFileName(input, tupleNum, k), value);
+			// I don' get why this - 0.01 and + 0.01. Shouldn't these values depend on the width of the attribute?
+			// TODO: how is this information about the Range used by the Decision Tree?
+			out.append(rg.getStart() - 0.01).append(GlobalParam.TO)
+			  .append(rg.getEnd() + 0.01).append(GlobalParam.SEPERATOR);
+		}
+		out.append(dataArray[dataArray.length - 1]).append(System.lineSeparator());
+	}
+
+	@Override
+	protected void storeTuple(String data, int tupleNum) throws IOException {
+		if (pack == null)
+			return;
+		String dataArray[] = data.split(GlobalParam.SEPERATOR);
+		for (int k = 0; k < dataSet.getNoAttr(); k++)
+			if (dataSet.isContinuous(k))
+				createPDF(pack, tupleNum, k, Double.parseDouble(dataArray[k]));
+	}
+
+	@Override
+	protected PointDataSet createDataSet(PointDataSet points) {
+		return copySchema(points, new SampleDataSet(points.getNoCls(), points.getNoAttr(), getNoSamples()));
+	}
+
+	/**
+	 * Generating the tuple of the same PDFs as createPDF in memory, interned in the pool of the dataset as they are
+	 * when the PDF files are read
+	 */
+	@Override
+	protected Tuple generateTuple(PointDataSet uncertain, Tuple point, int tupleNum, boolean testing, boolean averaging) {
+		SampleTablePool pool = ((SampleDataSet) uncertain).getSamplePool();
+		Attribute[] attrSet = new Attribute[point.getNoAttr()];
+		for (int k = 0; k < attrSet.length; k++) {
+			double[] values = new double[BernoulliAttribute.NO_SAMPLES];
+			double[] cdist = new double[BernoulliAttribute.NO_SAMPLES];
+			int noSamples = BernoulliAttribute.createSamples(((PointAttribute) point.getAttribute(k)).getValue(), values, cdist);
+			SampleTable samples = pool == null ? SampleTable.createTable(values, cdist) : pool.intern(values, cdist);
+			SampleAttribute attr = new SampleAttribute(BernoulliAttribute.START, BernoulliAttribute.END, samples, 0, noSamples);
+			if (averaging) attr.setValue(attr.getAverage());
+			attrSet[k] = attr;
+		}
+		return new SampleTuple(attrSet, attrSet.length, point.getCls());
+	}
+
+	/**
+	 * Creating the packed PDF file of a dataset if the PDFs are packed, or the directory of the PDF files otherwise.
+	 * A packed file left by an earlier generation is deleted, since it would be read instead of the PDF files.
+	 *
+	 * @param input    the dataset
+	 * @param noTuples the number of tuples
+	 * @param noAttr   the number of attributes
+	 * @return the writer of the packed file, null if the PDFs are stored in a file for each tuple attribute
+	 * @throws IOException if the packed file cannot be created
+	 */
+	private SamplePackWriter createPackWriter(String input, int noTuples, int noAttr) throws IOException {
+		File pack = new File(input + GlobalParam.PACK_FILE);
+		if (GlobalParam.isPackedPdf())
+			return new SamplePackWriter(pack, noTuples, noAttr, GlobalParam.isCompact());
+		if (pack.exists()) pack.delete();
+		File pdf = new File(input + GlobalParam.SAMPLE_PATH);
+		pdf.mkdir();
+		return null;
+	}
+
+	private int countLines(String fileName) throws IOException {
+		int noLines = 0;
+		BufferedReader reader = new BufferedReader(new FileReader(fileName));
+		try {
+			while (reader.readLine() != null)
+				noLines++;
+		} finally {
+			reader.close();
+		}
+		return noLines;
+	}
+
+	public Range createPDF(SamplePackWriter pack, int tupleNum, int attrNum, double p) throws IOException {
+		double[] values = new double[BernoulliAttribute.NO_SAMPLES];
+		double[] cdist = new double[BernoulliAttribute.NO_SAMPLES];
+		pack.append(tupleNum, attrNum, values, cdist, BernoulliAttribute.createSamples(p, values, cdist));
+		return new Range(0, 1);
+	}
+
 	public Range createPDF(String filename, double p) {
 
 		BufferedOutputStream writer = null;
@@ -309,6 +369,14 @@ public class SampleDataGen extends RangeDataGen {
 			  new FileOutputStream(filename));
 
 			byte[] b;
+			if (GlobalParam.isCompact()) {
+				writer.write(SampleByteArrayConvertor.floatToByteArray(0)); // value
+				writer.write(SampleByteArrayConvertor.charToByteArray(CompactSampleTable.encodeCDist(1 - p))); // cdist
+				writer.write(SampleByteArrayConvertor.floatToByteArray(1));
+				writer.write(SampleByteArrayConvertor.charToByteArray(CompactSampleTable.encodeCDist(1)));
+				return new Range(0, 1);
+			}
+
 			// Sample 0
 			b = SampleByteArrayConvertor.doubleToByteArray(0); // value
 			writer.write(b, 0, 8);
@@ -403,13 +471,5 @@ public class SampleDataGen extends RangeDataGen {
 		this.noSamples = noSamples;
 	}
 
-	public long getSeed() {
-		return seed;
-	}
-
-	public void setSeed(long seed) {
-		this.seed = seed;
-	}
-
 
 }
@@ -0,0 +1,134 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.datagen;
+
+import com.decisiontree.data.Sample;
+import com.decisiontree.data.SampleDataSet;
+import com.decisiontree.data.SamplePackWriter;
+import com.decisiontree.param.GlobalParam;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * SamplePackMigrator - Migrates the PDF files of a generated dataset into a packed PDF file.
+ *
+ * @since 0.9
+ */
+public class SamplePackMigrator {
+	public static Logger log = Logger.getLogger(SamplePackMigrator.class);
+
+	public static void main(String args[]) {
+
+		BasicConfigurator.configure();
+
+		String training = null;
+		String testing = null;
+		boolean compact = false;
+		boolean clean = false;
+
+		String param = null;
+		for (int i = 0; i < args.length; i++) {
+			param = args[i];
+			if (param.equals("-compact"))
+				compact = true;
+			if (param.equals("-clean"))
+				clean = true;
+			if (i + 1 < args.length) {
+				String value = args[i + 1];
+				if (param.equals("-d"))
+					training = value;
+				if (param.equals("-t"))
+					testing = value;
+			}
+		}
+
+		if (training == null) {
+			log.error("Please input training set using -d option.");
+			System.exit(1);
+		}
+
+		SamplePackMigrator migrator = new SamplePackMigrator();
+		try {
+			migrator.migrate(training, compact, clean);
+			if (testing != null) migrator.migrate(testing, compact, clean);
+		} catch (IOException e) {
+			e.printStackTrace();
+			log.error("Cannot migrate the PDF files. Please try again.");
+			System.exit(1);
+		}
+
+	}
+
+	/**
+	 * Migrating the PDF files of a dataset into a packed PDF file
+	 *
+	 * @param input   the dataset
+	 * @param compact storing the samples with reduced precision if true
+	 * @param clean   deleting the PDF files after migration if true
+	 * @throws IOException if the files cannot be read or written
+	 */
+	public void migrate(String input, boolean compact, boolean clean) throws IOException {
+		File pack = new File(input + GlobalParam.PACK_FILE);
+		if (pack.exists()) {
+			log.info(pack + " already exists.");
+			return;
+		}
+
+		int noTuples = 0, noAttr = 0;
+		try (BufferedReader reader = new BufferedReader(new FileReader(input + GlobalParam.SAMPLE_FILE))) {
+			String data;
+			while ((data = reader.readLine()) != null) {
+				if (noTuples++ == 0)
+					noAttr = data.split(GlobalParam.SEPERATOR).length - 1;
+			}
+		}
+
+		File directory = new File(input + GlobalParam.SAMPLE_PATH);
+		SampleDataSet dataSet = new SampleDataSet(input, 1, noAttr, GlobalParam.DEFAULT_NO_SAMPLES);
+		File temp = new File(input + GlobalParam.PACK_FILE + ".tmp");
+		try (SamplePackWriter writer = new SamplePackWriter(temp, noTuples, noAttr, compact)) {
+			for (int i = 0; i < noTuples; i++) {
+				for (int j = 0; j < noAttr; j++) {
+					// categorical attributes have no PDF files
+					if (!dataSet.findPDFFile(i, j).exists())
+						continue;
+					Sample[] samples = dataSet.getSamples(i, j);
+					writer.append(i, j, samples);
+				}
+			}
+		}
+		if (!temp.renameTo(pack))
+			throw new IOException("Cannot rename " + temp + " to " + pack);
+
+		if (clean) {
+			File[] files = directory.listFiles();
+			if (files != null)
+				for (File file : files) file.delete();
+			directory.delete();
+		}
+	}
+
+}
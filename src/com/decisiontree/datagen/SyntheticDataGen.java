@@ -0,0 +1,305 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.datagen;
+
+import com.decisiontree.data.SamplePackWriter;
+import com.decisiontree.param.GlobalParam;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * SyntheticDataGen - Generates a synthetic sampled distributed uncertain dataset of any size for benchmarking.
+ * <p>
+ * The values of each class are normally distributed around a mean of the class, with a unit standard deviation.
+ * The means are drawn from a normal distribution whose standard deviation is the class separation.
+ * A fraction of the tuples, the overlap density, takes its values around the mean of another class,
+ * which fills the regions between the classes. Each value is given an interval of the error width relative to
+ * the domain of the attribute, as in {@link RangeDataGen}, and a Gaussian or uniform PDF of the given number of
+ * samples within the interval.
+ * <p>
+ * The dataset property file, the point data file, the interval file and the packed PDF file are written as the
+ * tuples are generated. The tuples are generated in parallel blocks, each from its own random seed, so the dataset
+ * depends on the seed only.
+ *
+ * @since 0.9
+ */
+public class SyntheticDataGen {
+
+	public static final String GAUSSIAN = "GAUSSIAN";
+	public static final String UNIFORM = "UNIFORM";
+	public static final double DEFAULT_SEPARATION = 2.0;
+
+	private static final Logger log = Logger.getLogger(SyntheticDataGen.class);
+
+	// the number of samples generated in a block at most
+	private static final int BLOCK_SAMPLES = 1 << 20;
+
+	private int noAttr;
+	private int noCls;
+	private int noSamples;
+	private long seed;
+
+	private double separation = DEFAULT_SEPARATION;
+	private double width = GlobalParam.DEFAULT_WIDTH;
+	private double overlap = 0;
+	private String pdf = GAUSSIAN;
+
+	private double[][] means;
+	private double[] attrRange;
+	private double[] cdist;
+
+	/**
+	 * Constructor
+	 *
+	 * @param noAttr    the number of attributes
+	 * @param noCls     the number of classes
+	 * @param noSamples the number of samples of each PDF
+	 * @param seed      the random-generate seed number
+	 */
+	public SyntheticDataGen(int noAttr, int noCls, int noSamples, long seed) {
+		if (noAttr < 1 || noCls < 2 || noSamples < 1)
+			throw new IllegalArgumentException("A synthetic dataset needs an attribute, two classes and a sample at least.");
+		this.noAttr = noAttr;
+		this.noCls = noCls;
+		this.noSamples = noSamples;
+		this.seed = seed;
+	}
+
+	/**
+	 * Drawing the means of the classes and finding the domains of the attributes, from the seed only
+	 */
+	private void init() {
+		Random random = new Random(seed);
+		means = new double[noCls][noAttr];
+		for (int c = 0; c < noCls; c++)
+			for (int k = 0; k < noAttr; k++)
+				means[c][k] = random.nextGaussian() * separation;
+
+		// the domain of an attribute spans the means and two standard deviations around them
+		attrRange = new double[noAttr];
+		for (int k = 0; k < noAttr; k++) {
+			double min = Double.MAX_VALUE;
+			double max = -Double.MAX_VALUE;
+			for (int c = 0; c < noCls; c++) {
+				min = Math.min(min, means[c][k]);
+				max = Math.max(max, means[c][k]);
+			}
+			attrRange[k] = width * (max - min + RangeDataGen.NUM_STDEV);
+		}
+
+		// the samples of each PDF are sorted and equally likely
+		cdist = new double[noSamples];
+		for (int i = 0; i < noSamples; i++)
+			cdist[i] = (i + 1) * 1.0 / noSamples;
+	}
+
+	/**
+	 * Generating a dataset
+	 *
+	 * @param output    the dataset file name, without extension
+	 * @param noTuples  the number of tuples
+	 * @param firstSeed the seed number of the first tuple, so that a testing dataset draws other tuples than the training one
+	 * @throws IOException if a file cannot be written
+	 */
+	public void generate(final String output, int noTuples, final long firstSeed) throws IOException {
+		init();
+		storeNames(output);
+
+		BufferedWriter pointWriter = null;
+		BufferedWriter errorWriter = null;
+		SamplePackWriter pack = null;
+		try {
+			pointWriter = new BufferedWriter(new FileWriter(output + GlobalParam.POINT_FILE));
+			errorWriter = new BufferedWriter(new FileWriter(output + GlobalParam.SAMPLE_FILE));
+			File pdf = new File(output + GlobalParam.PACK_FILE);
+			pack = new SamplePackWriter(pdf, noTuples, noAttr, GlobalParam.isCompact());
+
+			long start = System.currentTimeMillis();
+			long lastProgress = start;
+			int blockSize = Math.max(1, Math.min(GlobalParam.GEN_BLOCK, BLOCK_SAMPLES / (noAttr * noSamples)));
+			final double[][] values = new double[blockSize * noAttr][];
+			int noWorkers = ForkJoinPool.getCommonPoolParallelism();
+			for (int first = 0; first < noTuples; first += blockSize) {
+				final int size = Math.min(blockSize, noTuples - first);
+				List<Callable<StringBuilder[]>> tasks = new ArrayList<Callable<StringBuilder[]>>(noWorkers);
+				for (int w = 0; w < noWorkers; w++) {
+					final int from = (int) ((long) size * w / noWorkers);
+					final int to = (int) ((long) size * (w + 1) / noWorkers);
+					final int base = first;
+					tasks.add(new Callable<StringBuilder[]>() {
+						@Override
+						public StringBuilder[] call() {
+							StringBuilder points = new StringBuilder();
+							StringBuilder errors = new StringBuilder();
+							for (int j = from; j < to; j++)
+								generateTuple(firstSeed + base + j, values, j * noAttr, points, errors);
+							return new StringBuilder[]{points, errors};
+						}
+					});
+				}
+				for (StringBuilder[] out : invokeAll(tasks)) {
+					pointWriter.append(out[0]);
+					errorWriter.append(out[1]);
+				}
+				for (int j = 0; j < size; j++)
+					for (int k = 0; k < noAttr; k++)
+						pack.append(first + j, k, values[j * noAttr + k], cdist, noSamples);
+
+				long now = System.currentTimeMillis();
+				if (now - lastProgress >= GlobalParam.PROGRESS_INTERVAL) {
+					log.info("Generating " + output + ": " + (first + size) + " of " + noTuples + " tuples");
+					lastProgress = now;
+				}
+			}
+			log.info("Generated " + noTuples + " tuples of " + noAttr + " attributes and " + noSamples
+			  + " samples in " + (System.currentTimeMillis() - start) + " ms");
+		} finally {
+			try {
+				if (pointWriter != null) pointWriter.close();
+				if (errorWriter != null) errorWriter.close();
+			} finally {
+				if (pack != null) pack.close();
+			}
+		}
+	}
+
+	/**
+	 * Generating a tuple
+	 *
+	 * @param tupleSeed the seed number of the tuple
+	 * @param values    the samples of the block, to which the samples of the tuple are stored
+	 * @param pos       the position of the first attribute of the tuple in the samples of the block
+	 * @param points    the buffer of the point data file
+	 * @param errors    the buffer of the interval file
+	 */
+	private void generateTuple(long tupleSeed, double[][] values, int pos, StringBuilder points, StringBuilder errors) {
+		Random random = RangeDataGen.createRandom(seed, tupleSeed);
+		int cls = random.nextInt(noCls);
+		int source = cls;
+		if (random.nextDouble() < overlap)
+			source = (cls + 1 + random.nextInt(noCls - 1)) % noCls;
+
+		for (int k = 0; k < noAttr; k++) {
+			double value = means[source][k] + random.nextGaussian();
+			double start = value - attrRange[k];
+			double end = value + attrRange[k];
+
+			double[] samples = values[pos + k];
+			if (samples == null)
+				samples = values[pos + k] = new double[noSamples];
+			for (int i = 0; i < noSamples; i++) {
+				if (UNIFORM.equals(pdf)) {
+					samples[i] = start + random.nextDouble() * (end - start);
+					continue;
+				}
+				// a normal distribution truncated to two standard deviations around the value
+				double s;
+				do
+					s = random.nextGaussian();
+				while (s >= RangeDataGen.NUM_STDEV / 2 || s <= -RangeDataGen.NUM_STDEV / 2);
+				samples[i] = start + (RangeDataGen.NUM_STDEV / 2 + s) * (end - start) / RangeDataGen.NUM_STDEV;
+			}
+			Arrays.sort(samples);
+
+			points.append(value).append(GlobalParam.SEPERATOR);
+			errors.append(start).append(GlobalParam.TO).append(end).append(GlobalParam.SEPERATOR);
+		}
+		points.append('c').append(cls).append(System.lineSeparator());
+		errors.append('c').append(cls).append(System.lineSeparator());
+	}
+
+	private void storeNames(String output) throws IOException {
+		BufferedWriter writer = new BufferedWriter(new FileWriter(output + GlobalParam.NAME_FILE));
+		try {
+			for (int c = 0; c < noCls; c++)
+				writer.write((c == 0 ? "c" : ", c") + c);
+			writer.write(".");
+			writer.newLine();
+			for (int k = 0; k < noAttr; k++) {
+				writer.write("A" + k + ": continuous.");
+				writer.newLine();
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+		List<T> results = new ArrayList<T>(tasks.size());
+		try {
+			for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks))
+				results.add(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Generation interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IOException("Cannot generate the tuples", e.getCause());
+		}
+		return results;
+	}
+
+	public double getSeparation() {
+		return separation;
+	}
+
+	public void setSeparation(double separation) {
+		this.separation = separation;
+	}
+
+	public double getWidth() {
+		return width;
+	}
+
+	public void setWidth(double width) {
+		this.width = width;
+	}
+
+	public double getOverlap() {
+		return overlap;
+	}
+
+	public void setOverlap(double overlap) {
+		this.overlap = overlap;
+	}
+
+	public String getPdf() {
+		return pdf;
+	}
+
+	public void setPdf(String pdf) {
+		this.pdf = pdf;
+	}
+
+}
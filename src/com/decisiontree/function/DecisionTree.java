@@ -21,6 +21,7 @@
 package com.decisiontree.function;
 
 import com.decisiontree.build.TreeNode;
+import com.decisiontree.data.PointDataSet;
 import com.decisiontree.exceptions.DecisionTreeFileException;
 import com.decisiontree.file.DecisionTreeStorage;
 import com.decisiontree.operation.SplitSearch;
@@ -187,6 +188,42 @@ public abstract class DecisionTree {
 	 */
 	public abstract double crossFold(String training, String nameFile);
 
+	/**
+	 * Building a decision tree from a dataset in memory, of the type the algorithm reads from its files
+	 *
+	 * @param dataSet the training dataset
+	 * @return the root node of the decision tree
+	 */
+	public abstract TreeNode buildTree(PointDataSet dataSet);
+
+	/**
+	 * Generate the decision tree by a training dataset in memory and finding the accuracy of testing a testing dataset
+	 *
+	 * @param training the training dataset
+	 * @param testing  the testing dataset
+	 * @return the classification accuracy
+	 */
+	public double findAccuracy(PointDataSet training, PointDataSet testing) {
+		return findAccuracyByTree(buildTree(training), testing);
+	}
+
+	/**
+	 * Find the classification accuracy of a testing dataset in memory using the given tree
+	 *
+	 * @param treeRoot the tree denoted by tree root
+	 * @param testing  the testing dataset
+	 * @return the classification accuracy
+	 */
+	protected abstract double findAccuracyByTree(TreeNode treeRoot, PointDataSet testing);
+
+	/**
+	 * Find the cross-fold validataion gmean of a dataset in memory
+	 *
+	 * @param dataSet the training dataset
+	 * @return the cross-fold validation gmean
+	 */
+	public abstract double crossFold(PointDataSet dataSet);
+
 	/**
 	 * Get the algorithm (SplitSearch) to find the best split point
 	 *
@@ -15,7 +15,7 @@ public class DecisionTreeFactory {
 		DecisionTree decisionTree = null;
 		if (algorithm.equals(SplitSearch.AVG))
 			decisionTree = new SampleAvgDecisionTree(splitSearch, nodeSize, purityThreshold);
-		else if (algorithm.equals(SplitSearch.UDTUD))
+		else if (algorithm.equals(SplitSearch.UDTUD) || algorithm.equals(SplitSearch.UDTUDES))
 			decisionTree = new RangeDecisionTree(splitSearch, nodeSize, purityThreshold);
 		else if (algorithm.equals(SplitSearch.POINT))
 			decisionTree = new PointDecisionTree(splitSearch, nodeSize, purityThreshold);
@@ -55,8 +55,11 @@ public class PointDecisionTree extends DecisionTree {
 
 	@Override
 	public TreeNode buildTree(String training, String nameFile) {
+		return buildTree(generateDataSet(training, nameFile));
+	}
 
-		PointDataSet dataSet = generateDataSet(training, nameFile);
+	@Override
+	public TreeNode buildTree(PointDataSet dataSet) {
 
 		PointTree tree = new PointTree(dataSet, getSplitSearch(), nodeSize, purity);
 
@@ -68,8 +71,11 @@ public class PointDecisionTree extends DecisionTree {
 
 	@Override
 	public double crossFold(String training, String nameFile) {
+		return crossFold(generateDataSet(training, nameFile));
+	}
 
-		PointDataSet dataSet = generateDataSet(training, nameFile);
+	@Override
+	public double crossFold(PointDataSet dataSet) {
 
 		PointClassification classification = new PointClassification(dataSet, splitSearch);
 		return classification.crossAllFold(nodeSize, purity);
@@ -118,7 +124,11 @@ public class PointDecisionTree extends DecisionTree {
 	@Override
 	protected double findAccuracyByTree(TreeNode treeRoot, String testing,
 										String nameFile) {
-		PointDataSet testDataSet = generateDataSet(testing, nameFile);
+		return findAccuracyByTree(treeRoot, generateDataSet(testing, nameFile));
+	}
+
+	@Override
+	protected double findAccuracyByTree(TreeNode treeRoot, PointDataSet testDataSet) {
 		PointClassification test = new PointClassification(testDataSet, splitSearch);
 
 		List<Tuple> testSet = testDataSet.getData();
@@ -23,6 +23,7 @@ package com.decisiontree.function;
 import com.decisiontree.build.RangeClassification;
 import com.decisiontree.build.RangeTree;
 import com.decisiontree.build.TreeNode;
+import com.decisiontree.data.PointDataSet;
 import com.decisiontree.data.RangeDataSet;
 import com.decisiontree.data.RangeDataSetInit;
 import com.decisiontree.data.Tuple;
@@ -56,9 +57,12 @@ public class RangeDecisionTree extends DecisionTree {
 
 	@Override
 	public TreeNode buildTree(String training, String nameFile) {
-		RangeDataSet dataSet = generateDataSet(training, nameFile);
+		return buildTree(generateDataSet(training, nameFile));
+	}
 
-		RangeTree tree = new RangeTree(dataSet, getSplitSearch());
+	@Override
+	public TreeNode buildTree(PointDataSet dataSet) {
+		RangeTree tree = new RangeTree((RangeDataSet) dataSet, getSplitSearch());
 
 		tree.constructFinalTree(false); // TODO: allow print tree
 
@@ -68,9 +72,12 @@ public class RangeDecisionTree extends DecisionTree {
 
 	@Override
 	public double crossFold(String training, String nameFile) {
-		RangeDataSet dataSet = generateDataSet(training, nameFile);
+		return crossFold(generateDataSet(training, nameFile));
+	}
 
-		RangeClassification classification = new RangeClassification(dataSet, splitSearch);
+	@Override
+	public double crossFold(PointDataSet dataSet) {
+		RangeClassification classification = new RangeClassification((RangeDataSet) dataSet, splitSearch);
 		return classification.crossAllFold(nodeSize, purity);
 	}
 
@@ -88,8 +95,12 @@ public class RangeDecisionTree extends DecisionTree {
 	}
 
 	protected double findAccuracyByTree(TreeNode treeRoot, String testing, String nameFile) {
-		RangeDataSet testDataSet = generateDataSet(testing, nameFile);
-		RangeClassification test = new RangeClassification(testDataSet, splitSearch);
+		return findAccuracyByTree(treeRoot, generateDataSet(testing, nameFile));
+	}
+
+	@Override
+	protected double findAccuracyByTree(TreeNode treeRoot, PointDataSet testDataSet) {
+		RangeClassification test = new RangeClassification((RangeDataSet) testDataSet, splitSearch);
 
 		List<Tuple> testSet = testDataSet.getData();
 		return test.ClassifyAll(treeRoot, testSet);
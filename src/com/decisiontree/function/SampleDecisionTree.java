@@ -20,14 +20,18 @@
  */
 package com.decisiontree.function;
 
+import com.decisiontree.build.OutOfCoreSampleTree;
 import com.decisiontree.build.SampleClassification;
 import com.decisiontree.build.SampleTree;
 import com.decisiontree.build.TreeNode;
+import com.decisiontree.data.PointDataSet;
+import com.decisiontree.data.SampleDataScanner;
 import com.decisiontree.data.SampleDataSet;
 import com.decisiontree.data.SampleDataSetInit;
 import com.decisiontree.data.SampleTuple;
 import com.decisiontree.data.Tuple;
 import com.decisiontree.operation.SplitSearch;
+import com.decisiontree.operation.SplitSearchBIN;
 import com.decisiontree.param.GlobalParam;
 
 import java.io.BufferedReader;
@@ -73,30 +77,112 @@ public class SampleDecisionTree extends DecisionTree {
 		return init.getDataSet();
 	}
 
+	/**
+	 * Checking if the tree is built out of core. It needs the memory budget and the bins of SplitSearchBIN.
+	 *
+	 * @return true if the tree is built out of core
+	 */
+	private boolean isOutOfCore() {
+		if (GlobalParam.getOocBudget() <= 0)
+			return false;
+		if (splitSearch instanceof SplitSearchBIN)
+			return true;
+		log.warn("Out-of-core building needs the bins of udtbin. The tree is built in memory.");
+		return false;
+	}
+
+	private TreeNode buildOutOfCoreTree(String training, String nameFile, boolean print) {
+		SampleDataScanner scanner = new SampleDataScanner(training, nameFile, getNoSamples());
+		OutOfCoreSampleTree tree = new OutOfCoreSampleTree(scanner, (SplitSearchBIN) splitSearch, GlobalParam.getOocBudget());
+		tree.constructFinalTree(print);
+		return tree.getRoot();
+	}
+
+	/**
+	 * Classifying the tuples of a dataset by blocks read by the scanner, without loading the whole dataset
+	 *
+	 * @param treeRoot the root of the decision tree
+	 * @param testing  the testing data file name
+	 * @param nameFile the name file
+	 * @return the accuracy
+	 */
+	private double classifyOutOfCore(TreeNode treeRoot, String testing, String nameFile) {
+		SampleDataScanner scanner = new SampleDataScanner(testing, nameFile, getNoSamples());
+		SampleClassification test = new SampleClassification(scanner.getDataSet(), splitSearch);
+
+		int noCorrect = 0;
+		int noTuples = 0;
+		List<Tuple> block = new ArrayList<Tuple>(GlobalParam.GEN_BLOCK);
+		try {
+			scanner.open();
+			for (Tuple tuple = scanner.next(); tuple != null; tuple = scanner.next()) {
+				block.add(tuple);
+				if (block.size() < GlobalParam.GEN_BLOCK)
+					continue;
+				noCorrect += test.ClassifyCount(treeRoot, block);
+				noTuples += block.size();
+				block.clear();
+			}
+			scanner.close();
+		} catch (IOException e) {
+			log.error("Fail to read the testing dataset.", e);
+			return 0;
+		}
+		noCorrect += test.ClassifyCount(treeRoot, block);
+		noTuples += block.size();
+
+		double result = 1.0 * noCorrect / noTuples;
+		log.info("Percentage: " + result);
+		return result;
+	}
+
 	@Override
 	public TreeNode buildTree(String training, String nameFile) {
+		if (isOutOfCore())
+			return buildOutOfCoreTree(training, nameFile, false);
+
 		SampleDataSet dataSet = generateDataSet(training, nameFile, getNoSamples());
 
 		SampleTree tree = new SampleTree(dataSet, getSplitSearch());
 
 		tree.constructFinalTree(false); // TODO: allow print tree
+		printCacheStatistics(dataSet);
 
 		return tree.getRoot();
 
 	}
 
+	@Override
+	public TreeNode buildTree(PointDataSet dataSet) {
+		SampleTree tree = new SampleTree((SampleDataSet) dataSet, getSplitSearch());
+
+		tree.constructFinalTree(false);
+
+		return tree.getRoot();
+	}
+
 	@Override
 	public double crossFold(String training, String nameFile) {
-		SampleDataSet dataSet = generateDataSet(training, nameFile, getNoSamples());
+		return crossFold(generateDataSet(training, nameFile, getNoSamples()));
+	}
+
+	@Override
+	public double crossFold(PointDataSet pointDataSet) {
+		SampleDataSet dataSet = (SampleDataSet) pointDataSet;
 
 		SampleClassification classification = new SampleClassification(dataSet, splitSearch);
 
 		System.out.println("Starting classification...");
-		return classification.crossAllFold(nodeSize, purity);
+		double gmean = classification.crossAllFold(nodeSize, purity);
+		printCacheStatistics(dataSet);
+		return gmean;
 	}
 
 	@Override
 	public double findAccuracy(String training, String nameFile) {
+		if (isOutOfCore())
+			return classifyOutOfCore(buildOutOfCoreTree(training, nameFile, true), training, nameFile);
+
 		SampleDataSet dataSet = generateDataSet(training, nameFile, getNoSamples());
 
 		SampleTree tree = new SampleTree(dataSet, splitSearch);
@@ -107,12 +193,17 @@ public class SampleDecisionTree extends DecisionTree {
 
 		List<Tuple> testSet = dataSet.getData();
 
-		return test.ClassifyAll(tree.getRoot(), testSet);
+		double accuracy = test.ClassifyAll(tree.getRoot(), testSet);
+		printCacheStatistics(dataSet);
+		return accuracy;
 
 	}
 
 	@Override
 	public double findAccuracy(String training, String testing, String nameFile) {
+		if (isOutOfCore())
+			return findAccuracyByTree(buildOutOfCoreTree(training, nameFile, true), testing, nameFile);
+
 		SampleDataSet dataSet = generateDataSet(training, nameFile, getNoSamples());
 		// get dataset from files, where value of an attribute is (start + end)/2 (calculated in the rangeattribute constructor)
 		SampleTree tree = new SampleTree(dataSet, splitSearch);
@@ -146,7 +237,15 @@ public class SampleDecisionTree extends DecisionTree {
 	@Override
 	protected double findAccuracyByTree(TreeNode treeRoot, String testing,
 										String nameFile) {
-		SampleDataSet testDataSet = generateDataSet(testing, nameFile, getNoSamples());
+		if (GlobalParam.getOocBudget() > 0)
+			return classifyOutOfCore(treeRoot, testing, nameFile);
+
+		return findAccuracyByTree(treeRoot, generateDataSet(testing, nameFile, getNoSamples()));
+	}
+
+	@Override
+	protected double findAccuracyByTree(TreeNode treeRoot, PointDataSet testing) {
+		SampleDataSet testDataSet = (SampleDataSet) testing;
 		SampleClassification test = new SampleClassification(testDataSet, splitSearch);
 
 		List<Tuple> testSet = testDataSet.getData();
@@ -154,6 +253,11 @@ public class SampleDecisionTree extends DecisionTree {
 	}
 
 
+	private void printCacheStatistics(SampleDataSet dataSet) {
+		if (dataSet.getSampleCache() != null)
+			dataSet.getSampleCache().printStatistics();
+	}
+
 	public int getNoSamples() {
 		return noSamples;
 	}
@@ -20,6 +20,10 @@
  */
 package com.decisiontree.operation;
 
+import com.decisiontree.data.Tuple;
+
+import java.util.List;
+
 /**
  * AbstractSplitSearch (Abstract class) - Finds the best split point for a set of data.
  * The class contains implementation of some common methods.
@@ -55,6 +59,10 @@ public abstract class AbstractSplitSearch implements SplitSearch {
 //		this.dispersion = dispersion;
 //	}
 
+	@Override
+	public void prepare(List<Tuple> data, int noCls, int noAttr) {
+	}
+
 	@Override
 	public double findDispersion(double[] dist, double distSize) {
 		return getSplit().getDispersionMeasure().getDispersion(dist, distSize);
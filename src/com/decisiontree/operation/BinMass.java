@@ -0,0 +1,157 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.operation;
+
+import com.decisiontree.data.SampleAttribute;
+
+import java.util.Arrays;
+
+/**
+ * BinMass - Stores the pdf mass of a sample-distributed attribute falling in each bin of a candidate grid.
+ * Only the bins between the first and the last bin covered by the pdf are stored, with the last sample of each bin,
+ * so that the mass of a fragment of the attribute is found from the stored mass of its inner bins.
+ *
+ * @since 0.9
+ */
+public class BinMass {
+
+	private int firstBin;
+	private double[] mass;
+	private int startPos;
+	private int[] lastPos;
+
+	/**
+	 * Constructor aggregating the pdf mass of the attribute by the cut points of the bins.
+	 * Bin b covers (cutPts[b-1], cutPts[b]], consistent with the "<= split point" of the binary split.
+	 *
+	 * @param attribute the attribute
+	 * @param cutPts    the sorted cut points of the bins
+	 */
+	public BinMass(SampleAttribute attribute, double[] cutPts) {
+		int startPos = attribute.getStartPos() + 1;
+		int endPos = attribute.getEndPos();
+		double curFrac = attribute.getCurFrac();
+
+		this.startPos = startPos;
+		if (endPos < startPos) {
+			firstBin = 0;
+			mass = new double[0];
+			lastPos = new int[0];
+			return;
+		}
+
+		firstBin = findBin(cutPts, attribute.getSampleValue(startPos));
+		int lastBin = findBin(cutPts, attribute.getSampleValue(endPos));
+		mass = new double[lastBin - firstBin + 1];
+		lastPos = new int[mass.length];
+		Arrays.fill(lastPos, startPos - 1);
+
+		int bin = firstBin;
+		double prevCDist = startPos == 0 ? 0.0 : attribute.getSampleCDist(startPos - 1);
+		for (int i = startPos; i <= endPos; i++) {
+			double value = attribute.getSampleValue(i);
+			while (bin < lastBin && value > cutPts[bin])
+				bin++;
+			double cDist = attribute.getSampleCDist(i);
+			mass[bin - firstBin] += (cDist - prevCDist) / curFrac;
+			lastPos[bin - firstBin] = i;
+			prevCDist = cDist;
+		}
+		// a bin without samples ends where the previous one does
+		for (int i = 1; i < lastPos.length; i++)
+			lastPos[i] = Math.max(lastPos[i], lastPos[i - 1]);
+	}
+
+	/**
+	 * Finding the bin which a value falls in
+	 *
+	 * @param cutPts the sorted cut points of the bins
+	 * @param value  the value
+	 * @return the bin number
+	 */
+	public static int findBin(double[] cutPts, double value) {
+		int pos = Arrays.binarySearch(cutPts, value);
+		if (pos < 0)
+			return -1 * (pos + 1);
+		return pos;
+	}
+
+	public int getFirstBin() {
+		return firstBin;
+	}
+
+	public int getNoBins() {
+		return mass.length;
+	}
+
+	public double getMass(int bin) {
+		return mass[bin - firstBin];
+	}
+
+	/**
+	 * Adding the weighted mass of each bin to the class histogram of the bins
+	 *
+	 * @param binHist the class histogram of the bins
+	 * @param cls     the class of the tuple
+	 * @param weight  the weight of the tuple
+	 */
+	public void addTo(double[][] binHist, int cls, double weight) {
+		for (int i = 0; i < mass.length; i++)
+			binHist[firstBin + i][cls] += mass[i] * weight;
+	}
+
+	/**
+	 * Adding the weighted mass of each bin of a fragment of the attribute to the class histogram of the bins.
+	 * The mass is aggregated for the whole pdf of the attribute, and the fragment is a cut of the same samples.
+	 * The inner bins of the fragment take their stored mass, and only the bins at its ends are found from
+	 * the cumulative distribution of the samples.
+	 *
+	 * @param binHist  the class histogram of the bins
+	 * @param cls      the class of the tuple
+	 * @param weight   the weight of the tuple
+	 * @param fragment the fragment of the attribute
+	 */
+	public void addTo(double[][] binHist, int cls, double weight, SampleAttribute fragment) {
+		int from = fragment.getStartPos() + 1;
+		int to = fragment.getEndPos();
+		double curFrac = fragment.getCurFrac();
+
+		for (int i = 0; i < mass.length; i++) {
+			int binStart = i == 0 ? startPos : lastPos[i - 1] + 1;
+			int binEnd = lastPos[i];
+			if (binEnd < from)
+				continue;
+			if (binStart > to)
+				break;
+			if (binStart >= from && binEnd <= to) {
+				binHist[firstBin + i][cls] += mass[i] / curFrac * weight;
+			} else {
+				int start = Math.max(binStart, from);
+				int end = Math.min(binEnd, to);
+				if (end < start)
+					continue;
+				double prevCDist = start == 0 ? 0.0 : fragment.getSampleCDist(start - 1);
+				binHist[firstBin + i][cls] += (fragment.getSampleCDist(end) - prevCDist) / curFrac * weight;
+			}
+		}
+	}
+
+}
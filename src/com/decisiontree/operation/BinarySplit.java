@@ -22,6 +22,14 @@ package com.decisiontree.operation;
 
 import com.decisiontree.eval.DispersionMeasure;
 import com.decisiontree.eval.DispersionMeasureFactory;
+import com.decisiontree.param.GlobalParam;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * BinarySplit - Finds the binary split point of an attribute using the basic technique.
@@ -59,6 +67,11 @@ public class BinarySplit implements Split {
 	public void run(Histogram[] segments) {
 
 		int noSegments = segments.length;
+		if (isParallel(noSegments)) {
+			runParallel(segments);
+			return;
+		}
+
 		double left[] = new double[noCls];
 		double right[] = new double[noCls];
 		// Starts with all tuples going to the right child
@@ -95,6 +108,130 @@ public class BinarySplit implements Split {
 
 	}
 
+	/**
+	 * Checking if the segments are swept in parallel chunks
+	 *
+	 * @param noSegments the number of segments
+	 * @return true if the number of segments reaches the parallel sweep threshold
+	 */
+	protected boolean isParallel(int noSegments) {
+		int minSegments = GlobalParam.getParallelSweepSegments();
+		return minSegments > 0 && noSegments >= minSegments && noSegments > GlobalParam.SWEEP_CHUNK;
+	}
+
+	/**
+	 * Finding the class distribution before each chunk of segments in parallel.
+	 * The chunks have a fixed size, so the result does not depend on the number of threads.
+	 *
+	 * @param segments the segments
+	 * @return the class distribution before each chunk, with the total distribution in the last row
+	 */
+	protected double[][] findChunkPrefix(final Histogram[] segments) {
+		final int noSegments = segments.length;
+		final int noChunks = (noSegments + GlobalParam.SWEEP_CHUNK - 1) / GlobalParam.SWEEP_CHUNK;
+		final double[][] prefix = new double[noChunks + 1][noCls];
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(noChunks);
+		for (int c = 0; c < noChunks; c++) {
+			final int chunk = c;
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					int end = Math.min(noSegments, (chunk + 1) * GlobalParam.SWEEP_CHUNK);
+					for (int j = chunk * GlobalParam.SWEEP_CHUNK; j < end; j++)
+						for (int i = 0; i < noCls; i++)
+							prefix[chunk + 1][i] += segments[j].getCls(i);
+					return null;
+				}
+			});
+		}
+		invokeAll(tasks);
+
+		// exclusive prefix over the chunk totals
+		for (int c = 1; c <= noChunks; c++)
+			for (int i = 0; i < noCls; i++)
+				prefix[c][i] += prefix[c - 1][i];
+
+		return prefix;
+	}
+
+	/**
+	 * Running the tasks in the common pool and waiting for all of them
+	 *
+	 * @param tasks the tasks
+	 * @return the results in the order of the tasks
+	 */
+	protected <T> List<T> invokeAll(List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<T>(tasks.size());
+		try {
+			for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks))
+				results.add(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Parallel sweep interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Parallel sweep failed", e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * Finding the best split point of the segments by evaluating the chunks of segments in parallel.
+	 * The chunk minimums are reduced in the order of the chunks with the same rule of the serial sweep,
+	 * so that ties are broken towards the smaller split point deterministically.
+	 *
+	 * @param segments the segments
+	 */
+	protected void runParallel(final Histogram[] segments) {
+		final int noSegments = segments.length;
+		final double[][] prefix = findChunkPrefix(segments);
+		final int noChunks = prefix.length - 1;
+		final double[] total = prefix[noChunks];
+
+		List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>(noChunks);
+		for (int c = 0; c < noChunks; c++) {
+			final int chunk = c;
+			tasks.add(new Callable<double[]>() {
+				@Override
+				public double[] call() {
+					double left[] = prefix[chunk].clone();
+					double right[] = new double[noCls];
+					for (int i = 0; i < noCls; i++)
+						right[i] = total[i] - left[i];
+
+					int min = -1;
+					double minEnt = Double.POSITIVE_INFINITY;
+					int end = Math.min(noSegments - 1, (chunk + 1) * GlobalParam.SWEEP_CHUNK);
+					for (int j = chunk * GlobalParam.SWEEP_CHUNK; j < end; j++) {
+						for (int i = 0; i < noCls; i++) {
+							left[i] += segments[j].getCls(i);
+							right[i] -= segments[j].getCls(i);
+						}
+						double avgEnt = dispersionMeasure.averageDispersion(left, right);
+						if (minEnt - avgEnt > 1E-12) {
+							min = j;
+							minEnt = avgEnt;
+						}
+					}
+					return new double[]{min, minEnt};
+				}
+			});
+		}
+
+		int min = -1;
+		double minEnt = Double.POSITIVE_INFINITY;
+		for (double[] chunkMin : invokeAll(tasks)) {
+			if (chunkMin[0] >= 0 && minEnt - chunkMin[1] > 1E-12) {
+				min = (int) chunkMin[0];
+				minEnt = chunkMin[1];
+			}
+		}
+
+		threshold = minEnt;
+		if (min != -1)
+			localOptimal = segments[min].getValue();
+	}
+
 	public double getEnt() {
 		return threshold;
 	}
@@ -324,7 +324,7 @@ public class BinarySplitES extends BinarySplitGP {
 			for (int j = tempStartPos; j <= tempEndPos; j++) {
 				frac = attrClassSet[i].getFrac(j - 1, j);
 				segSize += frac * attrClassSet[i].getWeight();
-				pointAttrClassList.add(new PointAttrClass(attrClassSet[i].getSample(j), attrClassSet[i].getCls(),
+				pointAttrClassList.add(new PointAttrClass(attrClassSet[i].getSampleValue(j), attrClassSet[i].getCls(),
 				  frac * attrClassSet[i].getWeight()));
 			}
 		}
@@ -27,6 +27,8 @@ import com.decisiontree.param.GlobalParam;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * BinarySplitLP - Finds the best binary split point of an attribute using the local pruning technique.
@@ -49,6 +51,8 @@ public class BinarySplitLP extends BinarySplit {
 
 	public double[] preProcess(Histogram[] segments) {
 		int noSegments = segments.length;
+		if (isParallel(noSegments))
+			return preProcessParallel(segments);
 
 		double left[] = new double[noCls];
 		double right[] = new double[noCls];
@@ -93,6 +97,76 @@ public class BinarySplitLP extends BinarySplit {
 
 	}
 
+	/**
+	 * Finding the lower bounds of the heterogeneous intervals and the best end point
+	 * by processing the chunks of segments in parallel
+	 *
+	 * @param segments the segments
+	 * @return the lower bounds of the segments
+	 */
+	protected double[] preProcessParallel(final Histogram[] segments) {
+		final int noSegments = segments.length;
+		final double[][] prefix = findChunkPrefix(segments);
+		final int noChunks = prefix.length - 1;
+		final double[] total = prefix[noChunks];
+		final double[] lowerBoundSet = new double[noSegments];
+
+		List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>(noChunks);
+		for (int c = 0; c < noChunks; c++) {
+			final int chunk = c;
+			tasks.add(new Callable<double[]>() {
+				@Override
+				public double[] call() {
+					double left[] = prefix[chunk].clone();
+					double right[] = new double[noCls];
+					for (int j = 0; j < noCls; j++)
+						right[j] = total[j] - left[j];
+
+					int noHeter = 0;
+					int min = -1;
+					double minEnt = Double.POSITIVE_INFINITY;
+					int end = Math.min(noSegments, (chunk + 1) * GlobalParam.SWEEP_CHUNK);
+					for (int i = chunk * GlobalParam.SWEEP_CHUNK; i < end; i++) {
+
+						if (segments[i].mulCls()) {
+							noHeter++;
+							lowerBoundSet[i] = dispersionMeasure.findLowerBound(left, right, segments[i].getAllCls());
+						}
+
+						if (i == noSegments - 1) break;
+
+						for (int j = 0; j < noCls; j++) {
+							left[j] += segments[i].getCls(j);
+							right[j] -= segments[i].getCls(j);
+						}
+
+						double avgEnt = dispersionMeasure.averageDispersion(left, right);
+						if (minEnt - avgEnt >= GlobalParam.DOUBLE_PRECISION) {
+							min = i;
+							minEnt = avgEnt;
+						}
+					}
+					return new double[]{min, minEnt, noHeter};
+				}
+			});
+		}
+
+		int min = -1;
+		double minEnt = Double.POSITIVE_INFINITY;
+		for (double[] chunkMin : invokeAll(tasks)) {
+			GlobalParam.addNoHeterIntervals((int) chunkMin[2]);
+			if (chunkMin[0] >= 0 && minEnt - chunkMin[1] >= GlobalParam.DOUBLE_PRECISION) {
+				min = (int) chunkMin[0];
+				minEnt = chunkMin[1];
+			}
+		}
+
+		if (min != -1)
+			localOptimal = segments[min].getEnd();
+		threshold = minEnt;
+		return lowerBoundSet;
+	}
+
 	protected boolean[] findUnprunedRegion(Histogram[] segments, double[] lowerBounds) {
 
 		boolean[] unpruned = new boolean[segments.length];
@@ -221,7 +295,7 @@ public class BinarySplitLP extends BinarySplit {
 
 			for (int j = pos2; j <= pos3; j++) {
 				frac = attrClassSet[i].getFrac(j - 1, j);
-				nList.add(new PointAttrClass(attrClassSet[i].getSample(j), attrClassSet[i].getCls(), frac * attrClassSet[i].getWeight()));
+				nList.add(new PointAttrClass(attrClassSet[i].getSampleValue(j), attrClassSet[i].getCls(), frac * attrClassSet[i].getWeight()));
 			}
 		}
 
@@ -0,0 +1,169 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.operation;
+
+import com.decisiontree.data.RangeAttrClass;
+import com.decisiontree.eval.DispersionMeasure;
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * BinarySplitUDES - Finds the best binary split point of an interval-valued attribute using the end-pt sampling technique.
+ * <p>
+ * As the pdfs are uniform, the class distribution of each side changes linearly inside an end-point interval and the
+ * dispersion is concave there. Only the end points of the unpruned regions are therefore evaluated.
+ *
+ * @since 0.9
+ */
+public class BinarySplitUDES extends BinarySplitLP {
+
+	public BinarySplitUDES(String dispersionStr) {
+		super(dispersionStr);
+	}
+
+	public BinarySplitUDES(DispersionMeasure dispersion) {
+		super(dispersion);
+	}
+
+	public void run(Histogram[] segmentSet, double[] endPtSet, double[] lowerBounds,
+					RangeAttrClass[] attrClassSet, double threshold) {
+
+		pruned = true;
+		this.threshold = threshold;
+		boolean unpruned[] = findUnprunedRegion(segmentSet, lowerBounds);
+
+		if (pruned)
+			return;
+
+		double left[] = new double[noCls];
+		double right[] = new double[noCls];
+
+		for (int i = 0; i < segmentSet.length; i++) {
+			for (int j = 0; j < noCls; j++) {
+				right[j] += segmentSet[i].getCls(j);
+			}
+		}
+
+		for (int i = 0; i < segmentSet.length; i++) {
+
+			if (unpruned[i]) {
+				double bestEnt = findEntInRegion(segmentSet[i], endPtSet, attrClassSet, left, right);
+				if (this.threshold - bestEnt > GlobalParam.DOUBLE_PRECISION) {
+					this.threshold = bestEnt;
+					localOptimal = tempOptimal;
+				}
+			}
+			for (int j = 0; j < noCls; j++) {
+				left[j] += segmentSet[i].getCls(j);
+				right[j] -= segmentSet[i].getCls(j);
+			}
+		}
+
+	}
+
+	/**
+	 * Finding the position of the first end point not smaller than the key
+	 *
+	 * @param endPtSet the sorted end points
+	 * @param key      the key
+	 * @param low      the lowest position searched
+	 * @param high     the position after the highest position searched
+	 * @return the position of the first end point not smaller than the key
+	 */
+	protected int binarySearch(double[] endPtSet, double key, int low, int high) {
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (endPtSet[mid] < key)
+				low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+	/**
+	 * Finding the minimum dispersion inside a sampled region by evaluating the end points inside it.
+	 * The end point of the region itself has been evaluated in the pre-processing.
+	 */
+	protected double findEntInRegion(Histogram segment, double[] endPtSet, RangeAttrClass[] attrClassSet,
+									 double[] left, double[] right) {
+
+		double start = segment.getStart();
+		double end = segment.getEnd();
+
+		int startEndPt = binarySearch(endPtSet, start, 0, endPtSet.length);
+		int endEndPt = binarySearch(endPtSet, end, startEndPt, endPtSet.length);
+
+		int noPts = 0;
+		double[] pts = new double[endEndPt - startEndPt + 1];
+		pts[noPts++] = start;
+		for (int i = startEndPt; i < endEndPt; i++)
+			if (endPtSet[i] - pts[noPts - 1] >= 1E-10)
+				pts[noPts++] = endPtSet[i];
+		if (end - pts[noPts - 1] < 1E-10)
+			noPts--;
+		pts[noPts++] = end;
+
+		int noSegments = noPts - 1;
+		if (noSegments <= 1) return Double.POSITIVE_INFINITY;
+
+		double[][] miniSegmentSet = new double[noSegments][noCls];
+
+		for (int i = 0; i < attrClassSet.length; i++) {
+			double tupleStart = attrClassSet[i].getStart(), tupleEnd = attrClassSet[i].getEnd();
+			if (tupleEnd <= start || tupleStart >= end) continue;
+
+			int seg = binarySearch(pts, tupleStart, 0, noPts);
+			if (seg > 0 && (seg == noPts || pts[seg] > tupleStart)) seg--;
+			for (; seg < noSegments && pts[seg] < tupleEnd; seg++) {
+				double l = Math.max(pts[seg], tupleStart);
+				double r = Math.min(pts[seg + 1], tupleEnd);
+				if (r <= l) continue;
+				miniSegmentSet[seg][attrClassSet[i].getCls()] += attrClassSet[i].getFrac(l, r) * attrClassSet[i].getWeight();
+			}
+		}
+
+		double[] tempLeft = new double[noCls];
+		double[] tempRight = new double[noCls];
+
+		for (int i = 0; i < noCls; i++) {
+			tempLeft[i] = left[i];
+			tempRight[i] = right[i];
+		}
+
+		double minEnt = Double.POSITIVE_INFINITY;
+
+		for (int i = 0; i < noSegments - 1; i++) {
+			for (int j = 0; j < noCls; j++) {
+				tempLeft[j] += miniSegmentSet[i][j];
+				tempRight[j] -= miniSegmentSet[i][j];
+			}
+			double regionEnt = dispersionMeasure.averageDispersion(tempLeft, tempRight);
+			if (minEnt - regionEnt > 1E-14) {
+				minEnt = regionEnt;
+				tempOptimal = pts[i + 1];
+			}
+		}
+
+		GlobalParam.addNoEntOnSamples(noSegments - 1);
+
+		return minEnt;
+	}
+
+}
@@ -40,10 +40,13 @@ public interface SplitSearch {
 	public static final String UDTGP = "UDTGP";
 	public static final String UDTLP = "UDTLP";
 	public static final String UDTES = "UDTES";
+	public static final String UDTHB = "UDTHB";
+	public static final String UDTBIN = "UDTBIN";
 
 	public static final String AVG = "AVG";
 
 	public static final String UDTUD = "UDTUD";
+	public static final String UDTUDES = "UDTUDES";
 	public static final String AVGUD = "AVGUD";
 
 	public static final String POINT = "POINT";
@@ -58,6 +61,15 @@ public interface SplitSearch {
 	 */
 	public SplitData findBestAttr(List<Tuple> data, int noCls, int noAttr);
 
+	/**
+	 * Preparing the split search with the data tuples at the root before a tree is built
+	 *
+	 * @param data   the data tuples at the root
+	 * @param noCls  the number of classes
+	 * @param noAttr the number of attribute
+	 */
+	public void prepare(List<Tuple> data, int noCls, int noAttr);
+
 	public double findDispersion(double[] dist, double distSize);
 
 //	public Dispersion getDispersion();
@@ -0,0 +1,342 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.operation;
+
+import com.decisiontree.data.PointAttrClass;
+import com.decisiontree.data.SampleAttribute;
+import com.decisiontree.data.SampleTable;
+import com.decisiontree.data.Tuple;
+import com.decisiontree.param.GlobalParam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SplitSearchBIN - finding the best split point for a set of data on a candidate grid.
+ * The grid is formed by the quantiles of the sample values, weighted by their pdf mass, of the tuples at the root.
+ * The pdf mass of each tuple in each bin is aggregated once at the root, by the sample table and the offset of its
+ * pdf, so that the split search of each node only restricts it to the fragments of the node, adds up the bins and
+ * sweeps the bin boundaries. The best split point can then be refined inside the bins
+ * next to the best boundary.
+ *
+ * @since 0.9
+ */
+public class SplitSearchBIN extends SplitSearchUnp {
+
+	private int noBins;
+	private boolean refine;
+	private double[][] cutPtSet;
+	// the pdf mass of the bins of each attribute by the sample table and the offset of the pdf
+	private List<IdentityHashMap<SampleTable, Map<Integer, BinMass>>> rootBinMass;
+
+	public SplitSearchBIN(String dispersionStr) {
+		this(dispersionStr, GlobalParam.getNoBins(), GlobalParam.isBinRefine());
+	}
+
+	public SplitSearchBIN(String dispersionStr, int noBins, boolean refine) {
+		this(new BinarySplitLP(dispersionStr), noBins, refine);
+	}
+
+	protected SplitSearchBIN(Split split, int noBins, boolean refine) {
+		super(split);
+		this.noBins = noBins;
+		this.refine = refine;
+	}
+
+	@Override
+	public void prepare(List<Tuple> data, int noCls, int noAttr) {
+		cutPtSet = new double[noAttr][];
+		rootBinMass = new ArrayList<IdentityHashMap<SampleTable, Map<Integer, BinMass>>>(noAttr);
+
+		for (int i = 0; i < noAttr; i++) {
+			cutPtSet[i] = findCutPts(data, i);
+
+			IdentityHashMap<SampleTable, Map<Integer, BinMass>> binMassMap =
+			  new IdentityHashMap<SampleTable, Map<Integer, BinMass>>(data.size());
+			for (Tuple tuple : data)
+				putBinMass(binMassMap, (SampleAttribute) tuple.getAttribute(i), cutPtSet[i]);
+			rootBinMass.add(binMassMap);
+			log.debug("Candidate grid of attribute " + i + ": " + (cutPtSet[i].length + 1) + " bins");
+		}
+	}
+
+	/**
+	 * Finding the cut points of the bins of an attribute by the weighted quantiles of the sample values
+	 *
+	 * @param data the data tuples
+	 * @param attr the attribute
+	 * @return the sorted cut points
+	 */
+	protected double[] findCutPts(List<Tuple> data, int attr) {
+		PointAttrClass[] attrClassSet = generatePointAttrClass(data, attr);
+		Arrays.sort(attrClassSet);
+		return findCutPts(attrClassSet, noBins);
+	}
+
+	/**
+	 * Finding the cut points of the bins by the weighted quantiles of sample values
+	 *
+	 * @param attrClassSet the sample values with their weights, sorted by value
+	 * @param noBins       the number of bins
+	 * @return the sorted cut points
+	 */
+	public static double[] findCutPts(PointAttrClass[] attrClassSet, int noBins) {
+		double total = 0.0;
+		for (PointAttrClass attrClass : attrClassSet)
+			total += attrClass.getWeight();
+
+		double step = total / noBins;
+		double next = step;
+		double accum = 0.0;
+		double[] cutPts = new double[noBins];
+		int noCutPts = 0;
+		for (int i = 0; i < attrClassSet.length - 1 && noCutPts < noBins - 1; i++) {
+			accum += attrClassSet[i].getWeight();
+			if (accum < next - GlobalParam.DOUBLE_PRECISION)
+				continue;
+			if (attrClassSet[i + 1].getValue() == attrClassSet[i].getValue())
+				continue;
+			cutPts[noCutPts++] = attrClassSet[i].getValue();
+			while (next <= accum)
+				next += step;
+		}
+		return Arrays.copyOf(cutPts, noCutPts);
+	}
+
+	/**
+	 * Aggregating the pdf mass of the bins of the whole pdf of an attribute, unless it is aggregated for the same
+	 * samples. Most tables hold the samples of one pdf, so a singleton map is kept for them.
+	 *
+	 * @param binMassMap the pdf mass of the bins by the sample table and the offset of the pdf
+	 * @param attribute  the attribute
+	 * @param cutPts     the cut points of the bins
+	 */
+	private static void putBinMass(IdentityHashMap<SampleTable, Map<Integer, BinMass>> binMassMap,
+								   SampleAttribute attribute, double[] cutPts) {
+		Map<Integer, BinMass> offsetMap = binMassMap.get(attribute.getTable());
+		if (offsetMap != null && offsetMap.containsKey(attribute.getOffset()))
+			return;
+
+		SampleAttribute whole = attribute;
+		if (attribute.getStartPos() != -1 || attribute.getEndPos() != attribute.getNoSample() - 1)
+			whole = new SampleAttribute(attribute.getAbsStart(), attribute.getAbsEnd(), attribute.getTable(),
+			  attribute.getOffset(), attribute.getNoSample());
+		BinMass binMass = new BinMass(whole, cutPts);
+
+		if (offsetMap == null)
+			offsetMap = Collections.singletonMap(attribute.getOffset(), binMass);
+		else {
+			offsetMap = new HashMap<Integer, BinMass>(offsetMap);
+			offsetMap.put(attribute.getOffset(), binMass);
+		}
+		binMassMap.put(attribute.getTable(), offsetMap);
+	}
+
+	private void addBinMass(double[][] binHist, Tuple tuple, int attr) {
+		SampleAttribute attribute = (SampleAttribute) tuple.getAttribute(attr);
+		Map<Integer, BinMass> offsetMap = rootBinMass.get(attr).get(attribute.getTable());
+		BinMass binMass = offsetMap == null ? null : offsetMap.get(attribute.getOffset());
+		if (binMass == null)
+			new BinMass(attribute, cutPtSet[attr]).addTo(binHist, tuple.getCls(), tuple.getWeight());
+		else binMass.addTo(binHist, tuple.getCls(), tuple.getWeight(), attribute);
+	}
+
+	protected Histogram[] binSegGen(List<Tuple> data, int noCls, int attr) {
+		double[] cutPts = cutPtSet[attr];
+		int noAttrBins = cutPts.length + 1;
+
+		double[][] binHist = new double[noAttrBins][noCls];
+		for (Tuple tuple : data)
+			addBinMass(binHist, tuple, attr);
+		return binSegGen(binHist, cutPts, noCls);
+	}
+
+	/**
+	 * Generating the non-empty segments of an attribute from the class histogram of its bins
+	 *
+	 * @param binHist the class histogram of the bins
+	 * @param cutPts  the cut points of the bins
+	 * @param noCls   the number of classes
+	 * @return the non-empty bins as segments
+	 */
+	public static Histogram[] binSegGen(double[][] binHist, double[] cutPts, int noCls) {
+		int noAttrBins = cutPts.length + 1;
+		ArrayList<Histogram> segmentList = new ArrayList<Histogram>(noAttrBins);
+		for (int i = 0; i < noAttrBins; i++) {
+			double start = i == 0 ? Double.NEGATIVE_INFINITY : cutPts[i - 1];
+			double end = i == noAttrBins - 1 ? Double.POSITIVE_INFINITY : cutPts[i];
+			Histogram segment = new Histogram(noCls, start, end);
+			for (int j = 0; j < noCls; j++)
+				if (binHist[i][j] > 0)
+					segment.addCls(j, binHist[i][j]);
+			if (!segment.empty())
+				segmentList.add(segment);
+		}
+
+		Histogram[] segmentSet = new Histogram[segmentList.size()];
+		return segmentList.toArray(segmentSet);
+	}
+
+	/**
+	 * Refining the best split point inside the two bins next to the best bin boundary
+	 *
+	 * @param data       the data tuples
+	 * @param segmentSet the non-empty bins of the best attribute
+	 * @param splitData  the best split found on the bin boundaries
+	 */
+	protected void refineSplit(List<Tuple> data, Histogram[] segmentSet, SplitData splitData) {
+		int noCls = segmentSet[0].getNoCls();
+
+		int pos = 0;
+		while (pos < segmentSet.length - 1 && segmentSet[pos].getEnd() != splitData.getSplitPt())
+			pos++;
+		if (pos >= segmentSet.length - 1)
+			return;
+
+		double[] left = new double[noCls];
+		double[] right = new double[noCls];
+		for (int i = 0; i < segmentSet.length; i++)
+			for (int j = 0; j < noCls; j++) {
+				if (i < pos) left[j] += segmentSet[i].getCls(j);
+				else right[j] += segmentSet[i].getCls(j);
+			}
+
+		double start = segmentSet[pos].getStart();
+		double end = segmentSet[pos + 1].getEnd();
+
+		int attr = splitData.getAttrNum();
+		ArrayList<PointAttrClass> attrClassList = new ArrayList<PointAttrClass>();
+		for (Tuple tuple : data) {
+			SampleAttribute attribute = (SampleAttribute) tuple.getAttribute(attr);
+			if (attribute.getEnd() <= start || attribute.getStart() > end)
+				continue;
+			double curFrac = attribute.getCurFrac();
+			for (int i = attribute.getStartPos() + 1; i <= attribute.getEndPos(); i++) {
+				double value = attribute.getSampleValue(i);
+				if (value <= start) continue;
+				if (value > end) break;
+				double frac = attribute.getSampleCDist(i);
+				if (i != 0)
+					frac -= attribute.getSampleCDist(i - 1);
+				attrClassList.add(new PointAttrClass(value, tuple.getCls(), tuple.getWeight() * frac / curFrac));
+			}
+		}
+		if (attrClassList.isEmpty())
+			return;
+
+		PointAttrClass[] attrClassSet = new PointAttrClass[attrClassList.size()];
+		attrClassList.toArray(attrClassSet);
+		Arrays.sort(attrClassSet);
+		Histogram[] miniSegmentSet = getSplit().miniSegGen(attrClassSet);
+		GlobalParam.addNoEntOnSamples(miniSegmentSet.length);
+
+		for (int i = 0; i < miniSegmentSet.length - 1; i++) {
+			for (int j = 0; j < noCls; j++) {
+				left[j] += miniSegmentSet[i].getCls(j);
+				right[j] -= miniSegmentSet[i].getCls(j);
+			}
+			double localEnt = getSplit().getDispersionMeasure().averageDispersion(left, right);
+			if (splitData.getDispersion() - localEnt > 1E-12) {
+				splitData.setDispersion(localEnt);
+				splitData.setSplitPt(miniSegmentSet[i].getValue());
+			}
+		}
+	}
+
+	@Override
+	public SplitData findBestAttr(List<Tuple> data, int noCls, int noAttr) {
+		if (cutPtSet == null)
+			prepare(data, noCls, noAttr);
+
+		Histogram[][] segmentSets = new Histogram[noAttr][];
+		for (int i = 0; i < noAttr; i++)
+			segmentSets[i] = binSegGen(data, noCls, i);
+		SplitData splitData = findBestSplit(segmentSets, Tuple.countWeightedTuples(data), noCls);
+
+		if (refine && splitData.isValidSplit())
+			refineSplit(data, segmentSets[splitData.getAttrNum()], splitData);
+
+		log.debug("Best Split: " + splitData.getAttrNum() + ", "
+		  + splitData.getSplitPt() + ", " + splitData.getDispersion());
+
+		return splitData;
+	}
+
+	/**
+	 * Finding the best split on the bin boundaries of the attributes
+	 *
+	 * @param segmentSets      the non-empty bins of each attribute
+	 * @param weightedNoTuples the weighted number of tuples
+	 * @param noCls            the number of classes
+	 * @return the best split, not valid if no attribute has two non-empty bins
+	 */
+	public SplitData findBestSplit(Histogram[][] segmentSets, double weightedNoTuples, int noCls) {
+		SplitData splitData = new SplitData();
+		splitData.setDispersion(Double.POSITIVE_INFINITY);
+
+		getSplit().init(weightedNoTuples, noCls);
+
+		for (int i = 0; i < segmentSets.length; i++) {
+			Histogram segmentSet[] = segmentSets[i];
+			GlobalParam.addNoEntOnSamples(segmentSet.length);
+			if (segmentSet.length <= 1)
+				continue;
+
+			getSplit().run(segmentSet);
+			double localEnt = getSplit().getEnt();
+
+			if (splitData.getDispersion() - localEnt > 1E-12) {
+				splitData.setDispersion(localEnt);
+				splitData.setSplitPt(getSplit().getSplit());
+				splitData.setAttrNum(i);
+			}
+		}
+		return splitData;
+	}
+
+	public int getNoBins() {
+		return noBins;
+	}
+
+	public double[] getCutPts(int attr) {
+		return cutPtSet[attr];
+	}
+
+	/**
+	 * Setting the cut points of the bins, found out of the split search
+	 *
+	 * @param cutPtSet the sorted cut points of each attribute
+	 */
+	public void setCutPts(double[][] cutPtSet) {
+		this.cutPtSet = cutPtSet;
+	}
+
+	@Override
+	protected BinarySplitLP getSplit() {
+		return (BinarySplitLP) super.getSplit();
+	}
+
+}
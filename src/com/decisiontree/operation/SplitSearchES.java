@@ -97,6 +97,11 @@ public class SplitSearchES extends SplitSearchGP {
 			prevPos = startPos;
 
 			//Assume pos1 < pos2
+			// a truncated PDF without a sample in its interval keeps its mass in the segment containing its start
+			if (startPos >= endPos) {
+				tempSegmentList[temp].addCls(attrClassSet[i].getCls(), attrClassSet[i].getWeight());
+				continue;
+			}
 
 			next = attrClassSet[i].getSampleValue(startPos + 1); // need to add
 
@@ -45,10 +45,16 @@ public class SplitSearchFactory {
 			splitSearch = new SplitSearchLP(dispersionStr);
 		else if (algorithm.equals(SplitSearch.UDTES))
 			splitSearch = new SplitSearchES(dispersionStr);
+		else if (algorithm.equals(SplitSearch.UDTHB))
+			splitSearch = new SplitSearchHB(dispersionStr);
+		else if (algorithm.equals(SplitSearch.UDTBIN))
+			splitSearch = new SplitSearchBIN(dispersionStr);
 		else if (algorithm.equals(SplitSearch.AVG))
 			splitSearch = new SplitSearchORI(dispersionStr);
 		else if (algorithm.equals(SplitSearch.UDTUD))
 			splitSearch = new SplitSearchUD(dispersionStr);
+		else if (algorithm.equals(SplitSearch.UDTUDES))
+			splitSearch = new SplitSearchUDES(dispersionStr);
 		else if (algorithm.equals(SplitSearch.AVGUD))
 			splitSearch = new SplitSearchUD(dispersionStr);
 		else if (algorithm.equals(SplitSearch.POINT))
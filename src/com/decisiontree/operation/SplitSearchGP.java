@@ -92,6 +92,11 @@ public class SplitSearchGP extends AbstractSplitSearch {
 			prevPos = startPos; // prevPos;
 
 			//Assume pos1 < pos2
+			// a truncated PDF without a sample in its interval keeps its mass in the segment containing its start
+			if (startPos >= endPos) {
+				tempSegmentSet[temp].addCls(attrClassList[i].getCls(), attrClassList[i].getWeight());
+				continue;
+			}
 
 			next = attrClassList[i].getSampleValue(startPos + 1); // need to add
 
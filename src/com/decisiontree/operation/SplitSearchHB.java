@@ -0,0 +1,176 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.operation;
+
+import com.decisiontree.data.Tuple;
+import com.decisiontree.param.GlobalParam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SplitSearchHB - finding the best split point for a large set of data by evaluating the attributes on a growing
+ * random subsample. The subsample grows until the Hoeffding bound separates the best attribute from the runner-up
+ * with the given confidence, or until the bound falls below the tie threshold, in which case the attributes are
+ * regarded as equally good. The sample sizes are the weighted counts of the tuples, so that fractional and
+ * weighted tuples count by their weights. The split point of the winning attribute is then found with all the
+ * data tuples.
+ *
+ * @since 0.9
+ */
+public class SplitSearchHB extends SplitSearchUnp {
+
+	private double confidence;
+	private int minTuples;
+	private double tieThreshold;
+	private Random random;
+
+	public SplitSearchHB(String dispersionStr) {
+		this(dispersionStr, GlobalParam.getHoeffdingConfidence(), GlobalParam.getHoeffdingMinTuples(),
+		  GlobalParam.getHoeffdingTie());
+	}
+
+	public SplitSearchHB(String dispersionStr, double confidence, int minTuples, double tieThreshold) {
+		this(new BinarySplit(dispersionStr), confidence, minTuples, tieThreshold);
+	}
+
+	protected SplitSearchHB(Split split, double confidence, int minTuples, double tieThreshold) {
+		super(split);
+		this.confidence = confidence;
+		this.minTuples = minTuples;
+		this.tieThreshold = tieThreshold;
+		this.random = new Random(GlobalParam.getSeed());
+	}
+
+	/**
+	 * Finding the Hoeffding bound of the estimated dispersion
+	 *
+	 * @param range    the range of the dispersion
+	 * @param noTuples the weighted number of sampled tuples
+	 * @return the Hoeffding bound
+	 */
+	protected double findBound(double range, double noTuples) {
+		return Math.sqrt(range * range * Math.log(1.0 / (1.0 - confidence)) / (2.0 * noTuples));
+	}
+
+	/**
+	 * Finding the dispersion of each attribute with the given data tuples
+	 *
+	 * @param data   the given data tuples
+	 * @param noCls  the number of classes
+	 * @param noAttr the number of attributes
+	 * @param splitPts the split point of each attribute found
+	 * @return the dispersion of each attribute
+	 */
+	private double[] findAttrDispersion(List<Tuple> data, int noCls, int noAttr, double[] splitPts) {
+		double[] dispersion = new double[noAttr];
+		getSplit().init(Tuple.countWeightedTuples(data), noCls);
+		for (int i = 0; i < noAttr; i++) {
+			dispersion[i] = Double.POSITIVE_INFINITY;
+			Histogram segmentSet[] = SegGen(data, noCls, i);
+			if (segmentSet == null)
+				continue;
+			GlobalParam.addNoEntOnSamples(segmentSet.length);
+			if (segmentSet.length <= 1)
+				continue;
+			getSplit().run(segmentSet);
+			dispersion[i] = getSplit().getEnt();
+			splitPts[i] = getSplit().getSplit();
+		}
+		return dispersion;
+	}
+
+	@Override
+	public SplitData findBestAttr(List<Tuple> data, int noCls, int noAttr) {
+
+		int noTuples = data.size();
+		if (Tuple.countWeightedTuples(data) < minTuples || noAttr <= 1)
+			return super.findBestAttr(data, noCls, noAttr);
+
+		List<Tuple> shuffled = new ArrayList<Tuple>(data);
+		Collections.shuffle(shuffled, random);
+
+		double[] uniform = new double[noCls];
+		for (int i = 0; i < noCls; i++)
+			uniform[i] = 1.0;
+		double range = findDispersion(uniform, noCls);
+
+		int noSampled = GlobalParam.DEFAULT_HOEFFDING_SAMPLE / 2;
+		int best = -1;
+		double bound = 0.0, gap = 0.0;
+		double[] dispersion = null;
+		double[] splitPts = new double[noAttr];
+		while (true) {
+			noSampled = Math.min(noTuples, noSampled * 2);
+			List<Tuple> sample = shuffled.subList(0, noSampled);
+			dispersion = findAttrDispersion(sample, noCls, noAttr, splitPts);
+
+			best = -1;
+			int second = -1;
+			for (int i = 0; i < noAttr; i++) {
+				if (best == -1 || dispersion[best] - dispersion[i] > 1E-12) {
+					second = best;
+					best = i;
+				} else if (second == -1 || dispersion[second] - dispersion[i] > 1E-12)
+					second = i;
+			}
+
+			bound = findBound(range, Tuple.countWeightedTuples(sample));
+			gap = dispersion[second] - dispersion[best];
+			if (noSampled >= noTuples || gap > bound || bound < tieThreshold)
+				break;
+		}
+
+		log.info("Hoeffding split search: attribute " + best + " chosen with " + noSampled + " of " + noTuples
+		  + " tuples (confidence: " + confidence + ", bound: " + bound + ", gap: " + gap + ")");
+
+		SplitData splitData = new SplitData();
+		splitData.setDispersion(Double.POSITIVE_INFINITY);
+
+		if (noSampled >= noTuples) {
+			if (dispersion[best] < Double.POSITIVE_INFINITY) {
+				splitData.setDispersion(dispersion[best]);
+				splitData.setSplitPt(splitPts[best]);
+				splitData.setAttrNum(best);
+			}
+			return splitData;
+		}
+
+		getSplit().init(Tuple.countWeightedTuples(data), noCls);
+		Histogram segmentSet[] = SegGen(data, noCls, best);
+		if (segmentSet == null || segmentSet.length <= 1)
+			return splitData;
+		GlobalParam.addNoEntOnSamples(segmentSet.length);
+
+		getSplit().run(segmentSet);
+		splitData.setDispersion(getSplit().getEnt());
+		splitData.setSplitPt(getSplit().getSplit());
+		splitData.setAttrNum(best);
+
+		log.debug("Best Split: " + splitData.getAttrNum() + ", "
+		  + splitData.getSplitPt() + ", " + splitData.getDispersion());
+
+		return splitData;
+	}
+
+}
@@ -0,0 +1,175 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.operation;
+
+import com.decisiontree.data.RangeAttrClass;
+import com.decisiontree.data.Tuple;
+import com.decisiontree.param.GlobalParam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SplitSearchUDES - Finds the best split point for a set of data (interval-valued) using end-point sampling
+ * and global pruning technique.
+ * <p>
+ * The fraction of an interval falling into a region is computed analytically, so the lower bounds of the sampled
+ * regions and the dispersion inside the unpruned regions are found without generating any sample.
+ *
+ * @since 0.9
+ */
+public class SplitSearchUDES extends SplitSearchUD {
+
+	public SplitSearchUDES(String dispersionStr) {
+		this(new BinarySplitUDES(dispersionStr));
+	}
+
+	protected SplitSearchUDES(Split split) {
+		super(split);
+	}
+
+	protected double[] getEndPtSet(RangeAttrClass[] attrClassSet) {
+
+		int noTuples = attrClassSet.length;
+		double[] endPtSet = new double[noTuples * 2];
+		for (int i = 0; i < noTuples; i++) {
+			endPtSet[2 * i] = attrClassSet[i].getStart();
+			endPtSet[2 * i + 1] = attrClassSet[i].getEnd();
+		}
+
+		Arrays.sort(endPtSet);
+		return endPtSet;
+	}
+
+	private Histogram[] SegGen(RangeAttrClass[] attrClassSet, double[] endPtSet, int noCls) {
+
+		final int noEndPts = endPtSet.length;
+
+		ArrayList<Histogram> sampledList = new ArrayList<Histogram>(noEndPts / GlobalParam.SAMPLING + 2);
+		int previous = 0;
+		for (int i = GlobalParam.SAMPLING - 1; i < noEndPts; i += GlobalParam.SAMPLING) {
+			if (endPtSet[i] - endPtSet[previous] < 1E-10) continue;
+			sampledList.add(new Histogram(noCls, endPtSet[previous], endPtSet[i]));
+			previous = i;
+		}
+		if (endPtSet[noEndPts - 1] - endPtSet[previous] >= 1E-10)
+			sampledList.add(new Histogram(noCls, endPtSet[previous], endPtSet[noEndPts - 1]));
+
+		int noSampledSegments = sampledList.size();
+		if (noSampledSegments == 0) return new Histogram[0];
+
+		double[] sampledEnds = new double[noSampledSegments];
+		for (int i = 0; i < noSampledSegments; i++)
+			sampledEnds[i] = sampledList.get(i).getEnd();
+
+		for (RangeAttrClass attrClass : attrClassSet) {
+			double tupleStart = attrClass.getStart(), tupleEnd = attrClass.getEnd();
+			if (tupleEnd - tupleStart < 1E-10) continue;
+
+			int pos = Arrays.binarySearch(sampledEnds, tupleStart);
+			pos = pos < 0 ? -pos - 1 : pos + 1;
+
+			for (; pos < noSampledSegments && sampledList.get(pos).getStart() < tupleEnd; pos++) {
+				Histogram segment = sampledList.get(pos);
+				double left = Math.max(segment.getStart(), tupleStart);
+				double right = Math.min(segment.getEnd(), tupleEnd);
+				if (right <= left) continue;
+				segment.addCls(attrClass.getCls(), attrClass.getFrac(left, right) * attrClass.getWeight());
+			}
+		}
+
+		ArrayList<Histogram> segmentList = new ArrayList<Histogram>(noSampledSegments);
+		Histogram currSegment = null;
+		for (Histogram segment : sampledList) {
+			if (segment.empty()) continue;
+			if (currSegment != null && !currSegment.mulCls() && !segment.mulCls()
+			  && currSegment.singleCls() == segment.singleCls()) {
+				currSegment.mergeHist(segment);
+				continue;
+			}
+			currSegment = segment;
+			segmentList.add(currSegment);
+		}
+
+		Histogram[] segmentSet = new Histogram[segmentList.size()];
+		return segmentList.toArray(segmentSet);
+	}
+
+	@Override
+	public SplitData findBestAttr(List<Tuple> data, int noCls, int noAttr) {
+		SplitData splitData = new SplitData();
+		splitData.setDispersion(Double.POSITIVE_INFINITY);
+		double totalTuples = Tuple.countWeightedTuples(data);
+		log.debug("Total Tuples: " + totalTuples);
+
+		getSplit().init(totalTuples, noCls);
+
+		Histogram allSegmentSet[][] = new Histogram[noAttr][];
+		RangeAttrClass allAttrClassSet[][] = new RangeAttrClass[noAttr][];
+		double allEndptSet[][] = new double[noAttr][];
+		double allLowerBoundSet[][] = new double[noAttr][];
+
+		for (int i = 0; i < noAttr; i++) {
+			allAttrClassSet[i] = generateRangeAttrClass(data, i);
+			allEndptSet[i] = getEndPtSet(allAttrClassSet[i]);
+			allSegmentSet[i] = SegGen(allAttrClassSet[i], allEndptSet[i], noCls);
+
+			log.debug("Histogram size: " + allSegmentSet[i].length);
+			GlobalParam.addNoEndPtIntervals(allSegmentSet[i].length);
+
+			allLowerBoundSet[i] = getSplit().preProcess(allSegmentSet[i]);
+
+			if (allSegmentSet[i].length <= 1) continue;
+			double localEnt = getSplit().getEnt();
+			if (splitData.getDispersion() - localEnt > 1E-12) {
+				splitData.setDispersion(localEnt);
+				splitData.setSplitPt(getSplit().getSplit());
+				splitData.setAttrNum(i);
+			}
+		}
+
+		for (int i = 0; i < noAttr; i++) {
+			if (allSegmentSet[i].length == 0) continue;
+
+			getSplit().run(allSegmentSet[i], allEndptSet[i], allLowerBoundSet[i], allAttrClassSet[i], splitData.getDispersion());
+			if (!getSplit().isPruned()) {
+				double localEnt = getSplit().getEnt();
+
+				if (splitData.getDispersion() - localEnt > 1E-12) {
+					splitData.setDispersion(localEnt);
+					splitData.setSplitPt(getSplit().getSplit());
+					splitData.setAttrNum(i);
+				}
+			}
+		}
+
+		log.debug("Best Split: " + splitData.getAttrNum() + ", " + splitData.getSplitPt() + ", " + splitData.getDispersion());
+
+		return splitData;
+	}
+
+	@Override
+	protected BinarySplitUDES getSplit() {
+		return (BinarySplitUDES) super.getSplit();
+	}
+
+}
@@ -21,7 +21,6 @@
 package com.decisiontree.operation;
 
 import com.decisiontree.data.PointAttrClass;
-import com.decisiontree.data.Sample;
 import com.decisiontree.data.SampleAttribute;
 import com.decisiontree.data.Tuple;
 import com.decisiontree.param.GlobalParam;
@@ -74,19 +73,18 @@ public class SplitSearchUnp extends AbstractSplitSearch {
 		for (int j = 0; j < noTuples; j++) {
 			SampleAttribute p = (SampleAttribute) (data.get(j)
 			  .getAttribute(attr));
-			Sample samples[] = p.getSamples();
 			curFrac = p.getCurFrac();
 			// log.info(curFrac + " " + p.getStartPos() + " " + p.getEndPos());
 			for (int a = p.getStartPos() + 1; a <= p.getEndPos(); a++) {
 				// frac is the area of the bar of this sample in the histogram
-				double frac = samples[a].getCDist();
+				double frac = p.getSampleCDist(a);
 				if (a != 0)
-					frac -= samples[a - 1].getCDist();
+					frac -= p.getSampleCDist(a - 1);
 				// as per the paper, w = w * sampleBarArea / totalLocalPDFArea
 				// dividing by the totalLocalPDFArea, it normalizes the PDF
 				// thus, w = w * normalizedSampleBarArea
 				// In the end, it will have added noTuples * noSamples pointAttrClass objects
-				attrClassList.add(new PointAttrClass(samples[a], data.get(j)
+				attrClassList.add(new PointAttrClass(p.getSampleValue(a), data.get(j)
 				  .getCls(), data.get(j).getWeight() * frac / curFrac));
 			}
 		}
@@ -40,12 +40,28 @@ public class GlobalParam {
 	public static final double DEFAULT_WIDTH = 0.1;
 	public static final double DEFAULT_NODESIZE = 1;
 	public static final double DEFAULT_PURITY_THRESHOLD = 0.99;
+	public static final double DEFAULT_HOEFFDING_CONFIDENCE = 0.999;
+	public static final int DEFAULT_HOEFFDING_MIN_TUPLES = 10000;
+	public static final double DEFAULT_HOEFFDING_TIE = 0.01;
+	public static final int DEFAULT_HOEFFDING_SAMPLE = 1000;
+	public static final int DEFAULT_NO_BINS = 64;
+	public static final int DEFAULT_PARALLEL_SWEEP = 65536;
+	public static final int SWEEP_CHUNK = 8192;
+	public static final int LOAD_CHUNK = 1 << 22;
+	public static final long PROGRESS_INTERVAL = 1000;
+	public static final int GEN_BLOCK = 1 << 14;
+	public static final int DEFAULT_NO_QUANTILES = 100;
 	public static final String SAMPLE_TUPLE = "T";
 	public static final String SAMPLE_ATTR = "A";
 	public static final String NAME_FILE = ".names";
 	public static final String POINT_FILE = ".data";
+	public static final String ARENA_FILE = ".arena";
+	public static final String SNAPSHOT_FILE = ".snapshot";
 	public static final String RANGE_FILE = ".range";
 	public static final String SAMPLE_FILE = ".error";
+	public static final String COMPACT_PDF_FILE = ".compact";
+	public static final String PACK_FILE = "_PDF.pack";
+	public static final String OOC_PATH = "_OOC/";
 	public static final String TO = "->";
 	public static final String SEPERATOR = ",";
 	public static final String RESULT_FILE = "result/result.rst";
@@ -64,6 +80,69 @@ public class GlobalParam {
 	private static int noEndPtSampIntervals = 0;
 	private static int noEntOnSamples = 0;
 
+	// For Hoeffding-bound sampled split search
+	private static double hoeffdingConfidence = DEFAULT_HOEFFDING_CONFIDENCE;
+	private static int hoeffdingMinTuples = DEFAULT_HOEFFDING_MIN_TUPLES;
+	private static double hoeffdingTie = DEFAULT_HOEFFDING_TIE;
+
+	// For seeding the random sampling while building the tree
+	private static long seed = DEFAULT_SEED;
+
+	// For split search on the candidate grid
+	private static int noBins = DEFAULT_NO_BINS;
+	private static boolean binRefine = true;
+
+	// For parallel sweep of a single attribute
+	private static int parallelSweepSegments = DEFAULT_PARALLEL_SWEEP;
+
+	// For fragment weight thresholding
+	private static double minFragWeight = 0.0;
+	private static double minFragRatio = 0.0;
+	private static int noAbsorbedFrags = 0;
+
+	// For storing sample-distributed datasets in columns
+	private static boolean columnar = false;
+
+	// For interning the PDFs shared by tuples
+	private static boolean intern = false;
+
+	// For discretizing parametric PDFs
+	private static int noQuantiles = DEFAULT_NO_QUANTILES;
+
+	// For compressing the PDFs within the CDF error, 0 for no compression
+	private static double knotEpsilon = 0;
+
+	// For merging the duplicated training tuples into weighted tuples
+	private static boolean coalesce = false;
+
+	// For storing the samples as floats and 16-bit cumulative distributions
+	private static boolean compact = false;
+
+	// For storing the samples off the heap in a memory-mapped file
+	private static boolean arena = false;
+
+	// For reading the PDFs from the sample files, lazily within a cache of the given MB if it is positive
+	private static boolean pdfFiles = false;
+	private static int pdfCacheSize = 0;
+
+	// For reading the PDF files of the tuples by the given number of concurrent readers, 0 for reading them one by one
+	private static int pdfThreads = 0;
+
+	// For reducing the training tuples to a weighted coreset of the given size, 0 for no reduction
+	private static int coresetSize = 0;
+
+	// For loading the datasets from binary snapshots, written on the first load
+	private static boolean snapshot = false;
+
+	// For building the tree out of core within a memory budget of the given MB, 0 for building it in memory
+	private static int oocBudget = 0;
+
+	// For generating the PDFs into one packed file instead of a file for each tuple attribute
+	private static boolean packedPdf = false;
+
+	// For generating the uncertain data of the overall mode in memory instead of into files
+	private static boolean inMemory = false;
+
 	public static int getNoEntCal() {
 		return getNoEndPtIntervals() + getNoHeterIntervals()
 		  + getNoEndPtSampIntervals() + getNoEndPtSampLBs() +
@@ -194,6 +273,206 @@ public class GlobalParam {
 		GlobalParam.noUnpIntervals++;
 	}
 
+	public static double getHoeffdingConfidence() {
+		return hoeffdingConfidence;
+	}
+
+	public static void setHoeffdingConfidence(double hoeffdingConfidence) {
+		GlobalParam.hoeffdingConfidence = hoeffdingConfidence;
+	}
+
+	public static int getHoeffdingMinTuples() {
+		return hoeffdingMinTuples;
+	}
+
+	public static void setHoeffdingMinTuples(int hoeffdingMinTuples) {
+		GlobalParam.hoeffdingMinTuples = hoeffdingMinTuples;
+	}
+
+	public static double getHoeffdingTie() {
+		return hoeffdingTie;
+	}
+
+	public static void setHoeffdingTie(double hoeffdingTie) {
+		GlobalParam.hoeffdingTie = hoeffdingTie;
+	}
+
+	public static long getSeed() {
+		return seed;
+	}
+
+	public static void setSeed(long seed) {
+		GlobalParam.seed = seed;
+	}
+
+	public static int getNoBins() {
+		return noBins;
+	}
+
+	public static void setNoBins(int noBins) {
+		GlobalParam.noBins = noBins;
+	}
+
+	public static boolean isBinRefine() {
+		return binRefine;
+	}
+
+	public static void setBinRefine(boolean binRefine) {
+		GlobalParam.binRefine = binRefine;
+	}
+
+	public static int getParallelSweepSegments() {
+		return parallelSweepSegments;
+	}
+
+	public static void setParallelSweepSegments(int parallelSweepSegments) {
+		GlobalParam.parallelSweepSegments = parallelSweepSegments;
+	}
+
+	public static double getMinFragWeight() {
+		return minFragWeight;
+	}
+
+	public static void setMinFragWeight(double minFragWeight) {
+		GlobalParam.minFragWeight = minFragWeight;
+	}
+
+	public static double getMinFragRatio() {
+		return minFragRatio;
+	}
+
+	public static void setMinFragRatio(double minFragRatio) {
+		GlobalParam.minFragRatio = minFragRatio;
+	}
+
+	public static int getNoAbsorbedFrags() {
+		return noAbsorbedFrags;
+	}
+
+	public static void incrNoAbsorbedFrags() {
+		noAbsorbedFrags++;
+	}
+
+	public static boolean isColumnar() {
+		return columnar;
+	}
+
+	public static void setColumnar(boolean columnar) {
+		GlobalParam.columnar = columnar;
+	}
+
+	public static boolean isIntern() {
+		return intern;
+	}
+
+	public static void setIntern(boolean intern) {
+		GlobalParam.intern = intern;
+	}
+
+	public static int getNoQuantiles() {
+		return noQuantiles;
+	}
+
+	public static void setNoQuantiles(int noQuantiles) {
+		GlobalParam.noQuantiles = noQuantiles;
+	}
+
+	public static double getKnotEpsilon() {
+		return knotEpsilon;
+	}
+
+	public static void setKnotEpsilon(double knotEpsilon) {
+		GlobalParam.knotEpsilon = knotEpsilon;
+	}
+
+	public static boolean isCoalesce() {
+		return coalesce;
+	}
+
+	public static void setCoalesce(boolean coalesce) {
+		GlobalParam.coalesce = coalesce;
+	}
+
+	public static boolean isCompact() {
+		return compact;
+	}
+
+	public static void setCompact(boolean compact) {
+		GlobalParam.compact = compact;
+	}
+
+	public static boolean isArena() {
+		return arena;
+	}
+
+	public static void setArena(boolean arena) {
+		GlobalParam.arena = arena;
+	}
+
+	public static boolean isPdfFiles() {
+		return pdfFiles;
+	}
+
+	public static void setPdfFiles(boolean pdfFiles) {
+		GlobalParam.pdfFiles = pdfFiles;
+	}
+
+	public static int getPdfCacheSize() {
+		return pdfCacheSize;
+	}
+
+	public static void setPdfCacheSize(int pdfCacheSize) {
+		GlobalParam.pdfCacheSize = pdfCacheSize;
+	}
+
+	public static int getPdfThreads() {
+		return pdfThreads;
+	}
+
+	public static void setPdfThreads(int pdfThreads) {
+		GlobalParam.pdfThreads = pdfThreads;
+	}
+
+	public static int getCoresetSize() {
+		return coresetSize;
+	}
+
+	public static void setCoresetSize(int coresetSize) {
+		GlobalParam.coresetSize = coresetSize;
+	}
+
+	public static boolean isSnapshot() {
+		return snapshot;
+	}
+
+	public static void setSnapshot(boolean snapshot) {
+		GlobalParam.snapshot = snapshot;
+	}
+
+	public static int getOocBudget() {
+		return oocBudget;
+	}
+
+	public static void setOocBudget(int oocBudget) {
+		GlobalParam.oocBudget = oocBudget;
+	}
+
+	public static boolean isPackedPdf() {
+		return packedPdf;
+	}
+
+	public static void setPackedPdf(boolean packedPdf) {
+		GlobalParam.packedPdf = packedPdf;
+	}
+
+	public static boolean isInMemory() {
+		return inMemory;
+	}
+
+	public static void setInMemory(boolean inMemory) {
+		GlobalParam.inMemory = inMemory;
+	}
+
 	public static void clearStoredValues() {
 		noNode = 0;
 
@@ -206,6 +485,8 @@ public class GlobalParam {
 		noUnpEndPtSampLBs = 0;
 		noEndPtSampIntervals = 0;
 		noEntOnSamples = 0;
+
+		noAbsorbedFrags = 0;
 	}
 
 
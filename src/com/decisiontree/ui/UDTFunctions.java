@@ -20,9 +20,12 @@
  */
 package com.decisiontree.ui;
 
+import com.decisiontree.data.PointDataSet;
+import com.decisiontree.data.PointDataSetInit;
 import com.decisiontree.datagen.RangeDataGen;
 import com.decisiontree.datagen.SampleDataCleaner;
 import com.decisiontree.datagen.SampleDataGen;
+import com.decisiontree.datagen.SyntheticDataGen;
 import com.decisiontree.eval.DispersionMeasure;
 import com.decisiontree.file.FileUtil;
 import com.decisiontree.function.DecisionTree;
@@ -54,11 +57,12 @@ public class UDTFunctions {
 	 *
 	 * @param training the training dataset file
 	 * @param width    the interval width (relative to domain)
+	 * @param seed     the random-generate seed number
 	 * @param varies   whether the interval width varies
 	 */
 	private void generateData(String training, String nameFile,
-							  double width, boolean varies) {
-		generateData(training, null, nameFile, width, varies);
+							  double width, long seed, boolean varies) {
+		generateData(training, null, nameFile, width, seed, varies);
 	}
 
 	/**
@@ -67,14 +71,16 @@ public class UDTFunctions {
 	 * @param training the training dataset file
 	 * @param testing  the testing dataset file
 	 * @param width    the interval width (relative to domain)
+	 * @param seed     the random-generate seed number
 	 * @param varies   whether the interval width varies
 	 */
 	private void generateData(String training, String testing, String nameFile,
-							  double width, boolean varies) {
+							  double width, long seed, boolean varies) {
 
 		log.info("Generating interval uncertain data");
 
 		RangeDataGen gen = new RangeDataGen(training, nameFile, varies);
+		gen.setSeed(seed);
 		double widths[] = new double[gen.getNoAttr()];
 
 		for (int i = 0; i < gen.getNoAttr(); i++)
@@ -145,11 +151,12 @@ public class UDTFunctions {
 		log.info("Generating Uncertain Data...");
 		if (algorithm.equals(SplitSearch.POINT))
 			log.info("No Uncertain Data Generation Required.");
-		if (algorithm.equals(SplitSearch.UDTUD) || algorithm.equals(SplitSearch.AVGUD)) {
+		if (algorithm.equals(SplitSearch.UDTUD) || algorithm.equals(SplitSearch.UDTUDES)
+		  || algorithm.equals(SplitSearch.AVGUD)) {
 			if (testing == null)
-				generateData(training, nameFile, width, varies);
+				generateData(training, nameFile, width, seed, varies);
 			else
-				generateData(training, testing, nameFile, width, varies);
+				generateData(training, testing, nameFile, width, seed, varies);
 		} else {
 			if (testing == null)
 				generateData(training, nameFile, noSamples, width, seed, varies);
@@ -158,6 +165,39 @@ public class UDTFunctions {
 		}
 	}
 
+	/**
+	 * Synthetic data mode, generating a sampled interval uncertain training dataset, and a testing dataset
+	 * of the same classes if it is given
+	 *
+	 * @param training     the training dataset file
+	 * @param testing      the testing dataset file
+	 * @param noTuples     the number of training tuples
+	 * @param noTestTuples the number of testing tuples
+	 * @param noAttr       the number of attributes
+	 * @param noCls        the number of classes
+	 * @param noSamples    the number of samples
+	 * @param separation   the standard deviation of the class means (relative to the values in a class)
+	 * @param width        the width of the interval (relative to domain)
+	 * @param overlap      the fraction of tuples taking the values of another class
+	 * @param pdf          the distribution of the samples, GAUSSIAN or UNIFORM
+	 * @param seed         the random-generate seed number
+	 * @throws IOException if a file cannot be written
+	 */
+	public void synthMode(String training, String testing, int noTuples, int noTestTuples, int noAttr, int noCls, int noSamples,
+						  double separation, double width, double overlap, String pdf, long seed) throws IOException {
+
+		log.info("Generating synthetic sampled interval uncertain data");
+
+		SyntheticDataGen gen = new SyntheticDataGen(noAttr, noCls, noSamples, seed);
+		gen.setSeparation(separation);
+		gen.setWidth(width);
+		gen.setOverlap(overlap);
+		gen.setPdf(pdf);
+
+		gen.generate(training, noTuples, 0);
+		if (testing != null)
+			gen.generate(testing, noTestTuples, noTuples);
+	}
 
 	public boolean buildAndSaveMode(String training, String nameFile, String algorithm, double nodeSize, double purityThreshold, String treeFile) {
 		// Currently using entropy
@@ -187,42 +227,51 @@ public class UDTFunctions {
 
 		DecisionTree decisionTree = DecisionTreeFactory.createDecisionTree(algorithm, splitSearch, nodeSize, purityThreshold);
 
-		String result = "";
+		double value = 0.0;
 
 		if (type.equals(DecisionTree.TIME)) {
 			log.info("Timing...");
-
 			decisionTree.buildTree(training, nameFile);
-			final Times end = new Times();
-
-			System.out.println("Building Time: ");
-			final Times sub = end.difference(start);
-			sub.printTime();
-
-			result = GlobalParam.getNoEntCal() + "," + sub.getUserTimeInSeconds() + "," + sub.getSystemTimeInSeconds();
 
 		} else if (type.equals(DecisionTree.ACCUR)) {
 			log.info("Finding Accuracy...");
-			double accuracy = 0.0;
-
 			if (testing == null)
-				accuracy = decisionTree.findAccuracy(training, nameFile);
-			else accuracy = decisionTree.findAccuracy(training, testing, nameFile);
-
-			accuracy = Math.rint(accuracy * 10000) / 10000;
-			result = GlobalParam.getNoEntCal() + "," + accuracy;
+				value = decisionTree.findAccuracy(training, nameFile);
+			else value = decisionTree.findAccuracy(training, testing, nameFile);
 
 		} else if (type.equals(DecisionTree.XFOLD)) {
 			log.info("Finding Accuracy by crossfold");
-			double gmean = decisionTree.crossFold(training, nameFile);
+			value = decisionTree.crossFold(training, nameFile);
+
+		} else return "";
 
-			gmean = Math.rint(gmean * 10000) / 10000;
-			System.out.println("Gmean: " + gmean);
-			result = GlobalParam.getNoEntCal() + "," + gmean;
+		return formatResult(type, start, value);
+	}
 
+	/**
+	 * Formatting the result of a build mode, led by the number of entropy calculations
+	 *
+	 * @param type  the type of the result
+	 * @param start the times before the tree is built
+	 * @param value the accuracy or the gmean of the cross-fold, unused for the building time
+	 * @return the result
+	 */
+	private String formatResult(String type, Times start, double value) {
+		if (type.equals(DecisionTree.TIME)) {
+			final Times end = new Times();
+			final Times sub = end.difference(start);
+			log.info("Building Time: real " + sub.getWallclockTimeInSeconds() + ", user " + sub.getUserTimeInSeconds()
+			  + ", system " + sub.getSystemTimeInSeconds());
+			return GlobalParam.getNoEntCal() + "," + sub.getUserTimeInSeconds() + "," + sub.getSystemTimeInSeconds();
 		}
-		return result;
 
+		value = Math.rint(value * 10000) / 10000;
+		if (type.equals(DecisionTree.XFOLD)) {
+			log.info("Gmean: " + value);
+			log.info("Absorbed fragments: " + GlobalParam.getNoAbsorbedFrags());
+			return GlobalParam.getNoEntCal() + "," + value + "," + GlobalParam.getNoAbsorbedFrags();
+		}
+		return GlobalParam.getNoEntCal() + "," + value;
 	}
 
 	public String testingMode(String testing, String nameFile, String algorithm, String treeFile) {
@@ -269,7 +318,10 @@ public class UDTFunctions {
 	}
 
 	public List<String> overallMode(String training, String testing, String nameFile, String algorithm, String type, int noSamples, double width, long seed, boolean varies,
-									double nodeSize, double purityThreshold, int noTrials) {
+									double nodeSize, double purityThreshold, int noTrials) throws IOException {
+		if (GlobalParam.isInMemory())
+			return inMemoryMode(training, testing, nameFile, algorithm, type, noSamples, width, seed, varies, nodeSize, purityThreshold, noTrials);
+
 		List<String> resultList = new ArrayList<String>(noTrials);
 		for (int i = 0; i < noTrials; i++)
 			resultList.add(algorithm + "," + i + "," +
@@ -282,6 +334,9 @@ public class UDTFunctions {
 
 	public void overallMode(String training, String testing, String nameFile, String algorithm, String type, int noSamples, double width, long seed, boolean varies,
 							double nodeSize, double purityThreshold, int noTrials, String resultFileName) throws IOException {
+		List<String> resultList = overallMode(training, testing, nameFile, algorithm, type, noSamples, width, seed, varies,
+		  nodeSize, purityThreshold, noTrials);
+
 		BufferedWriter writer = null;
 		FileUtil.createFileWithDirectory(resultFileName);
 		try {
@@ -293,9 +348,8 @@ public class UDTFunctions {
 			else writer.write("Algorithm,Trial,NoEntropyCal,Accuracy");
 			writer.newLine();
 
-			for (int i = 0; i < noTrials; i++) {
-				writer.write(algorithm + "," + i + "," +
-				  overallMode(training, testing, nameFile, algorithm, type, noSamples, width, seed + i, varies, nodeSize, purityThreshold));
+			for (String result : resultList) {
+				writer.write(result);
 				writer.newLine();
 			}
 		} finally {
@@ -304,4 +358,108 @@ public class UDTFunctions {
 		}
 	}
 
+	/**
+	 * Overall mode generating the uncertain data in memory. The point datasets are parsed once, and each trial
+	 * generates the uncertain datasets from them with its own seed and hands them straight to the decision tree,
+	 * so that no generated data file is written or read. Only varying intervals draw random numbers, so the trials
+	 * give the same result unless the interval width varies.
+	 *
+	 * @param training        the training dataset file
+	 * @param testing         the testing dataset file, null for testing the training dataset
+	 * @param nameFile        the property file
+	 * @param algorithm       the algorithm
+	 * @param type            the type of the result
+	 * @param noSamples       the number of samples
+	 * @param width           the width of the interval
+	 * @param seed            the seed of the first trial
+	 * @param varies          whether the interval width varies
+	 * @param nodeSize        the size of the node for the tree to stop
+	 * @param purityThreshold the purity of the node for the tree to stop
+	 * @param noTrials        the number of trials
+	 * @return the result of each trial
+	 * @throws IOException if the generation is interrupted
+	 */
+	private List<String> inMemoryMode(String training, String testing, String nameFile, String algorithm, String type, int noSamples, double width, long seed,
+									  boolean varies, double nodeSize, double purityThreshold, int noTrials) throws IOException {
+		List<String> resultList = new ArrayList<String>(noTrials);
+
+		// Currently using entropy
+		SplitSearch splitSearch = SplitSearchFactory.createSplitSearch(algorithm, DispersionMeasure.ENTROPY);
+		if (splitSearch == null) {
+			log.error("Incorrect algorithm specified.");
+			return resultList;
+		}
+
+		log.info("Generating uncertain data in memory");
+		RangeDataGen gen = null;
+		PointDataSet trainingPoints;
+		if (algorithm.equals(SplitSearch.POINT)) {
+			log.info("No Uncertain Data Generation Required.");
+			trainingPoints = new PointDataSetInit(training, nameFile).getDataSet();
+		} else {
+			if (algorithm.equals(SplitSearch.UDTUD) || algorithm.equals(SplitSearch.UDTUDES)
+			  || algorithm.equals(SplitSearch.AVGUD))
+				gen = new RangeDataGen(training, nameFile, varies);
+			else gen = new SampleDataGen(training, nameFile, noSamples, varies);
+			trainingPoints = gen.getDataSet();
+
+			double widths[] = new double[gen.getNoAttr()];
+			for (int i = 0; i < gen.getNoAttr(); i++)
+				widths[i] = width;
+			gen.setAttrRanges(widths);
+		}
+		PointDataSet testingPoints = testing == null ? null : new PointDataSetInit(testing, nameFile).getDataSet();
+		boolean averaging = algorithm.equals(SplitSearch.AVG);
+		if (noTrials > 1 && (gen == null || gen instanceof SampleDataGen || !gen.isVaries()))
+			log.warn("The uncertain data does not depend on the seed, so all " + noTrials + " trials are the same");
+
+		for (int i = 0; i < noTrials; i++) {
+			PointDataSet trainingSet = trainingPoints;
+			PointDataSet testingSet = testingPoints;
+			if (gen != null) {
+				gen.setSeed(seed + i);
+				trainingSet = gen.generateDataSet(trainingPoints, false, averaging);
+				if (testingPoints != null)
+					testingSet = gen.generateDataSet(testingPoints, true, averaging);
+			}
+
+			DecisionTree decisionTree = DecisionTreeFactory.createDecisionTree(algorithm, splitSearch, nodeSize, purityThreshold);
+			resultList.add(algorithm + "," + i + "," + buildMode(decisionTree, trainingSet, testingSet, type));
+			GlobalParam.clearStoredValues();
+		}
+
+		return resultList;
+	}
+
+	/**
+	 * Build mode of datasets in memory
+	 *
+	 * @param decisionTree the decision tree
+	 * @param training     the training dataset
+	 * @param testing      the testing dataset, null for testing the training dataset
+	 * @param type         the type of the result
+	 * @return the result
+	 */
+	private String buildMode(DecisionTree decisionTree, PointDataSet training, PointDataSet testing, String type) {
+		final Times start = new Times();
+
+		double value = 0.0;
+
+		if (type.equals(DecisionTree.TIME)) {
+			log.info("Timing...");
+			decisionTree.buildTree(training);
+
+		} else if (type.equals(DecisionTree.ACCUR)) {
+			log.info("Finding Accuracy...");
+			value = decisionTree.findAccuracy(training, testing == null ? training : testing);
+
+		} else if (type.equals(DecisionTree.XFOLD)) {
+			log.info("Finding Accuracy by crossfold");
+			value = decisionTree.crossFold(training);
+
+		} else return "";
+
+		return formatResult(type, start, value);
+	}
+
 }
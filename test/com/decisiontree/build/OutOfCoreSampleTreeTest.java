@@ -0,0 +1,122 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.decisiontree.data.SampleDataScanner;
+import com.decisiontree.data.SampleDataSet;
+import com.decisiontree.data.SampleDataSetInit;
+import com.decisiontree.datagen.SyntheticDataGen;
+import com.decisiontree.operation.SplitSearchBIN;
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * OutOfCoreSampleTreeTest - Checks that the out-of-core construction builds the same tree as the in-memory one.
+ *
+ * @since 0.9
+ */
+public class OutOfCoreSampleTreeTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private boolean pdfFiles;
+	private boolean binRefine;
+	private double minFragRatio;
+
+	@Before
+	public void setUp() {
+		pdfFiles = GlobalParam.isPdfFiles();
+		binRefine = GlobalParam.isBinRefine();
+		minFragRatio = GlobalParam.getMinFragRatio();
+		GlobalParam.setPdfFiles(true);
+		GlobalParam.setBinRefine(false);
+	}
+
+	@After
+	public void tearDown() {
+		GlobalParam.setPdfFiles(pdfFiles);
+		GlobalParam.setBinRefine(binRefine);
+		GlobalParam.setMinFragRatio(minFragRatio);
+	}
+
+	private static void assertSameTree(TreeNode expected, TreeNode actual, String path) {
+		assertEquals(path, expected.getType(), actual.getType());
+		assertEquals(path, expected.getWeightedNoTuples(), actual.getWeightedNoTuples(), 1e-9);
+		assertEquals(path, expected.getMajorityCls(), actual.getMajorityCls());
+		if (expected.getType() == TreeNode.LEAF)
+			return;
+		assertEquals(path, expected.getAttrNum(), actual.getAttrNum());
+		assertEquals(path, expected.getSplit(), actual.getSplit(), 0);
+		assertEquals(path, expected.getNoChildren(), actual.getNoChildren());
+		for (int i = 0; i < expected.getNoChildren(); i++)
+			assertSameTree(expected.getChild(i), actual.getChild(i), path + "/A" + expected.getAttrNum()
+			  + (i == 0 ? "<=" : ">") + expected.getSplit());
+	}
+
+	private void checkSameTree(int noTuples, int noAttr, int noSamples, int budget) throws Exception {
+		String input = folder.newFolder().getPath() + "/synthetic";
+		SyntheticDataGen gen = new SyntheticDataGen(noAttr, 3, noSamples, 1);
+		gen.setOverlap(0.2);
+		gen.generate(input, noTuples, 0);
+
+		SampleDataSet dataSet = new SampleDataSetInit(input, input, noSamples).getDataSet();
+		SampleTree inMemory = new SampleTree(dataSet, new SplitSearchBIN("ENTROPY"));
+		inMemory.constructTree();
+
+		OutOfCoreSampleTree outOfCore = new OutOfCoreSampleTree(new SampleDataScanner(input, input, noSamples),
+		  new SplitSearchBIN("ENTROPY"), budget);
+		outOfCore.constructTree();
+
+		assertSameTree(inMemory.getRoot(), outOfCore.getRoot(), "");
+	}
+
+	@Test
+	public void loadedTree() throws Exception {
+		checkSameTree(3000, 4, 20, 64);
+	}
+
+	/**
+	 * The sample values still fit the reservoir, so that the cut points are the in-memory ones, but the upper
+	 * levels are streamed in passes over the data.
+	 */
+	@Test
+	public void streamedLevels() throws Exception {
+		checkSameTree(5000, 2, 2, 1);
+	}
+
+	@Test
+	public void thresholdedFragments() throws Exception {
+		GlobalParam.setMinFragRatio(0.01);
+		int noAbsorbedFrags = GlobalParam.getNoAbsorbedFrags();
+		checkSameTree(5000, 2, 2, 1);
+		assertTrue("no fragment is absorbed", GlobalParam.getNoAbsorbedFrags() > noAbsorbedFrags);
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * LineScannerTest - Checks that the values scanned from a line are bit-identical to parsing its fields as strings.
+ *
+ * @since 0.9
+ */
+public class LineScannerTest {
+
+	private static final int NO_LINES = 20000;
+	private static final int NO_FIELDS = 8;
+
+	private static String format(Random random) {
+		double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+		switch (random.nextInt(8)) {
+			case 0:
+				return Double.toString(value);
+			case 1:
+				return String.format(Locale.ROOT, "%.4f", value);
+			case 2:
+				return String.format(Locale.ROOT, "%.17g", value);
+			case 3:
+				return String.format(Locale.ROOT, "%.6e", value);
+			case 4:
+				return Integer.toString(random.nextInt());
+			case 5:
+				return "+" + String.format(Locale.ROOT, "%.3f", Math.abs(value));
+			case 6:
+				return String.format(Locale.ROOT, "%.22f", value);
+			default:
+				return String.format(Locale.ROOT, "%.3E", value);
+		}
+	}
+
+	private static void assertSame(String field, double value) {
+		double expected = Double.parseDouble(field.trim());
+		assertEquals(field, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(value));
+	}
+
+	@Test
+	public void valuesAreBitIdentical() {
+		Random random = new Random(1);
+		for (int i = 0; i < NO_LINES; i++) {
+			String[] fields = new String[NO_FIELDS + 1];
+			for (int j = 0; j < NO_FIELDS; j++)
+				fields[j] = format(random);
+			fields[NO_FIELDS] = "c" + random.nextInt(3);
+			StringBuilder line = new StringBuilder(fields[0]);
+			for (int j = 1; j < fields.length; j++)
+				line.append(GlobalParam.SEPERATOR).append(fields[j]);
+
+			LineScanner scanner = new LineScanner(Arrays.asList("c0", "c1", "c2"));
+			byte[] bytes = line.toString().getBytes();
+			scanner.reset(bytes, 0, bytes.length);
+			String[] split = line.toString().split(GlobalParam.SEPERATOR);
+			for (int j = 0; j < NO_FIELDS; j++)
+				assertSame(split[j], scanner.nextValue());
+			assertEquals(fields[NO_FIELDS], "c" + scanner.findCls());
+		}
+	}
+
+	@Test
+	public void intervalsAreBitIdentical() {
+		Random random = new Random(2);
+		for (int i = 0; i < NO_LINES; i++) {
+			String start = format(random);
+			String end = format(random);
+			LineScanner scanner = new LineScanner(" " + start + " " + GlobalParam.TO + end + GlobalParam.SEPERATOR + "x");
+			assertSame(start, scanner.nextIntervalStart());
+			assertSame(end, scanner.nextIntervalEnd());
+			assertEquals("x", scanner.nextField());
+		}
+	}
+
+	@Test
+	public void specialValuesAreBitIdentical() {
+		String[] fields = {"0", "-0", "-0.0", "0.000", "1e22", "1e23", "9007199254740993", "123456789012345678901234",
+		  "0.1", "1.7976931348623157E308", "4.9E-324", "1e-400", "1e400", ".5", "5.", "00012.5000", "1.5e+3"};
+		for (String field : fields)
+			assertSame(field, new LineScanner(field).nextValue());
+	}
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * SampleCacheTest - Checks the hits, misses and evictions of the sample cache within a number of bytes.
+ *
+ * @since 0.9
+ */
+public class SampleCacheTest {
+
+	private static final int NO_SAMPLES = 10;
+	// two tables of 10 samples fit, a third one does not
+	private static final long MAX_BYTES = 600;
+
+	private static LazySampleTable createTable(SampleCache cache, final int tupleNum, final CountDownLatch loading,
+											   final CountDownLatch release) {
+		return new LazySampleTable(cache, null, tupleNum, 0, NO_SAMPLES) {
+			@Override
+			SampleTable load() {
+				if (loading != null) {
+					loading.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+				double[] values = new double[NO_SAMPLES];
+				double[] cdist = new double[NO_SAMPLES];
+				for (int i = 0; i < NO_SAMPLES; i++) {
+					values[i] = tupleNum * 100 + i;
+					cdist[i] = (i + 1.0) / NO_SAMPLES;
+				}
+				return new ArraySampleTable(values, cdist);
+			}
+		};
+	}
+
+	private static void assertCounts(SampleCache cache, long noHits, long noMisses, long noEvictions) {
+		assertEquals("hits", noHits, cache.getNoHits());
+		assertEquals("misses", noMisses, cache.getNoMisses());
+		assertEquals("evictions", noEvictions, cache.getNoEvictions());
+	}
+
+	@Test
+	public void countsHitsMissesAndEvictions() {
+		SampleCache cache = new SampleCache(MAX_BYTES);
+		LazySampleTable a = createTable(cache, 1, null, null);
+		LazySampleTable b = createTable(cache, 2, null, null);
+		LazySampleTable c = createTable(cache, 3, null, null);
+
+		assertEquals(100, a.getValue(0), 0);
+		assertEquals(101, a.getValue(1), 0);
+		assertCounts(cache, 1, 1, 0);
+
+		assertEquals(200, b.getValue(0), 0);
+		// a is used after the miss of b, so it becomes the most recently used
+		assertEquals(100, a.getValue(0), 0);
+		assertCounts(cache, 2, 2, 0);
+
+		assertEquals(300, c.getValue(0), 0);
+		assertCounts(cache, 2, 3, 1);
+		assertTrue(a.isLoaded());
+		assertFalse(b.isLoaded());
+		assertTrue(c.isLoaded());
+
+		assertEquals(0.2, a.getCDist(1), 1e-12);
+		assertEquals(102, a.getValue(2), 0);
+		assertEquals(201, b.getValue(1), 0);
+		assertCounts(cache, 4, 4, 2);
+		assertFalse(c.isLoaded());
+		assertTrue(cache.getBytes() <= MAX_BYTES);
+	}
+
+	@Test
+	public void hitsDoNotWaitOnAMiss() throws Exception {
+		SampleCache cache = new SampleCache(MAX_BYTES);
+		final LazySampleTable cached = createTable(cache, 1, null, null);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		final LazySampleTable slow = createTable(cache, 2, loading, release);
+		cached.getValue(0);
+		// the miss of another table moves the clock, so that the next hit on the cached table takes the lock
+		createTable(cache, 3, null, null).getValue(0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Double> miss = executor.submit(new Callable<Double>() {
+				@Override
+				public Double call() {
+					return slow.getValue(0);
+				}
+			});
+			assertTrue(loading.await(10, TimeUnit.SECONDS));
+			// the PDF file of the miss is being read, and the cached samples are still served
+			Future<Double> hit = executor.submit(new Callable<Double>() {
+				@Override
+				public Double call() {
+					return cached.getValue(1);
+				}
+			});
+			assertEquals(101, hit.get(10, TimeUnit.SECONDS), 0);
+			release.countDown();
+			assertEquals(200, miss.get(10, TimeUnit.SECONDS), 0);
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+		assertCounts(cache, 1, 3, 1);
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * SampleDataSnapshotTest - Checks that the key of a snapshot changes with the content of its source files.
+ *
+ * @since 0.9
+ */
+public class SampleDataSnapshotTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File createSource(String name, int length) throws IOException {
+		File file = folder.newFile(name);
+		byte[] bytes = new byte[length];
+		new Random(1).nextBytes(bytes);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.write(bytes);
+		}
+		return file;
+	}
+
+	@Test
+	public void editInTheMiddleChangesTheKey() throws IOException {
+		File names = createSource("data.names", 100);
+		File data = createSource("data.error", 3 << 20);
+		File[] sources = {names, data, new File(folder.getRoot(), "data_PDF.pack")};
+		long key = SampleDataSnapshot.findKey(sources, "params");
+		assertEquals(key, SampleDataSnapshot.findKey(sources, "params"));
+		assertNotEquals(key, SampleDataSnapshot.findKey(sources, "other params"));
+
+		// the same length and modified time, as a copy keeping the times would leave them
+		long modified = data.lastModified();
+		try (RandomAccessFile raf = new RandomAccessFile(data, "rw")) {
+			raf.seek(data.length() / 2);
+			int b = raf.read();
+			raf.seek(data.length() / 2);
+			raf.write(b ^ 1);
+		}
+		data.setLastModified(modified);
+		assertEquals(3 << 20, data.length());
+		assertNotEquals(key, SampleDataSnapshot.findKey(sources, "params"));
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.data;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SampleLookupBenchmark - Compares the primitive sample lookups of SampleAttribute with the former lookups, which
+ * searched the Sample array through Comparable with a temporary Sample.
+ *
+ * Run with the JMH runner, e.g. java -cp ... org.openjdk.jmh.Main SampleLookupBenchmark
+ *
+ * @since 0.9
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampleLookupBenchmark {
+
+	private static final int NO_ATTRIBUTES = 1000;
+
+	private static final int NO_KEYS = 4096;
+
+	@Param({"100"})
+	private int noSamples;
+
+	private SampleAttribute[] attributes;
+
+	private Sample[][] samples;
+
+	private double[] keys;
+
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(0);
+		attributes = new SampleAttribute[NO_ATTRIBUTES];
+		samples = new Sample[NO_ATTRIBUTES][];
+		for (int i = 0; i < NO_ATTRIBUTES; i++) {
+			samples[i] = new Sample[noSamples];
+			double value = 0.0, cdist = 0.0;
+			for (int j = 0; j < noSamples; j++) {
+				value += random.nextDouble();
+				cdist += 1.0 / noSamples;
+				samples[i][j] = new Sample(value, j == noSamples - 1 ? 1.0 : cdist);
+			}
+			attributes[i] = new SampleAttribute(samples[i][0].getValue(), value, samples[i]);
+		}
+		keys = new double[NO_KEYS];
+		for (int i = 0; i < NO_KEYS; i++)
+			keys[i] = random.nextDouble() * noSamples * 0.5;
+	}
+
+	private int nextIndex() {
+		next = (next + 1) & (NO_KEYS - 1);
+		return next;
+	}
+
+	@Benchmark
+	public double getCDist() {
+		int i = nextIndex();
+		return attributes[i % NO_ATTRIBUTES].getCDist(keys[i]);
+	}
+
+	@Benchmark
+	public double getCDistComparable() {
+		int i = nextIndex();
+		return getCDist(samples[i % NO_ATTRIBUTES], keys[i]);
+	}
+
+	@Benchmark
+	public int getNearSample() {
+		int i = nextIndex();
+		return attributes[i % NO_ATTRIBUTES].getNearSample(keys[i]);
+	}
+
+	@Benchmark
+	public int getNearSampleComparable() {
+		int i = nextIndex();
+		return getNearSample(samples[i % NO_ATTRIBUTES], keys[i]);
+	}
+
+	@Benchmark
+	public double getFrac() {
+		int i = nextIndex();
+		double left = keys[i];
+		return attributes[i % NO_ATTRIBUTES].getFrac(left, left + noSamples * 0.25);
+	}
+
+	@Benchmark
+	public double getFracComparable() {
+		int i = nextIndex();
+		double left = keys[i];
+		return getFrac(samples[i % NO_ATTRIBUTES], left, left + noSamples * 0.25);
+	}
+
+	// the former lookups, searching the samples with a temporary Sample
+
+	private static double getCDist(Sample[] samples, double value) {
+		int pos1 = Arrays.binarySearch(samples, new Sample(value, 0.0));
+		if (pos1 < 0)
+			pos1 = (pos1 + 1) * -1 - 1;
+		if (pos1 < 0)
+			return 0.0;
+		return samples[pos1].getCDist();
+	}
+
+	private static int getNearSample(Sample[] samples, double value) {
+		if (value >= samples[samples.length - 1].getValue())
+			return samples.length - 1;
+		int pos1 = Arrays.binarySearch(samples, new Sample(value, 0.0));
+		if (pos1 < 0)
+			return -1 * (pos1 + 1) - 1;
+		return pos1;
+	}
+
+	private static double getFrac(Sample[] samples, double left, double right) {
+		double startFrac = 0.0, endFrac = 1.0;
+		int pos1 = Arrays.binarySearch(samples, new Sample(left, 0.0));
+		if (pos1 < 0) {
+			pos1 = (pos1 + 1) * -1;
+			if (pos1 != 0)
+				startFrac = samples[pos1 - 1].getCDist();
+		} else
+			startFrac = samples[pos1].getCDist();
+		int pos2 = Arrays.binarySearch(samples, new Sample(right, 0.0));
+		if (pos2 < 0) {
+			pos2 = (pos2 + 1) * -1;
+			endFrac = pos2 != 0 ? samples[pos2 - 1].getCDist() : 0.0;
+		} else
+			endFrac = samples[pos2].getCDist();
+		return endFrac - startFrac;
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.datagen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.decisiontree.data.PointDataSet;
+import com.decisiontree.data.RangeAttribute;
+import com.decisiontree.data.Tuple;
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * RangeDataGenTest - Checks that the generated data depends on the seed and the tuples only, and not on the number
+ * of workers generating it. The generation is run in other JVMs, since the parallelism of the common pool is fixed
+ * when it is first used.
+ *
+ * @since 0.9
+ */
+public class RangeDataGenTest {
+
+	private static final int NO_TUPLES = 3000;
+	private static final int NO_TEST_TUPLES = 500;
+	private static final long SEED = 7;
+	private static final double WIDTH = 0.1;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void writePoints(String dataSet, int noTuples, long seed) throws IOException {
+		Random random = new Random(seed);
+		try (PrintWriter writer = new PrintWriter(new FileWriter(dataSet + GlobalParam.POINT_FILE))) {
+			for (int i = 0; i < noTuples; i++)
+				writer.println(String.format(Locale.ROOT, "%.4f,%.4f,%.4f,%s", random.nextDouble(),
+				  random.nextGaussian(), random.nextDouble() * 10, random.nextBoolean() ? "c0" : "c1"));
+		}
+		try (PrintWriter writer = new PrintWriter(new FileWriter(dataSet + GlobalParam.NAME_FILE))) {
+			writer.println("c0, c1.");
+			for (int k = 0; k < 3; k++)
+				writer.println("A" + k + ": continuous.");
+		}
+	}
+
+	private static double[] widths(RangeDataGen gen) {
+		double[] widths = new double[gen.getNoAttr()];
+		for (int k = 0; k < widths.length; k++)
+			widths[k] = WIDTH;
+		return widths;
+	}
+
+	/**
+	 * Generating the varying intervals, and the PDFs in a packed file, of the training and testing datasets in a
+	 * directory. It is run by the tests in another JVM.
+	 *
+	 * @param args the directory holding the point datasets
+	 */
+	public static void main(String[] args) {
+		String training = args[0] + "/training";
+		String testing = args[0] + "/testing";
+
+		RangeDataGen rangeGen = new RangeDataGen(training, training, true);
+		rangeGen.setSeed(SEED);
+		rangeGen.storeGeneratedDataWithTest(training, testing, widths(rangeGen));
+
+		GlobalParam.setPackedPdf(true);
+		SampleDataGen sampleGen = new SampleDataGen(training, training, GlobalParam.DEFAULT_NO_SAMPLES, SEED, false);
+		double[] widths = widths(sampleGen);
+		sampleGen.storeGeneratedData(training, widths);
+		sampleGen.storeGeneratedTestData(testing, widths);
+	}
+
+	private File generate(String name, int parallelism) throws IOException, InterruptedException {
+		File dir = folder.newFolder(name);
+		writePoints(dir + "/training", NO_TUPLES, 1);
+		writePoints(dir + "/testing", NO_TEST_TUPLES, 2);
+
+		List<String> command = new ArrayList<String>();
+		command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+		command.add("-Djava.util.concurrent.ForkJoinPool.common.parallelism=" + parallelism);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(RangeDataGenTest.class.getName());
+		command.add(dir.getPath());
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+		  .redirectOutput(new File(dir, "gen.log")).start();
+		assertEquals("the generation failed, see " + dir + "/gen.log", 0, process.waitFor());
+		return dir;
+	}
+
+	private static void assertSameFile(File expected, File actual) throws IOException {
+		assertTrue(expected + " is not generated", expected.length() > 0);
+		assertArrayEquals(actual.getPath(), Files.readAllBytes(expected.toPath()), Files.readAllBytes(actual.toPath()));
+	}
+
+	@Test
+	public void outputDoesNotDependOnParallelism() throws Exception {
+		File sequential = generate("sequential", 1);
+		for (int parallelism : new int[]{3, 8}) {
+			File parallel = generate("parallel" + parallelism, parallelism);
+			for (String file : new String[]{"training" + GlobalParam.RANGE_FILE, "testing" + GlobalParam.RANGE_FILE,
+			  "training" + GlobalParam.SAMPLE_FILE, "testing" + GlobalParam.SAMPLE_FILE,
+			  "training" + GlobalParam.PACK_FILE, "testing" + GlobalParam.PACK_FILE})
+				assertSameFile(new File(sequential, file), new File(parallel, file));
+		}
+	}
+
+	private static boolean sameIntervals(PointDataSet a, PointDataSet b) {
+		List<Tuple> dataA = a.getData();
+		List<Tuple> dataB = b.getData();
+		for (int i = 0; i < Math.min(dataA.size(), dataB.size()); i++)
+			for (int k = 0; k < a.getNoAttr(); k++) {
+				RangeAttribute x = (RangeAttribute) dataA.get(i).getAttribute(k);
+				RangeAttribute y = (RangeAttribute) dataB.get(i).getAttribute(k);
+				if (x.getAbsStart() != y.getAbsStart() || x.getAbsEnd() != y.getAbsEnd())
+					return false;
+			}
+		return true;
+	}
+
+	@Test
+	public void seedAndSetChangeTheIntervals() throws Exception {
+		String dataSet = folder.getRoot() + "/points";
+		writePoints(dataSet, NO_TEST_TUPLES, 3);
+		RangeDataGen gen = new RangeDataGen(dataSet, dataSet, true);
+		gen.setAttrRanges(widths(gen));
+		PointDataSet points = gen.getDataSet();
+
+		gen.setSeed(SEED);
+		PointDataSet training = gen.generateDataSet(points, false, false);
+		assertTrue(sameIntervals(training, gen.generateDataSet(points, false, false)));
+		assertFalse("training and testing tuples draw the same intervals",
+		  sameIntervals(training, gen.generateDataSet(points, true, false)));
+		gen.setSeed(SEED + 1);
+		assertFalse("the seed is ignored", sameIntervals(training, gen.generateDataSet(points, false, false)));
+	}
+
+}
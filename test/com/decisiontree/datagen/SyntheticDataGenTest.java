@@ -0,0 +1,114 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.datagen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.decisiontree.param.GlobalParam;
+
+/**
+ * SyntheticDataGenTest - Checks that a synthetic dataset depends on the seed only, and not on the number of workers
+ * generating it. The generation is run in other JVMs, since the parallelism of the common pool is fixed when it is
+ * first used.
+ *
+ * @since 0.9
+ */
+public class SyntheticDataGenTest {
+
+	private static final int NO_TUPLES = 5000;
+	private static final int NO_TEST_TUPLES = 1000;
+	private static final String[] FILES = {GlobalParam.NAME_FILE, GlobalParam.POINT_FILE, GlobalParam.SAMPLE_FILE,
+	  GlobalParam.PACK_FILE};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Generating a training and a testing dataset in a directory. It is run by the tests in another JVM.
+	 *
+	 * @param args the directory and the seed
+	 * @throws IOException if a file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		SyntheticDataGen gen = new SyntheticDataGen(4, 3, 20, Long.parseLong(args[1]));
+		gen.setOverlap(0.1);
+		gen.generate(args[0] + "/training", NO_TUPLES, 0);
+		gen.generate(args[0] + "/testing", NO_TEST_TUPLES, NO_TUPLES);
+	}
+
+	private File generate(String name, int parallelism, long seed) throws IOException, InterruptedException {
+		File dir = folder.newFolder(name);
+		List<String> command = new ArrayList<String>();
+		command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+		command.add("-Djava.util.concurrent.ForkJoinPool.common.parallelism=" + parallelism);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(SyntheticDataGenTest.class.getName());
+		command.add(dir.getPath());
+		command.add(String.valueOf(seed));
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+		  .redirectOutput(new File(dir, "gen.log")).start();
+		assertEquals("the generation failed, see " + dir + "/gen.log", 0, process.waitFor());
+		return dir;
+	}
+
+	private static byte[] read(File dir, String file) throws IOException {
+		File path = new File(dir, file);
+		assertTrue(path + " is not generated", path.length() > 0);
+		return Files.readAllBytes(path.toPath());
+	}
+
+	@Test
+	public void outputDoesNotDependOnParallelism() throws Exception {
+		File sequential = generate("sequential", 1, 7);
+		for (int parallelism : new int[]{3, 8}) {
+			File parallel = generate("parallel" + parallelism, parallelism, 7);
+			for (String set : new String[]{"training", "testing"})
+				for (String file : FILES)
+					assertArrayEquals(set + file, read(sequential, set + file), read(parallel, set + file));
+		}
+	}
+
+	@Test
+	public void seedChangesTheOutput() throws Exception {
+		File first = generate("first", 2, 7);
+		File second = generate("second", 2, 8);
+		assertFalse(Arrays.equals(read(first, "training" + GlobalParam.POINT_FILE),
+		  read(second, "training" + GlobalParam.POINT_FILE)));
+		assertFalse(Arrays.equals(read(first, "training" + GlobalParam.PACK_FILE),
+		  read(second, "training" + GlobalParam.PACK_FILE)));
+	}
+
+}
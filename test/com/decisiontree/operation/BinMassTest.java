@@ -0,0 +1,116 @@
+/**
+ * Decision Tree Classification With Uncertain Data (UDT)
+ * Copyright (C) 2009, The Database Group,
+ * Department of Computer Science, The University of Hong Kong
+ * <p>
+ * This file is part of UDT.
+ * <p>
+ * UDT is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * UDT is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.decisiontree.operation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.decisiontree.data.ArraySampleTable;
+import com.decisiontree.data.SampleAttribute;
+
+/**
+ * BinMassTest - Checks that the pdf mass of the bins aggregated for a whole pdf, restricted to a fragment,
+ * is the mass aggregated from the samples of the fragment.
+ *
+ * @since 0.9
+ */
+public class BinMassTest {
+
+	private static final int NO_SAMPLES = 50;
+	private static final double[] CUT_PTS = {-1.5, -0.5, 0.0, 0.25, 1.0, 1.2, 3.0};
+
+	private static void assertSameMass(BinMass whole, SampleAttribute fragment) {
+		int noBins = CUT_PTS.length + 1;
+		double[][] expected = new double[noBins][2];
+		double[][] actual = new double[noBins][2];
+		new BinMass(fragment, CUT_PTS).addTo(expected, 1, 0.7);
+		whole.addTo(actual, 1, 0.7, fragment);
+		for (int i = 0; i < noBins; i++) {
+			assertEquals("bin " + i, expected[i][0], actual[i][0], 0);
+			assertEquals("bin " + i, expected[i][1], actual[i][1], 1e-12);
+		}
+	}
+
+	private static void checkFragments(double[] values, double[] cdist, int offset) {
+		ArraySampleTable table = new ArraySampleTable(values, cdist);
+		double first = values[offset];
+		double last = values[offset + NO_SAMPLES - 1];
+		SampleAttribute attribute = new SampleAttribute(first, last, table, offset, NO_SAMPLES);
+		BinMass whole = new BinMass(attribute, CUT_PTS);
+		assertSameMass(whole, attribute);
+
+		// the cuts at the bin boundaries, inside the bins and beyond the samples, and the cuts of cuts
+		double[] cuts = {-2.0, -1.5, -0.7, 0.0, 0.1, 0.25, 0.9, 1.2, 2.5, 3.0, 4.0};
+		for (double left : cuts)
+			for (double right : cuts) {
+				double start = Math.max(first, left);
+				double end = Math.min(last, right);
+				if (start > end)
+					continue;
+				SampleAttribute fragment = attribute.cut(start, end);
+				assertSameMass(whole, fragment);
+				assertSameMass(whole, fragment.cut(start, (start + end) / 2));
+				assertSameMass(whole, fragment.cut((start + end) / 2, end));
+			}
+	}
+
+	private static double[][] createSamples(int noPdfs, long seed) {
+		Random random = new Random(seed);
+		double[] values = new double[noPdfs * NO_SAMPLES];
+		double[] cdist = new double[noPdfs * NO_SAMPLES];
+		for (int p = 0; p < noPdfs; p++) {
+			double value = -2.5 + random.nextDouble();
+			double total = 0.0;
+			double[] mass = new double[NO_SAMPLES];
+			for (int i = 0; i < NO_SAMPLES; i++) {
+				mass[i] = random.nextDouble();
+				total += mass[i];
+			}
+			double accum = 0.0;
+			for (int i = 0; i < NO_SAMPLES; i++) {
+				// a sample on a cut point now and then
+				value = i % 7 == 3 ? CUT_PTS[(i / 7) % CUT_PTS.length] : value + random.nextDouble() * 0.15;
+				values[p * NO_SAMPLES + i] = Math.max(value, i == 0 ? value : values[p * NO_SAMPLES + i - 1]);
+				value = values[p * NO_SAMPLES + i];
+				accum += mass[i];
+				cdist[p * NO_SAMPLES + i] = i == NO_SAMPLES - 1 ? 1.0 : accum / total;
+			}
+		}
+		return new double[][]{values, cdist};
+	}
+
+	@Test
+	public void fragmentsOfATable() {
+		double[][] samples = createSamples(1, 1);
+		checkFragments(samples[0], samples[1], 0);
+	}
+
+	@Test
+	public void fragmentsOfASharedColumn() {
+		double[][] samples = createSamples(3, 2);
+		for (int p = 0; p < 3; p++)
+			checkFragments(samples[0], samples[1], p * NO_SAMPLES);
+	}
+
+}